@@ -0,0 +1,475 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.aeron;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.FrameConsumer;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+import io.aeron.Aeron;
+import io.aeron.FragmentAssembler;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client for shipping {@link TransportableMetric}s over
+ * <a href="https://github.com/real-logic/aeron">Aeron</a> IPC or UDP
+ * channels, for latency sensitive JVMs that can not afford a broker client.
+ * Each published batch becomes a single Aeron message of length prefixed
+ * metrics, serialized into a reusable buffer without per-metric copies and
+ * copied into the claimed term buffer when it fits in one frame.  Subscribing
+ * polls the subscription on a dedicated thread and hands each metric to the
+ * subscribers.
+ *
+ * <p>By default a media driver is embedded in the client, so IPC only reaches
+ * subscribers of the same client.  Point clients at a shared media driver
+ * directory to use IPC between processes.  Batches offered while the
+ * publication is not connected or is back pressured are dropped and counted,
+ * as are received messages whose frames are longer than the maximum frame
+ * length or than the rest of the message.  Producers and consumers must use
+ * the same {@link Serializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class AeronClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(AeronClient.class);
+
+  private final MediaDriver driver;
+  private final Aeron       aeron;
+  private final String      channel;
+  private final int         streamId;
+  private final int         fragmentLimit;
+  private final int         maxFrameLength;
+  private final Serializer  serializer;
+
+  private final BufferClaim                claim     = new BufferClaim();
+  private final ExpandableDirectByteBuffer scratch   = new ExpandableDirectByteBuffer(4096);
+  private final AtomicLong                 dropped   = new AtomicLong();
+  private final AtomicLong                 malformed = new AtomicLong();
+
+  private final List<FrameConsumer> subscribers = new CopyOnWriteArrayList<>();
+
+  private Publication      publication;
+  private Thread           poller;
+  private volatile boolean isRunning = true;
+
+  protected AeronClient(MediaDriver driver, Aeron aeron, Builder bldr, Serializer serializer) {
+    this.driver = driver;
+    this.aeron = aeron;
+    this.channel = bldr.channel;
+    this.streamId = bldr.streamId;
+    this.fragmentLimit = bldr.fragmentLimit;
+    this.maxFrameLength = bldr.maxFrameLength;
+    this.serializer = serializer;
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric} as a batch of its own.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    publish(ImmutableList.of(metric));
+  }
+
+  /**
+   * Publishes a batch of {@link TransportableMetric}s as a single message.
+   * The batch is framed into a reusable buffer, then copied into a claimed
+   * region of the term buffer when it fits in a single frame, larger batches
+   * are offered and fragmented by Aeron.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  @Override
+  public synchronized void publish(Collection<TransportableMetric> metrics) {
+    final Publication pub = publication();
+    final int length;
+    try {
+      length = encode(metrics);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+
+    final long result;
+    if (length <= pub.maxPayloadLength()) {
+      result = pub.tryClaim(length, claim);
+      if (0 < result) {
+        claim.buffer().putBytes(claim.offset(), scratch, 0, length);
+        claim.commit();
+      }
+    } else if (length <= pub.maxMessageLength()) {
+      result = pub.offer(scratch, 0, length);
+    } else {
+      result = Publication.MAX_POSITION_EXCEEDED;
+    }
+
+    if (0 > result) {
+      dropped.addAndGet(metrics.size());
+      log.debug("Dropped {} metrics on [{}], offer returned {}.", metrics.size(), channel, result);
+    }
+  }
+
+  /**
+   * Serializes the metrics as length prefixed frames from the start of the
+   * scratch buffer, doubling it until each frame fits.
+   */
+  private int encode(Collection<TransportableMetric> metrics) throws Exception {
+    ByteBuffer frames = scratch.byteBuffer();
+    frames.clear();
+    for (TransportableMetric metric : metrics) {
+      while (!LengthPrefixedFrames.encode(serializer, metric, frames)) {
+        final int position = frames.position();
+        scratch.checkLimit(scratch.capacity() * 2);
+        frames = scratch.byteBuffer();
+        frames.clear();
+        frames.position(position);
+      }
+    }
+
+    return frames.position();
+  }
+
+  private Publication publication() {
+    if (null == publication) {
+      publication = aeron.addPublication(channel, streamId);
+    }
+
+    return publication;
+  }
+
+  /**
+   * Whether any subscriber is connected to the publication.
+   *
+   * @return true if the publication is connected
+   */
+  public synchronized boolean isConnected() {
+    return publication().isConnected();
+  }
+
+  /**
+   * Whether the publication is connected but its subscribers have not
+   * consumed enough to leave any window to publish into.
+   *
+   * @return true if the publication is back pressured
+   */
+  @Override
+  public synchronized boolean isBlocked() {
+    return null != publication && publication.isConnected() && 0 >= publication.availableWindow();
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) {
+    subscribe(body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) {
+    subscribe(body -> pipeline.submit(decoder(body)));
+  }
+
+  @Override
+  public synchronized void subscribe(FrameConsumer consumer) {
+    subscribers.add(consumer);
+    if (null != poller) {
+      return;
+    }
+
+    final Subscription subscription = aeron.addSubscription(channel, streamId);
+    poller = new Thread(() -> poll(subscription), "metrics-aeron-poller");
+    poller.setDaemon(true);
+    poller.start();
+  }
+
+  private void poll(Subscription subscription) {
+    final FragmentHandler handler = new FragmentAssembler(this::deliver);
+    final IdleStrategy idle = new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                                                      TimeUnit.MILLISECONDS.toNanos(1)
+    );
+    try (final Subscription ignored = subscription) {
+      while (isRunning) {
+        idle.idle(subscription.poll(handler, fragmentLimit));
+      }
+    }
+  }
+
+  private void deliver(DirectBuffer buffer, int offset, int length, Header header) {
+    final ByteBuffer message = view(buffer, offset, length);
+    final int end = offset + length;
+    int index = offset;
+    while (index < end) {
+      final int frameLength = LengthPrefixedFrames.LENGTH_SIZE > end - index ? -1
+          : buffer.getInt(index, ByteOrder.BIG_ENDIAN);
+      if (0 > frameLength || maxFrameLength < frameLength
+          || frameLength > end - index - LengthPrefixedFrames.LENGTH_SIZE) {
+        // the rest of the message can not be framed
+        malformed.incrementAndGet();
+        log.warn("Dropping malformed message on [{}], frame length {}.", channel, frameLength);
+        return;
+      }
+
+      final ByteBuffer body = message.duplicate();
+      body.position(message.position() + index - offset + LengthPrefixedFrames.LENGTH_SIZE);
+      body.limit(body.position() + frameLength);
+      index += LengthPrefixedFrames.LENGTH_SIZE + frameLength;
+
+      for (FrameConsumer subscriber : subscribers) {
+        try {
+          subscriber.consume(body.slice());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          isRunning = false;
+          return;
+        } catch (Exception e) {
+          log.error("Unable to consume metric.", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Views the message as a {@link ByteBuffer} sharing the memory of the term
+   * or reassembly buffer, only copying buffers wrapping a raw address.
+   */
+  private static ByteBuffer view(DirectBuffer buffer, int offset, int length) {
+    final ByteBuffer view;
+    if (null != buffer.byteBuffer()) {
+      view = buffer.byteBuffer().duplicate();
+    } else if (null != buffer.byteArray()) {
+      view = ByteBuffer.wrap(buffer.byteArray());
+    } else {
+      final byte[] copy = new byte[length];
+      buffer.getBytes(offset, copy);
+      return ByteBuffer.wrap(copy);
+    }
+
+    view.limit(buffer.wrapAdjustment() + offset + length);
+    view.position(buffer.wrapAdjustment() + offset);
+    return view.slice();
+  }
+
+  /**
+   * Copies the body, which is only valid while it is being delivered, for the
+   * pipeline to decode later.
+   */
+  private Callable<TransportableMetric> decoder(ByteBuffer body) {
+    final byte[] copy = new byte[body.remaining()];
+    body.get(copy);
+    return () -> serializer.deserialize(copy);
+  }
+
+  /**
+   * The number of metrics dropped because the publication was not connected,
+   * back pressured or the batch exceeded the maximum message length.
+   *
+   * @return the number of dropped metrics
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * The number of received messages dropped, from their first malformed
+   * frame on, because a frame was longer than the maximum frame length or
+   * than the rest of the message.
+   *
+   * @return the number of malformed messages
+   */
+  public long getMalformed() {
+    return malformed.get();
+  }
+
+  /**
+   * Stops the poller and closes the Aeron client and any embedded media
+   * driver.
+   *
+   * @throws InterruptedException
+   *     if interrupted while waiting for the poller to stop
+   */
+  @Override
+  public synchronized void close() throws InterruptedException {
+    isRunning = false;
+    if (null != poller) {
+      poller.join();
+    }
+    CloseHelper.closeAll(publication, aeron, driver);
+  }
+
+  /**
+   * {@link AeronClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private String channel        = "aeron:ipc";
+    private int    streamId       = 1001;
+    private int    fragmentLimit  = 16;
+    private int    maxFrameLength = 1024 * 1024;
+    private String aeronDirectory = null;
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    /**
+     * The Aeron channel, such as {@code aeron:ipc} or
+     * {@code aeron:udp?endpoint=collector:40123}.  Defaults to IPC.
+     *
+     * @param channel
+     *     the channel
+     * @return the builder
+     */
+    public Builder channel(String channel) {
+      this.channel = channel;
+      return this;
+    }
+
+    public Builder streamId(int streamId) {
+      this.streamId = streamId;
+      return this;
+    }
+
+    /**
+     * The maximum number of fragments handled per poll.
+     *
+     * @param fragmentLimit
+     *     the fragment limit
+     * @return the builder
+     */
+    public Builder fragmentLimit(int fragmentLimit) {
+      this.fragmentLimit = fragmentLimit;
+      return this;
+    }
+
+    /**
+     * The largest serialized metric accepted by subscribers.  Defaults to
+     * 1 MiB.
+     *
+     * @param maxFrameLength
+     *     the maximum frame length in bytes
+     * @return the builder
+     */
+    public Builder maxFrameLength(int maxFrameLength) {
+      this.maxFrameLength = maxFrameLength;
+      return this;
+    }
+
+    /**
+     * The directory of an already running media driver.  Defaults to
+     * launching a media driver embedded in the client.
+     *
+     * @param aeronDirectory
+     *     the media driver directory
+     * @return the builder
+     */
+    public Builder aeronDirectory(String aeronDirectory) {
+      this.aeronDirectory = aeronDirectory;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link AeronClient}, launching the embedded media driver
+     * if needed.
+     *
+     * @return the {@link AeronClient}
+     * @throws IOException
+     *     if there is an issue finding the serializers
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public AeronClient build() throws IOException, InstantiationException, IllegalAccessException {
+      if (0 > maxFrameLength) {
+        throw new IllegalArgumentException("maxFrameLength must not be negative");
+      }
+
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+
+      if (null != aeronDirectory) {
+        return new AeronClient(null, Aeron.connect(new Aeron.Context().aeronDirectoryName(aeronDirectory)), this,
+                               selected
+        );
+      }
+
+      final MediaDriver driver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+                                                                .threadingMode(ThreadingMode.SHARED)
+                                                                .dirDeleteOnStart(true)
+                                                                .dirDeleteOnShutdown(true));
+      final Aeron aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(driver.aeronDirectoryName()));
+      return new AeronClient(driver, aeron, this, selected);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.aeron;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import io.aeron.Aeron;
+import io.aeron.Publication;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.net.DatagramSocket;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link AeronClient} over embedded media drivers.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class AeronClientTest {
+  private final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+
+  private CountDownLatch latch;
+
+  @Test
+  public void ipcRoundTrip() throws Exception {
+    final List<TransportableMetric> published = metrics(51);
+    try (final AeronClient client = new AeronClient.Builder().build()) {
+      subscribe(client, published.size());
+      awaitConnected(client);
+
+      client.publish(published.get(0));
+      client.publish(published.subList(1, published.size()));
+
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertEquals(0L, client.getDropped());
+    }
+
+    assertEquals(published, consumed);
+  }
+
+  @Test
+  public void udpRoundTrip() throws Exception {
+    final int port;
+    try (final DatagramSocket socket = new DatagramSocket(0)) {
+      port = socket.getLocalPort();
+    }
+
+    final String channel = "aeron:udp?endpoint=localhost:" + port;
+    final List<TransportableMetric> published = metrics(10);
+    try (final AeronClient subscriber = new AeronClient.Builder().channel(channel).build();
+        final AeronClient publisher = new AeronClient.Builder().channel(channel).build()) {
+      subscribe(subscriber, published.size());
+      awaitConnected(publisher);
+
+      published.forEach(publisher::publish);
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    assertEquals(published, consumed);
+  }
+
+  @Test
+  public void malformedFramesCounted() throws Exception {
+    final List<TransportableMetric> published = metrics(2);
+    final MediaDriver.Context context = new MediaDriver.Context().threadingMode(ThreadingMode.SHARED)
+        .dirDeleteOnStart(true).dirDeleteOnShutdown(true);
+    try (final MediaDriver driver = MediaDriver.launchEmbedded(context);
+        final Aeron aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(driver.aeronDirectoryName()));
+        final AeronClient client = new AeronClient.Builder().aeronDirectory(driver.aeronDirectoryName())
+            .maxFrameLength(1024).build()) {
+      subscribe(client, published.size());
+      awaitConnected(client);
+
+      try (final Publication raw = aeron.addPublication("aeron:ipc", 1001)) {
+        // a frame longer than the message, then one longer than the maximum frame length
+        offer(raw, new UnsafeBuffer(new byte[] { 0, 0, 0, 8, 1, 2 }));
+        offer(raw, new UnsafeBuffer(new byte[] { 0, 0, 8, 0, 1, 2 }));
+      }
+      client.publish(published);
+
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertEquals(2L, client.getMalformed());
+    }
+
+    assertEquals(published, consumed);
+  }
+
+  private static void offer(Publication publication, UnsafeBuffer message) throws InterruptedException {
+    final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (0 > publication.offer(message) && System.nanoTime() < timeout) {
+      Thread.sleep(10);
+    }
+  }
+
+  private void subscribe(AeronClient client, int metrics) {
+    latch = new CountDownLatch(metrics);
+    client.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.add(metric);
+        latch.countDown();
+        return metric;
+      }
+    });
+  }
+
+  private static void awaitConnected(AeronClient client) throws InterruptedException {
+    final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while ((!client.isConnected() || client.isBlocked()) && System.nanoTime() < timeout) {
+      Thread.sleep(10);
+    }
+    assertTrue(client.isConnected());
+    assertFalse(client.isBlocked());
+  }
+
+  private static List<TransportableMetric> metrics(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks.  Without arguments the {@link SerializerBenchmark} is
+ * run with 1 to 32 contending threads, otherwise the arguments are passed to
+ * JMH.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class Benchmarks {
+  private static final int[] THREADS = { 1, 2, 4, 8, 16, 32 };
+
+  private Benchmarks() {
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args
+   *     the JMH arguments
+   * @throws Exception
+   *     if the benchmarks fail
+   */
+  public static void main(String[] args) throws Exception {
+    if (0 < args.length) {
+      Main.main(args);
+      return;
+    }
+
+    for (int threads : THREADS) {
+      new Runner(new OptionsBuilder().include(SerializerBenchmark.class.getName()).threads(threads).build()).run();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.benchmark;
+
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.KryoSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.RegisteredKryoSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.binary.BinarySerializer;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.FlatBuffersSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.msgpack.MessagePackSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.ProtobufSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.SbeSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a single {@link Serializer} shared by every benchmark thread,
+ * as when one client is used by many publishers or a multi-threaded consumer.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+  @Param({ "java", "kryo", "kryo-registered", "binary", "protobuf", "flatbuffers", "sbe", "msgpack" })
+  public String format;
+
+  private Serializer          serializer;
+  private TransportableMetric metric;
+  private byte[]              serialized;
+
+  /**
+   * Creates the shared serializer and the metric to serialize.
+   *
+   * @throws Exception
+   *     if the metric can not be serialized
+   */
+  @Setup
+  public void setup() throws Exception {
+    serializer = serializer(format);
+    metric = new TransportableMetric("io.github.mattcarrier.requests", ZonedDateTime.now(), ImmutableSet.of(
+        new TransportableCounter(42), new TransportableMeter(42, 1.5, 1.2, 1.1, 1.0),
+        new TransportableSnapshot(new long[] { 1, 2, 3, 5, 8, 13, 21 }, 7, 7.57, 21, 6.7, 1, 5, 13, 21, 21, 21)
+    ));
+    serialized = serializer.serialize(metric);
+  }
+
+  private static Serializer serializer(String format) {
+    switch (format) {
+      case "kryo":
+        return new KryoSerializer();
+      case "kryo-registered":
+        return new RegisteredKryoSerializer();
+      case "binary":
+        return new BinarySerializer();
+      case "protobuf":
+        return new ProtobufSerializer();
+      case "flatbuffers":
+        return new FlatBuffersSerializer();
+      case "sbe":
+        return new SbeSerializer();
+      case "msgpack":
+        return new MessagePackSerializer();
+      default:
+        return new JavaSerializer();
+    }
+  }
+
+  @Benchmark
+  public byte[] serialize() throws Exception {
+    return serializer.serialize(metric);
+  }
+
+  @Benchmark
+  public int serializeIntoBuffer(Buffer buffer) throws Exception {
+    buffer.buffer.clear();
+    return serializer.serialize(metric, buffer.buffer);
+  }
+
+  @Benchmark
+  public TransportableMetric deserialize() throws Exception {
+    return serializer.deserialize(serialized);
+  }
+
+  /**
+   * A reusable direct buffer per benchmark thread, as pooled by transports.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  @State(Scope.Thread)
+  public static class Buffer {
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+  }
+}
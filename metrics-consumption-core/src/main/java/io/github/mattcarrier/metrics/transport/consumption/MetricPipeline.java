@@ -0,0 +1,277 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.consumption;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A staged {@link MetricConsumer} pipeline which keeps decoding off of the
+ * transport's delivery thread.  Received messages are decoded in parallel by
+ * a decode pool and handed to the {@link MetricConsumer} by a single sink
+ * thread in the order they were received.  At most {@code capacity} messages
+ * are in flight, once full {@link #submit(Callable)} blocks the receiving
+ * thread.  Failures to decode or consume, including {@link Error}s, are
+ * counted and logged without stopping the sink.
+ *
+ * <p>Each stage reports its depth and latency to the configured
+ * {@link MetricRegistry} under the pipeline name:
+ * <ul>
+ * <li>{@code receive.wait} - time the receiving thread waited for capacity</li>
+ * <li>{@code decode.depth} - messages waiting for a decode thread</li>
+ * <li>{@code decode.latency} - time spent decoding</li>
+ * <li>{@code sink.depth} - messages in flight waiting for the sink</li>
+ * <li>{@code sink.latency} - time spent consuming</li>
+ * <li>{@code errors} - messages that failed to decode or consume</li>
+ * </ul>
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class MetricPipeline<T> implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(MetricPipeline.class);
+
+  private static final FutureTask<TransportableMetric> CLOSED = new FutureTask<>(() -> null);
+
+  private final MetricConsumer<T>                              consumer;
+  private final ThreadPoolExecutor                             decoders;
+  private final BlockingQueue<FutureTask<TransportableMetric>> sinkQueue;
+  private final Thread                                         sink;
+  private final ReadWriteLock                                  lifecycle = new ReentrantReadWriteLock();
+
+  private boolean isClosed = false;
+
+  private final Timer   receiveWait;
+  private final Timer   decodeLatency;
+  private final Timer   sinkLatency;
+  private final Counter errors;
+
+  protected MetricPipeline(Builder<T> bldr) {
+    this.consumer = bldr.consumer;
+    this.sinkQueue = new ArrayBlockingQueue<>(bldr.capacity + 1);
+    this.decoders = new ThreadPoolExecutor(bldr.decodeThreads, bldr.decodeThreads, 0L, TimeUnit.MILLISECONDS,
+                                           new LinkedBlockingQueue<>(),
+                                           new ThreadFactoryBuilder().setDaemon(true)
+                                               .setNameFormat(bldr.name + "-decode-%d").build()
+    );
+
+    final MetricRegistry registry = bldr.registry;
+    this.receiveWait = registry.timer(name(bldr.name, "receive", "wait"));
+    this.decodeLatency = registry.timer(name(bldr.name, "decode", "latency"));
+    this.sinkLatency = registry.timer(name(bldr.name, "sink", "latency"));
+    this.errors = registry.counter(name(bldr.name, "errors"));
+    registry.register(name(bldr.name, "decode", "depth"), (Gauge<Integer>) () -> decoders.getQueue().size());
+    registry.register(name(bldr.name, "sink", "depth"), (Gauge<Integer>) sinkQueue::size);
+
+    this.sink = new Thread(this::sink, bldr.name + "-sink");
+    this.sink.setDaemon(true);
+    this.sink.start();
+  }
+
+  /**
+   * Submits a received message to the pipeline, blocking while the pipeline
+   * is at capacity.
+   *
+   * @param decoder
+   *     decodes the received message into a {@link TransportableMetric}
+   * @throws InterruptedException
+   *     if interrupted while waiting for capacity
+   * @throws IllegalStateException
+   *     if the pipeline has been closed
+   */
+  public void submit(Callable<TransportableMetric> decoder) throws InterruptedException {
+    final FutureTask<TransportableMetric> decode = new FutureTask<>(() -> {
+      try (final Timer.Context ignored = decodeLatency.time()) {
+        return decoder.call();
+      }
+    });
+
+    // close() waits for in progress submissions so none can land behind it
+    final Lock lock = lifecycle.readLock();
+    lock.lockInterruptibly();
+    try {
+      if (isClosed) {
+        throw new IllegalStateException("The pipeline is closed.");
+      }
+
+      try (final Timer.Context ignored = receiveWait.time()) {
+        sinkQueue.put(decode);
+      }
+      decoders.execute(decode);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void sink() {
+    while (true) {
+      final FutureTask<TransportableMetric> decode;
+      try {
+        decode = sinkQueue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      if (CLOSED == decode) {
+        return;
+      }
+
+      try {
+        final TransportableMetric metric = decode.get();
+        try (final Timer.Context ignored = sinkLatency.time()) {
+          consumer.consume(metric);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        errors.inc();
+        log.error("Unable to decode metric.", e.getCause());
+      } catch (Throwable e) {
+        errors.inc();
+        log.error("Unable to consume metric.", e);
+      }
+    }
+  }
+
+  /**
+   * Stops the pipeline once every previously submitted message has been
+   * consumed.  Later submissions are rejected.
+   */
+  @Override
+  public void close() {
+    final Lock lock = lifecycle.writeLock();
+    lock.lock();
+    try {
+      if (isClosed) {
+        return;
+      }
+
+      isClosed = true;
+      sinkQueue.put(CLOSED);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      decoders.shutdown();
+      return;
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      sink.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      decoders.shutdown();
+    }
+  }
+
+  /**
+   * Builder for {@link MetricPipeline}.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder<T> {
+    private final MetricConsumer<T> consumer;
+
+    private String         name          = "metric-pipeline";
+    private int            decodeThreads = Runtime.getRuntime().availableProcessors();
+    private int            capacity      = 1024;
+    private MetricRegistry registry      = new MetricRegistry();
+
+    public Builder(MetricConsumer<T> consumer) {
+      this.consumer = consumer;
+    }
+
+    /**
+     * The name prefixing the thread and metric names.
+     *
+     * @param name
+     *     the pipeline name
+     * @return the builder
+     */
+    public Builder<T> name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    /**
+     * The number of threads decoding messages.  Defaults to the number of
+     * available processors.
+     *
+     * @param decodeThreads
+     *     the number of decode threads
+     * @return the builder
+     */
+    public Builder<T> decodeThreads(int decodeThreads) {
+      this.decodeThreads = decodeThreads;
+      return this;
+    }
+
+    /**
+     * The maximum number of messages in flight between receipt and the sink.
+     *
+     * @param capacity
+     *     the pipeline capacity
+     * @return the builder
+     */
+    public Builder<T> capacity(int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * The registry receiving the stage metrics.
+     *
+     * @param registry
+     *     the {@link MetricRegistry}
+     * @return the builder
+     */
+    public Builder<T> registry(MetricRegistry registry) {
+      this.registry = registry;
+      return this;
+    }
+
+    public MetricPipeline<T> build() {
+      return new MetricPipeline<>(this);
+    }
+  }
+}
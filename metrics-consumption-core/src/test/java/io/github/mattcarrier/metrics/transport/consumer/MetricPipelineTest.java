@@ -0,0 +1,125 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.consumer;
+
+import static org.junit.Assert.assertEquals;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link MetricPipeline}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class MetricPipelineTest {
+  private final MetricRegistry registry = new MetricRegistry();
+  private final List<String>   consumed = new ArrayList<>();
+
+  private final DefaultMetricConsumer consumer = new DefaultMetricConsumer() {
+    @Override
+    protected TransportableMetric postConvert(TransportableMetric metric) {
+      consumed.add(metric.getName());
+      return metric;
+    }
+  };
+
+  @Test
+  public void ordered() throws Exception {
+    try (final MetricPipeline<TransportableMetric> pipeline = pipeline(4, 8)) {
+      for (int i = 0; i < 100; i++) {
+        final String name = String.valueOf(i);
+        pipeline.submit(() -> {
+          Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+          return new TransportableMetric(name, ZonedDateTime.now(), ImmutableSet.of());
+        });
+      }
+    }
+
+    assertEquals(IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList()), consumed);
+    assertEquals(100L, registry.timer("pipeline.decode.latency").getCount());
+    assertEquals(100L, registry.timer("pipeline.sink.latency").getCount());
+    assertEquals(0, registry.getGauges().get("pipeline.sink.depth").getValue());
+  }
+
+  @Test
+  public void decodeFailure() throws Exception {
+    try (final MetricPipeline<TransportableMetric> pipeline = pipeline(2, 2)) {
+      pipeline.submit(() -> new TransportableMetric("first", ZonedDateTime.now(), ImmutableSet.of()));
+      pipeline.submit(() -> {
+        throw new IllegalStateException("corrupt");
+      });
+      pipeline.submit(() -> new TransportableMetric("last", ZonedDateTime.now(), ImmutableSet.of()));
+    }
+
+    assertEquals(2, consumed.size());
+    assertEquals("last", consumed.get(1));
+    assertEquals(1L, registry.counter("pipeline.errors").getCount());
+  }
+
+  @Test
+  public void consumerError() throws Exception {
+    final DefaultMetricConsumer failing = new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        if ("error".equals(metric.getName())) {
+          throw new AssertionError("consumer bug");
+        }
+
+        consumed.add(metric.getName());
+        return metric;
+      }
+    };
+
+    try (final MetricPipeline<TransportableMetric> pipeline = new MetricPipeline.Builder<>(failing)
+        .name("pipeline").decodeThreads(1).capacity(1).registry(registry).build()) {
+      for (String name : new String[] { "first", "error", "second", "third" }) {
+        pipeline.submit(() -> new TransportableMetric(name, ZonedDateTime.now(), ImmutableSet.of()));
+      }
+    }
+
+    assertEquals(ImmutableList.of("first", "second", "third"), consumed);
+    assertEquals(1L, registry.counter("pipeline.errors").getCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void submitAfterClose() throws Exception {
+    final MetricPipeline<TransportableMetric> pipeline = pipeline(1, 1);
+    pipeline.close();
+    pipeline.close();
+    pipeline.submit(() -> new TransportableMetric("late", ZonedDateTime.now(), ImmutableSet.of()));
+  }
+
+  private MetricPipeline<TransportableMetric> pipeline(int decodeThreads, int capacity) {
+    return new MetricPipeline.Builder<>(consumer).name("pipeline").decodeThreads(decodeThreads).capacity(capacity)
+        .registry(registry).build();
+  }
+}
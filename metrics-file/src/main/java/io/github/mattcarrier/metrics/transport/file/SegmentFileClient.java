@@ -0,0 +1,318 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.file;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Appends published {@link TransportableMetric} batches to rolling,
+ * checksummed segment files with a sparse time index, for store-and-forward
+ * where there is no broker.  Segments roll once they reach the segment size
+ * and are replayed with a {@link SegmentReader}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class SegmentFileClient implements Transport {
+  private final Path       directory;
+  private final long       segmentBytes;
+  private final int        indexInterval;
+  private final boolean    isSyncEveryBatch;
+  private final Clock      clock;
+  private final Serializer serializer;
+
+  private FileChannel segment;
+  private FileChannel index;
+  private long        bytesSinceIndex;
+
+  protected SegmentFileClient(Builder bldr, Serializer serializer) throws IOException {
+    this.directory = Files.createDirectories(bldr.directory);
+    this.segmentBytes = bldr.segmentBytes;
+    this.indexInterval = bldr.indexInterval;
+    this.isSyncEveryBatch = bldr.isSyncEveryBatch;
+    this.clock = bldr.clock;
+    this.serializer = serializer;
+  }
+
+  /**
+   * Appends a {@link TransportableMetric} as a batch of its own.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    publish(ImmutableList.of(metric));
+  }
+
+  /**
+   * Appends a batch of {@link TransportableMetric}s as a single record,
+   * rolling to a new segment first if the current segment is full.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  @Override
+  public synchronized void publish(Collection<TransportableMetric> metrics) {
+    try {
+      final long timestamp = clock.millis();
+      final ByteBuffer frames = LengthPrefixedFrames.encode(serializer, metrics);
+      final ByteBuffer record = ByteBuffer.allocate(Segments.RECORD_HEADER_SIZE + Segments.BATCH_HEADER_SIZE
+                                                    + frames.remaining());
+      record.position(Segments.RECORD_HEADER_SIZE);
+      record.putLong(timestamp).putInt(metrics.size()).put(frames);
+
+      final CRC32 crc = new CRC32();
+      crc.update(record.array(), Segments.RECORD_HEADER_SIZE, record.position() - Segments.RECORD_HEADER_SIZE);
+      record.putInt(0, record.position() - Segments.RECORD_HEADER_SIZE).putInt(4, (int) crc.getValue());
+      record.flip();
+
+      if (null == segment || segmentBytes <= segment.size()) {
+        roll(timestamp);
+      }
+
+      final long position = segment.size();
+      while (record.hasRemaining()) {
+        segment.write(record);
+      }
+      if (isSyncEveryBatch) {
+        segment.force(false);
+      }
+
+      // the index entry follows its record so it never points past the end of the segment
+      if (0 == position || indexInterval <= bytesSinceIndex) {
+        final ByteBuffer entry = ByteBuffer.allocate(Segments.INDEX_ENTRY_SIZE).putLong(timestamp).putLong(position);
+        entry.flip();
+        index.write(entry);
+        if (isSyncEveryBatch) {
+          index.force(false);
+        }
+        bytesSinceIndex = 0;
+      }
+      bytesSinceIndex += record.limit();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void roll(long timestamp) throws IOException {
+    closeSegment();
+
+    long name = timestamp;
+    while (Files.exists(directory.resolve(Segments.name(name) + Segments.SEGMENT_SUFFIX))) {
+      name++;
+    }
+
+    final Path path = directory.resolve(Segments.name(name) + Segments.SEGMENT_SUFFIX);
+    segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    index = FileChannel.open(Segments.index(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                             StandardOpenOption.TRUNCATE_EXISTING
+    );
+    bytesSinceIndex = 0;
+  }
+
+  private void closeSegment() throws IOException {
+    if (null == segment) {
+      return;
+    }
+
+    segment.force(false);
+    segment.close();
+    index.force(false);
+    index.close();
+    segment = null;
+    index = null;
+  }
+
+  /**
+   * Replays every segment written so far into the consumer on the calling
+   * thread.
+   *
+   * @param consumer
+   *     the consumer
+   * @throws IOException
+   *     if the segments can not be read
+   */
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) throws IOException {
+    flush();
+    new SegmentReader(directory, serializer).replay(consumer);
+  }
+
+  /**
+   * Replays every segment written so far into the pipeline on the calling
+   * thread.
+   *
+   * @param pipeline
+   *     the pipeline
+   * @throws IOException
+   *     if the segments can not be read
+   */
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) throws IOException {
+    flush();
+    new SegmentReader(directory, serializer).replay(pipeline);
+  }
+
+  /**
+   * Forces the current segment and its index to disk.
+   *
+   * @throws IOException
+   *     if the segment can not be forced
+   */
+  public synchronized void flush() throws IOException {
+    if (null != segment) {
+      segment.force(false);
+      index.force(false);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closeSegment();
+  }
+
+  /**
+   * {@link SegmentFileClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private Path    directory        = Paths.get("metrics-segments");
+    private long    segmentBytes     = 64L * 1024 * 1024;
+    private int     indexInterval    = 4096;
+    private boolean isSyncEveryBatch = false;
+    private Clock   clock            = Clock.systemUTC();
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    public Builder directory(Path directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * The size in bytes after which a new segment is started.
+     *
+     * @param segmentBytes
+     *     the segment size in bytes
+     * @return the builder
+     */
+    public Builder segmentBytes(long segmentBytes) {
+      this.segmentBytes = segmentBytes;
+      return this;
+    }
+
+    /**
+     * The number of bytes written between index entries.
+     *
+     * @param indexInterval
+     *     the index interval in bytes
+     * @return the builder
+     */
+    public Builder indexInterval(int indexInterval) {
+      this.indexInterval = indexInterval;
+      return this;
+    }
+
+    /**
+     * Whether every batch is forced to disk before publishing returns.
+     * Defaults to forcing when a segment is rolled or closed.
+     *
+     * @param isSyncEveryBatch
+     *     whether to force every batch
+     * @return the builder
+     */
+    public Builder syncEveryBatch(boolean isSyncEveryBatch) {
+      this.isSyncEveryBatch = isSyncEveryBatch;
+      return this;
+    }
+
+    public Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link SegmentFileClient}, creating the directory if needed.
+     *
+     * @return the {@link SegmentFileClient}
+     * @throws IOException
+     *     if the directory can not be created or the serializers found
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public SegmentFileClient build() throws IOException, InstantiationException, IllegalAccessException {
+      if (Integer.MAX_VALUE < segmentBytes) {
+        throw new IllegalArgumentException("segmentBytes must fit a single memory mapping");
+      }
+
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+      return new SegmentFileClient(this, selected);
+    }
+  }
+}
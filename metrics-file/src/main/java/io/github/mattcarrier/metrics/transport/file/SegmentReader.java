@@ -0,0 +1,206 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.file;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Replays the segments written by a {@link SegmentFileClient}, memory mapping
+ * each segment in turn.  Records failing their checksum are skipped and
+ * counted, and a truncated record or an index entry past the end of its
+ * segment ends the seek or the segment, so a segment that was being written
+ * during a crash can still be read.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class SegmentReader {
+  private final Path       directory;
+  private final Serializer serializer;
+
+  private long corrupt;
+
+  public SegmentReader(Path directory, Serializer serializer) {
+    this.directory = directory;
+    this.serializer = serializer;
+  }
+
+  /**
+   * Replays every segment into the consumer.
+   *
+   * @param consumer
+   *     the consumer
+   * @return the number of metrics replayed
+   * @throws IOException
+   *     if the segments can not be read
+   */
+  public <T> long replay(MetricConsumer<T> consumer) throws IOException {
+    return replay(Instant.EPOCH, consumer);
+  }
+
+  /**
+   * Replays every batch published at or after the given instant into the
+   * consumer, seeking through the segment names and sparse indexes.
+   *
+   * @param from
+   *     the earliest batch to replay
+   * @param consumer
+   *     the consumer
+   * @return the number of metrics replayed
+   * @throws IOException
+   *     if the segments can not be read
+   */
+  public <T> long replay(Instant from, MetricConsumer<T> consumer) throws IOException {
+    return replay(from, body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  /**
+   * Replays every segment into the pipeline.
+   *
+   * @param pipeline
+   *     the pipeline
+   * @return the number of metrics replayed
+   * @throws IOException
+   *     if the segments can not be read
+   */
+  public <T> long replay(MetricPipeline<T> pipeline) throws IOException {
+    return replay(Instant.EPOCH, pipeline);
+  }
+
+  /**
+   * Replays every batch published at or after the given instant into the
+   * pipeline, seeking through the segment names and sparse indexes.
+   *
+   * @param from
+   *     the earliest batch to replay
+   * @param pipeline
+   *     the pipeline
+   * @return the number of metrics replayed
+   * @throws IOException
+   *     if the segments can not be read
+   */
+  public <T> long replay(Instant from, MetricPipeline<T> pipeline) throws IOException {
+    return replay(from, body -> pipeline.submit(() -> serializer.deserialize(body)));
+  }
+
+  private long replay(Instant from, LengthPrefixedFrames.FrameHandler handler) throws IOException {
+    final long fromMillis = from.toEpochMilli();
+    final List<Path> segments = Segments.segments(directory);
+
+    int first = 0;
+    for (int i = 1; i < segments.size() && Segments.timestamp(segments.get(i)) <= fromMillis; i++) {
+      first = i;
+    }
+
+    long replayed = 0;
+    for (int i = first; i < segments.size(); i++) {
+      replayed += replay(segments.get(i), fromMillis, handler);
+    }
+
+    return replayed;
+  }
+
+  private long replay(Path segment, long fromMillis, LengthPrefixedFrames.FrameHandler handler) throws IOException {
+    final MappedByteBuffer records;
+    try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+      records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    records.position((int) seek(segment, fromMillis, records.limit()));
+
+    final CRC32 crc = new CRC32();
+    long replayed = 0;
+    while (Segments.RECORD_HEADER_SIZE <= records.remaining()) {
+      final int length = records.getInt();
+      final int checksum = records.getInt();
+      if (Segments.BATCH_HEADER_SIZE > length || length > records.remaining()) {
+        break;
+      }
+
+      final ByteBuffer payload = records.slice();
+      payload.limit(length);
+      records.position(records.position() + length);
+
+      crc.reset();
+      crc.update(payload.duplicate());
+      if (checksum != (int) crc.getValue()) {
+        corrupt++;
+        continue;
+      }
+
+      final long timestamp = payload.getLong();
+      final int count = payload.getInt();
+      if (timestamp < fromMillis) {
+        continue;
+      }
+
+      try {
+        LengthPrefixedFrames.decode(payload, length, handler);
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+      replayed += count;
+    }
+
+    return replayed;
+  }
+
+  private long seek(Path segment, long fromMillis, long end) throws IOException {
+    final Path index = Segments.index(segment);
+    if (!Files.exists(index)) {
+      return 0;
+    }
+
+    final ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(index));
+    long position = 0;
+    while (Segments.INDEX_ENTRY_SIZE <= entries.remaining()) {
+      final long timestamp = entries.getLong();
+      final long entry = entries.getLong();
+      if (timestamp >= fromMillis || entry > end) {
+        // entries past the end of the segment indexed records lost in a crash
+        break;
+      }
+      position = entry;
+    }
+
+    return position;
+  }
+
+  /**
+   * The number of records skipped because their checksum did not match.
+   *
+   * @return the number of corrupt records
+   */
+  public long getCorrupt() {
+    return corrupt;
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The segment file layout shared by {@link SegmentFileClient} and
+ * {@link SegmentReader}.
+ *
+ * <p>Segments are named after the timestamp of their first batch and hold a
+ * sequence of records:
+ *
+ * <pre>
+ * | length (4) | crc32 (4) | timestamp (8) | count (4) | length prefixed metrics |
+ * </pre>
+ *
+ * <p>where the length covers and the CRC-32 is computed over everything
+ * after the crc.  Each segment has a sparse index of
+ * {@code | timestamp (8) | position (8) |} entries.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class Segments {
+  static final String SEGMENT_SUFFIX = ".segment";
+  static final String INDEX_SUFFIX   = ".index";
+
+  static final int RECORD_HEADER_SIZE = 4 + 4;
+  static final int BATCH_HEADER_SIZE  = 8 + 4;
+  static final int INDEX_ENTRY_SIZE   = 8 + 8;
+
+  private Segments() {
+  }
+
+  static String name(long timestamp) {
+    return String.format("%020d", timestamp);
+  }
+
+  static long timestamp(Path segment) {
+    final String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  static Path index(Path segment) {
+    final String name = segment.getFileName().toString();
+    return segment.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+  }
+
+  static List<Path> segments(Path directory) throws IOException {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted()
+          .collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.RegisteredKryoSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link SegmentFileClient} and {@link SegmentReader}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class SegmentFileClientTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<TransportableMetric> consumed = new ArrayList<>();
+  private final StepClock                 clock    = new StepClock();
+
+  private Path directory;
+
+  @Before
+  public void directory() throws Exception {
+    directory = folder.newFolder().toPath();
+  }
+
+  @Test
+  public void rolledRoundTrip() throws Exception {
+    final List<TransportableMetric> published = metrics(100);
+    try (final SegmentFileClient client = client()) {
+      for (int i = 0; i < published.size(); i += 10) {
+        client.publish(published.subList(i, i + 10));
+      }
+      client.subscribe(consumer());
+    }
+
+    assertTrue(1 < Segments.segments(directory).size());
+    assertEquals(published, consumed);
+  }
+
+  @Test
+  public void corruptRecordsSkipped() throws Exception {
+    final List<TransportableMetric> published = metrics(2);
+    try (final SegmentFileClient client = client()) {
+      client.publish(published.get(0));
+      client.publish(published.get(1));
+    }
+
+    final Path segment = Segments.segments(directory).get(0);
+    try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), Segments.RECORD_HEADER_SIZE + Segments.BATCH_HEADER_SIZE);
+      channel.truncate(channel.size() - 1);
+    }
+
+    final SegmentReader reader = new SegmentReader(directory, new JavaSerializer());
+    assertEquals(0L, reader.replay(consumer()));
+    assertEquals(1L, reader.getCorrupt());
+    assertTrue(consumed.isEmpty());
+  }
+
+  @Test
+  public void replayFrom() throws Exception {
+    final List<TransportableMetric> published = metrics(100);
+    try (final SegmentFileClient client = client()) {
+      published.forEach(client::publish);
+    }
+
+    final SegmentReader reader = new SegmentReader(directory, new JavaSerializer());
+    assertEquals(40L, reader.replay(Instant.ofEpochMilli(StepClock.START + 60 * StepClock.STEP), consumer()));
+    assertEquals(published.subList(60, 100), consumed);
+  }
+
+  @Test
+  public void indexPastSegmentEnd() throws Exception {
+    final List<TransportableMetric> published = metrics(2);
+    try (final SegmentFileClient client = client()) {
+      published.forEach(client::publish);
+    }
+
+    // a crash after indexing a record that never reached the segment
+    final Path segment = Segments.segments(directory).get(0);
+    try (final FileChannel channel = FileChannel.open(Segments.index(segment), StandardOpenOption.APPEND)) {
+      final ByteBuffer entry = ByteBuffer.allocate(Segments.INDEX_ENTRY_SIZE)
+          .putLong(StepClock.START + 2 * StepClock.STEP).putLong(segment.toFile().length() + 1024);
+      entry.flip();
+      channel.write(entry);
+    }
+
+    final SegmentReader reader = new SegmentReader(directory, new JavaSerializer());
+    assertEquals(1L, reader.replay(Instant.ofEpochMilli(StepClock.START + StepClock.STEP), consumer()));
+    assertEquals(0L, reader.replay(Instant.ofEpochMilli(StepClock.START + 3 * StepClock.STEP), consumer()));
+    assertEquals(published.subList(1, 2), consumed);
+  }
+
+  @Test
+  public void publishWithSerializer() throws Exception {
+    final List<TransportableMetric> published = metrics(10);
+    try (final SegmentFileClient client = new SegmentFileClient.Builder().directory(directory).clock(clock)
+        .serializer(new RegisteredKryoSerializer()).build()) {
+      client.publish(published);
+    }
+
+    final SegmentReader reader = new SegmentReader(directory, new RegisteredKryoSerializer());
+    assertEquals(10L, reader.replay(consumer()));
+    assertEquals(published, consumed);
+  }
+
+  private SegmentFileClient client() throws Exception {
+    return new SegmentFileClient.Builder().directory(directory).segmentBytes(4096).indexInterval(512).clock(clock)
+        .serializer(new JavaSerializer()).build();
+  }
+
+  private DefaultMetricConsumer consumer() {
+    return new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.add(metric);
+        return metric;
+      }
+    };
+  }
+
+  private static List<TransportableMetric> metrics(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Advances a fixed step every time it is read.
+   */
+  private static class StepClock extends Clock {
+    static final long START = 1_000_000L;
+    static final long STEP  = 10L;
+
+    private long millis = START;
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      final Instant instant = Instant.ofEpochMilli(millis);
+      millis += STEP;
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,440 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.grpc;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client for streaming {@link TransportableMetric} batches to a collector over
+ * a long lived <a href="https://grpc.io/">gRPC</a> bidirectional stream.
+ * Subscribing starts the collector, which acknowledges every batch once its
+ * subscribers have consumed it.
+ *
+ * <p>Each acknowledgement grants the publisher another batch in flight, so a
+ * publisher is blocked once its window of unacknowledged batches is used up or
+ * while HTTP/2 flow control holds the stream, letting the
+ * {@link io.github.mattcarrier.metrics.transport.spi.TransportReporter} apply
+ * its {@link io.github.mattcarrier.metrics.transport.spi.BlockedPolicy}.
+ * Producers and consumers must use the same {@link Serializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class GrpcClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(GrpcClient.class);
+
+  private final ManagedChannel   channel;
+  private final ServerBuilder<?> serverBuilder;
+  private final int              window;
+  private final int              maxFrameLength;
+  private final Serializer       serializer;
+
+  private final List<Subscriber> subscribers  = new CopyOnWriteArrayList<>();
+  private final AtomicInteger    credits      = new AtomicInteger();
+  private final AtomicLong       sent         = new AtomicLong();
+  private final AtomicLong       acknowledged = new AtomicLong();
+
+  private ClientCallStreamObserver<byte[]> stream;
+  private Server                           server;
+
+  protected GrpcClient(ManagedChannel channel, ServerBuilder<?> serverBuilder, Builder bldr, Serializer serializer) {
+    this.channel = channel;
+    this.serverBuilder = serverBuilder;
+    this.window = bldr.window;
+    this.maxFrameLength = bldr.maxFrameLength;
+    this.serializer = serializer;
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric} as a batch of its own.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    publish(ImmutableList.of(metric));
+  }
+
+  /**
+   * Publishes a batch of {@link TransportableMetric}s as a single stream
+   * message.  The stream is (re-)opened if needed.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  @Override
+  public synchronized void publish(Collection<TransportableMetric> metrics) {
+    final ByteBuffer batch;
+    try {
+      final ByteBuffer frames = LengthPrefixedFrames.encode(serializer, metrics);
+      batch = ByteBuffer.allocate(MetricStream.SEQUENCE_SIZE + frames.remaining());
+      batch.putLong(sent.get()).put(frames);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+
+    stream().onNext(batch.array());
+    credits.decrementAndGet();
+    sent.incrementAndGet();
+  }
+
+  private ClientCallStreamObserver<byte[]> stream() {
+    if (null == stream) {
+      credits.set(window);
+      ClientCalls.asyncBidiStreamingCall(channel.newCall(MetricStream.METHOD, CallOptions.DEFAULT), new AckObserver());
+    }
+
+    return stream;
+  }
+
+  private synchronized void reset(ClientCallStreamObserver<byte[]> failed) {
+    if (stream == failed) {
+      stream = null;
+    }
+  }
+
+  /**
+   * Whether the window of unacknowledged batches is used up or HTTP/2 flow
+   * control is holding the stream.
+   *
+   * @return true if the publisher should hold its batches
+   */
+  @Override
+  public synchronized boolean isBlocked() {
+    return null != stream && (0 >= credits.get() || !stream.isReady());
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) throws IOException {
+    subscribe(body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) throws IOException {
+    subscribe(body -> pipeline.submit(() -> serializer.deserialize(body)));
+  }
+
+  private synchronized void subscribe(Subscriber subscriber) throws IOException {
+    subscribers.add(subscriber);
+    if (null != server) {
+      return;
+    }
+
+    final ServerServiceDefinition service = ServerServiceDefinition.builder(MetricStream.SERVICE)
+        .addMethod(MetricStream.METHOD, ServerCalls.asyncBidiStreamingCall(BatchObserver::new)).build();
+    server = serverBuilder.addService(service).build().start();
+  }
+
+  /**
+   * The port the collector is listening on.
+   *
+   * @return the port or -1 if nothing has subscribed or the server is not
+   *     listening on a socket
+   */
+  public synchronized int getPort() {
+    return null == server ? -1 : server.getPort();
+  }
+
+  /**
+   * The number of batches sent.
+   *
+   * @return the number of batches sent
+   */
+  public long getSent() {
+    return sent.get();
+  }
+
+  /**
+   * The number of batches acknowledged by the collector.
+   *
+   * @return the number of batches acknowledged
+   */
+  public long getAcknowledged() {
+    return acknowledged.get();
+  }
+
+  /**
+   * Completes the stream and shuts down the channel and collector, waiting up
+   * to 5 seconds for each to terminate.
+   *
+   * @throws InterruptedException
+   *     if interrupted while waiting
+   */
+  @Override
+  public synchronized void close() throws InterruptedException {
+    if (null != stream) {
+      stream.onCompleted();
+      stream = null;
+    }
+    channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    if (null != server) {
+      server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Subscriber {
+    void deliver(ByteBuffer body) throws Exception;
+  }
+
+  /**
+   * Receives the acknowledgements for the publishing stream.
+   */
+  private class AckObserver implements ClientResponseObserver<byte[], byte[]> {
+    private ClientCallStreamObserver<byte[]> requests;
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<byte[]> requests) {
+      this.requests = requests;
+      stream = requests;
+    }
+
+    @Override
+    public void onNext(byte[] ack) {
+      credits.addAndGet(ByteBuffer.wrap(ack).getInt(MetricStream.SEQUENCE_SIZE));
+      acknowledged.incrementAndGet();
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+      log.error("Metric stream failed, it will be reopened on the next publish.", cause);
+      reset(requests);
+    }
+
+    @Override
+    public void onCompleted() {
+      reset(requests);
+    }
+  }
+
+  /**
+   * Delivers the metrics of each received batch to the subscribers and
+   * acknowledges the batch with a single credit.  Up to a window of batches
+   * are requested from the transport ahead of time, matching the credits of
+   * the publisher.
+   */
+  private class BatchObserver implements StreamObserver<byte[]> {
+    private final ServerCallStreamObserver<byte[]> acks;
+
+    BatchObserver(StreamObserver<byte[]> acks) {
+      this.acks = (ServerCallStreamObserver<byte[]>) acks;
+      this.acks.disableAutoRequest();
+      this.acks.request(window);
+    }
+
+    @Override
+    public void onNext(byte[] batch) {
+      final ByteBuffer buffer = ByteBuffer.wrap(batch);
+      final long sequence = buffer.getLong();
+      try {
+        LengthPrefixedFrames.decode(buffer, maxFrameLength, this::deliver);
+      } catch (Exception e) {
+        log.error("Unable to decode metric batch [{}].", sequence, e);
+      }
+      acks.onNext(MetricStream.ack(sequence, 1));
+      acks.request(1);
+    }
+
+    private void deliver(ByteBuffer body) throws InterruptedException {
+      for (Subscriber subscriber : subscribers) {
+        try {
+          subscriber.deliver(body.duplicate());
+        } catch (InterruptedException e) {
+          throw e;
+        } catch (Exception e) {
+          log.error("Unable to consume metric.", e);
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+      log.warn("Metric stream closed by publisher.", cause);
+    }
+
+    @Override
+    public void onCompleted() {
+      acks.onCompleted();
+    }
+  }
+
+  /**
+   * {@link GrpcClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private String           target        = "localhost:9127";
+    private ManagedChannel   channel       = null;
+    private int              port          = 9127;
+    private ServerBuilder<?> serverBuilder = null;
+
+    private int window         = 16;
+    private int maxFrameLength = 1024 * 1024;
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    /**
+     * The collector to publish to as a gRPC target, such as
+     * {@code host:port} or {@code dns:///collector.example.com}.
+     *
+     * @param target
+     *     the target
+     * @return the builder
+     */
+    public Builder target(String target) {
+      this.target = target;
+      return this;
+    }
+
+    /**
+     * The channel to publish on, for TLS, load balancing or in-process
+     * channels.  Overrides the target and is shut down when the client is
+     * closed.
+     *
+     * @param channel
+     *     the channel
+     * @return the builder
+     */
+    public Builder channel(ManagedChannel channel) {
+      this.channel = channel;
+      return this;
+    }
+
+    public Builder port(int port) {
+      this.port = port;
+      return this;
+    }
+
+    /**
+     * The server builder used to start the collector.  Overrides the port.
+     *
+     * @param serverBuilder
+     *     the server builder
+     * @return the builder
+     */
+    public Builder serverBuilder(ServerBuilder<?> serverBuilder) {
+      this.serverBuilder = serverBuilder;
+      return this;
+    }
+
+    /**
+     * The number of unacknowledged batches after which the publisher is
+     * blocked.
+     *
+     * @param window
+     *     the number of batches in flight
+     * @return the builder
+     */
+    public Builder window(int window) {
+      this.window = window;
+      return this;
+    }
+
+    /**
+     * The largest serialized metric accepted by the collector.
+     *
+     * @param maxFrameLength
+     *     the maximum frame length in bytes
+     * @return the builder
+     */
+    public Builder maxFrameLength(int maxFrameLength) {
+      this.maxFrameLength = maxFrameLength;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link GrpcClient}.
+     *
+     * @return the {@link GrpcClient}
+     * @throws IOException
+     *     if there is an issue finding the serializers
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public GrpcClient build() throws IOException, InstantiationException, IllegalAccessException {
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+      final ManagedChannel ch = null == channel ? ManagedChannelBuilder.forTarget(target).usePlaintext().build()
+          : channel;
+      final ServerBuilder<?> server = null == serverBuilder ? ServerBuilder.forPort(port) : serverBuilder;
+      return new GrpcClient(ch, server, this, selected);
+    }
+  }
+}
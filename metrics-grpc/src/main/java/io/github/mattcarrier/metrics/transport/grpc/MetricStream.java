@@ -0,0 +1,86 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.grpc;
+
+import com.google.common.io.ByteStreams;
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The bidirectional streaming method shared by {@link GrpcClient} publishers
+ * and collectors.  Messages are raw bytes so no generated stubs are needed:
+ * publishers send batches of
+ *
+ * <pre>
+ * | sequence (8) | length prefixed metrics |
+ * </pre>
+ *
+ * <p>and collectors answer every batch with an acknowledgement of
+ *
+ * <pre>
+ * | sequence (8) | credits (4) |
+ * </pre>
+ *
+ * <p>granting the publisher that many more batches in flight.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class MetricStream {
+  static final String SERVICE = "metrics.transport.MetricTransport";
+
+  static final int SEQUENCE_SIZE = 8;
+  static final int ACK_SIZE      = SEQUENCE_SIZE + 4;
+
+  static final MethodDescriptor<byte[], byte[]> METHOD = MethodDescriptor.<byte[], byte[]>newBuilder()
+      .setType(MethodDescriptor.MethodType.BIDI_STREAMING)
+      .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE, "Stream"))
+      .setRequestMarshaller(new BytesMarshaller())
+      .setResponseMarshaller(new BytesMarshaller())
+      .build();
+
+  private MetricStream() {
+  }
+
+  static byte[] ack(long sequence, int credits) {
+    return ByteBuffer.allocate(ACK_SIZE).putLong(sequence).putInt(credits).array();
+  }
+
+  /**
+   * Passes messages through as they are.
+   */
+  private static class BytesMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+    @Override
+    public InputStream stream(byte[] value) {
+      return new ByteArrayInputStream(value);
+    }
+
+    @Override
+    public byte[] parse(InputStream stream) {
+      try {
+        return ByteStreams.toByteArray(stream);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.grpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link GrpcClient} against an in-process collector.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class GrpcClientTest {
+  private final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+  private final CountDownLatch            released = new CountDownLatch(1);
+
+  private String     name;
+  private GrpcClient collector;
+  private GrpcClient publisher;
+
+  @Before
+  public void start() throws Exception {
+    name = InProcessServerBuilder.generateName();
+    collector = new GrpcClient.Builder().serverBuilder(InProcessServerBuilder.forName(name)).build();
+  }
+
+  @After
+  public void close() throws Exception {
+    released.countDown();
+    publisher.close();
+    collector.close();
+  }
+
+  @Test
+  public void roundTrip() throws Exception {
+    released.countDown();
+    subscribe();
+    publisher = publisher(16);
+
+    final List<TransportableMetric> published = IntStream.range(0, 50)
+        .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+        .collect(Collectors.toList());
+    for (int i = 0; i < published.size(); i += 10) {
+      publisher.publish(published.subList(i, i + 10));
+    }
+
+    await(() -> 5L == publisher.getAcknowledged());
+    assertEquals(5L, publisher.getSent());
+    assertEquals(published, consumed);
+    await(() -> !publisher.isBlocked());
+  }
+
+  @Test
+  public void blockedUntilAcknowledged() throws Exception {
+    subscribe();
+    publisher = publisher(2);
+
+    publisher.publish(new TransportableMetric("metric.1", ZonedDateTime.now(), ImmutableSet.of()));
+    await(() -> !publisher.isBlocked());
+    publisher.publish(new TransportableMetric("metric.2", ZonedDateTime.now(), ImmutableSet.of()));
+    assertTrue(publisher.isBlocked());
+
+    released.countDown();
+    await(() -> !publisher.isBlocked());
+    assertEquals(2L, publisher.getAcknowledged());
+    assertEquals(2, consumed.size());
+  }
+
+  private void subscribe() throws Exception {
+    collector.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        try {
+          released.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        consumed.add(metric);
+        return metric;
+      }
+    });
+  }
+
+  private GrpcClient publisher(int window) throws Exception {
+    return new GrpcClient.Builder().channel(InProcessChannelBuilder.forName(name).build()).window(window).build();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean() && System.nanoTime() < timeout) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+}
@@ -0,0 +1,428 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.kafka;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Client for publishing and consuming {@link TransportableMetric}s with Apache
+ * Kafka.  Records are keyed by metric name so that every report of a metric
+ * lands on the same partition and is consumed in order.  Consumers sharing a
+ * group id split the topic's partitions between them.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class KafkaClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(KafkaClient.class);
+
+  /**
+   * Record header carrying the {@link Serializer#contentType()}.
+   */
+  public static final String CONTENT_TYPE_HEADER = "content-type";
+
+  /**
+   * Record header carrying the {@link Serializer#formatVersion()}.
+   */
+  public static final String FORMAT_VERSION_HEADER = "x-format-version";
+
+  private final Producer<String, byte[]>           producer;
+  private final Supplier<Consumer<String, byte[]>> consumers;
+  private final String                             topic;
+  private final Duration                           pollTimeout;
+  private final Serializer                         serializer;
+  private final ImmutableMap<String, Serializer>   serializers;
+  private final Header[]                           headers;
+
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final AtomicInteger      threads       = new AtomicInteger();
+
+  protected KafkaClient(Producer<String, byte[]> producer, Supplier<Consumer<String, byte[]>> consumers,
+                        Builder bldr, Serializer serializer, Map<String, Serializer> serializers) {
+    this.producer = producer;
+    this.consumers = consumers;
+    this.topic = bldr.topic;
+    this.pollTimeout = bldr.pollTimeout;
+    this.serializer = serializer;
+
+    final Map<String, Serializer> deserializers = new HashMap<>(serializers);
+    deserializers.put(serializer.contentType(), serializer);
+    this.serializers = ImmutableMap.copyOf(deserializers);
+    this.headers = new Header[] {
+        new RecordHeader(CONTENT_TYPE_HEADER, serializer.contentType().getBytes(StandardCharsets.UTF_8)),
+        new RecordHeader(FORMAT_VERSION_HEADER,
+                         String.valueOf(serializer.formatVersion()).getBytes(StandardCharsets.UTF_8)
+        )
+    };
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric} to the topic keyed by the metric
+   * name.  Records are sent asynchronously and batched by the producer.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    final byte[] body;
+    try {
+      body = serializer.serialize(metric);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+
+    final ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, null, metric.getName(), body,
+                                                                       new RecordHeaders(headers)
+    );
+    producer.send(record, (metadata, ex) -> {
+      if (null != ex) {
+        log.error("Unable to publish metric [{}].", metric.getName(), ex);
+      }
+    });
+  }
+
+  /**
+   * Subscribes a {@link MetricConsumer} using a new Kafka consumer polled by
+   * its own thread.
+   *
+   * @param consumer
+   *     the consumer
+   */
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) {
+    subscribe(record -> consumer.consume(deserialize(record)));
+  }
+
+  /**
+   * Subscribes a {@link MetricPipeline} using a new Kafka consumer polled by
+   * its own thread.
+   *
+   * @param pipeline
+   *     the pipeline
+   */
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) {
+    subscribe(record -> pipeline.submit(() -> deserialize(record)));
+  }
+
+  private void subscribe(RecordHandler handler) {
+    final Subscription subscription = new Subscription(consumers.get(), handler);
+    subscriptions.add(subscription);
+    subscription.thread.start();
+  }
+
+  private TransportableMetric deserialize(ConsumerRecord<String, byte[]> record) throws Exception {
+    return serializer(record.headers()).deserialize(record.value());
+  }
+
+  private Serializer serializer(Headers headers) throws IOException {
+    final Header contentType = headers.lastHeader(CONTENT_TYPE_HEADER);
+    if (null == contentType) {
+      return serializer;
+    }
+
+    final String type = new String(contentType.value(), StandardCharsets.UTF_8);
+    final Serializer deserializer = serializers.get(type);
+    if (null == deserializer) {
+      throw new IOException("No serializer available for content type [" + type + "]");
+    }
+
+    final Header version = headers.lastHeader(FORMAT_VERSION_HEADER);
+    if (null != version
+        && deserializer.formatVersion() < Integer.parseInt(new String(version.value(), StandardCharsets.UTF_8))) {
+      throw new IOException("Unsupported format version for content type [" + type + "]");
+    }
+
+    return deserializer;
+  }
+
+  /**
+   * Flushes any batched records, stops every subscription and closes the
+   * producer.
+   *
+   * @throws InterruptedException
+   *     if interrupted while waiting for the subscriptions to stop
+   */
+  @Override
+  public void close() throws InterruptedException {
+    producer.close();
+    for (Subscription subscription : subscriptions) {
+      subscription.close();
+    }
+  }
+
+  @FunctionalInterface
+  private interface RecordHandler {
+    void handle(ConsumerRecord<String, byte[]> record) throws Exception;
+  }
+
+  private class Subscription {
+    private final Consumer<String, byte[]> consumer;
+    private final RecordHandler            handler;
+    private final Thread                   thread;
+
+    private volatile boolean isRunning = true;
+
+    private Subscription(Consumer<String, byte[]> consumer, RecordHandler handler) {
+      this.consumer = consumer;
+      this.handler = handler;
+      this.thread = new Thread(this::poll, "metrics-kafka-consumer-" + threads.incrementAndGet());
+      this.thread.setDaemon(true);
+    }
+
+    private void poll() {
+      try {
+        consumer.subscribe(ImmutableList.of(topic));
+        while (isRunning) {
+          for (ConsumerRecord<String, byte[]> record : consumer.poll(pollTimeout)) {
+            try {
+              handler.handle(record);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            } catch (Exception e) {
+              log.error("Unable to consume metric [{}].", record.key(), e);
+            }
+          }
+        }
+      } catch (WakeupException e) {
+        log.debug("Kafka consumer woken up to close.");
+      } finally {
+        consumer.close();
+      }
+    }
+
+    private void close() throws InterruptedException {
+      isRunning = false;
+      consumer.wakeup();
+      thread.join();
+    }
+  }
+
+  /**
+   * {@link KafkaClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private String bootstrapServers = "localhost:9092";
+    private String topic            = "metrics-kafka";
+    private String groupId          = "metrics-kafka";
+
+    private int    lingerMs        = 5;
+    private int    batchSize       = 64 * 1024;
+    private String acks            = "1";
+    private String compressionType = "none";
+
+    private Duration            pollTimeout = Duration.ofMillis(100);
+    private Map<String, Object> properties  = ImmutableMap.of();
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    public Builder bootstrapServers(String bootstrapServers) {
+      this.bootstrapServers = bootstrapServers;
+      return this;
+    }
+
+    public Builder topic(String topic) {
+      this.topic = topic;
+      return this;
+    }
+
+    /**
+     * The consumer group, consumers sharing a group split the topic's
+     * partitions between them.
+     *
+     * @param groupId
+     *     the consumer group id
+     * @return the builder
+     */
+    public Builder groupId(String groupId) {
+      this.groupId = groupId;
+      return this;
+    }
+
+    /**
+     * How long the producer waits for more records before sending a batch.
+     *
+     * @param lingerMs
+     *     the linger in milliseconds
+     * @return the builder
+     */
+    public Builder lingerMs(int lingerMs) {
+      this.lingerMs = lingerMs;
+      return this;
+    }
+
+    /**
+     * The maximum size in bytes of a batch sent to a single partition.
+     *
+     * @param batchSize
+     *     the batch size in bytes
+     * @return the builder
+     */
+    public Builder batchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    public Builder acks(String acks) {
+      this.acks = acks;
+      return this;
+    }
+
+    /**
+     * The compression applied by the producer to each batch, one of
+     * {@code none}, {@code gzip}, {@code snappy}, {@code lz4} or
+     * {@code zstd}.
+     *
+     * @param compressionType
+     *     the compression type
+     * @return the builder
+     */
+    public Builder compressionType(String compressionType) {
+      this.compressionType = compressionType;
+      return this;
+    }
+
+    public Builder pollTimeout(Duration pollTimeout) {
+      this.pollTimeout = pollTimeout;
+      return this;
+    }
+
+    /**
+     * Additional producer and consumer configuration, overriding the
+     * builder's settings.
+     *
+     * @param properties
+     *     the Kafka configuration
+     * @return the builder
+     */
+    public Builder properties(Map<String, Object> properties) {
+      this.properties = properties;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish with, such as an opt-in format the
+     * {@link SerializerFactory} never selects by itself.  Consumers still
+     * pick the serializer matching each message's content type.  Defaults to
+     * the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link KafkaClient}.
+     *
+     * @return the {@link KafkaClient}
+     * @throws IOException
+     *     if there is an issue finding the serializers
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public KafkaClient build() throws IOException, InstantiationException, IllegalAccessException {
+      final SerializerFactory factory = null == serializerBasePackage ? new SerializerFactory()
+          : new SerializerFactory(serializerBasePackage);
+      final Serializer selected = null != serializer ? serializer : factory.serializer();
+      final Supplier<Consumer<String, byte[]>> consumers = () -> new KafkaConsumer<>(
+          consumerConfig(), new StringDeserializer(), new ByteArrayDeserializer());
+      return new KafkaClient(new KafkaProducer<>(producerConfig(), new StringSerializer(), new ByteArraySerializer()),
+                             consumers, this, selected, factory.serializers()
+      );
+    }
+
+    private Map<String, Object> producerConfig() {
+      final Map<String, Object> config = new HashMap<>();
+      config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+      config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+      config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+      config.put(ProducerConfig.ACKS_CONFIG, acks);
+      config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+      config.putAll(properties);
+      return config;
+    }
+
+    private Map<String, Object> consumerConfig() {
+      final Map<String, Object> config = new HashMap<>();
+      config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+      config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+      config.putAll(properties);
+      return config;
+    }
+  }
+}
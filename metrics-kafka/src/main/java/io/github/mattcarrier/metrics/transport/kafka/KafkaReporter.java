@@ -0,0 +1,94 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.kafka;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableFactory;
+import io.github.mattcarrier.metrics.transport.spi.TransportReporter;
+
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes all metrics to Apache Kafka.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class KafkaReporter extends TransportReporter {
+  protected KafkaReporter(Builder bldr, KafkaClient kafka) {
+    super("kafka-reporter", bldr.reporter, kafka);
+  }
+
+  /**
+   * Builder for {@link KafkaReporter}.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private final TransportReporter.Builder reporter;
+
+    public Builder(MetricRegistry registry) {
+      this.reporter = new TransportReporter.Builder(registry);
+    }
+
+    public Builder filter(MetricFilter filter) {
+      reporter.filter(filter);
+      return this;
+    }
+
+    public Builder rateUnit(TimeUnit rateUnit) {
+      reporter.rateUnit(rateUnit);
+      return this;
+    }
+
+    public Builder durationUnit(TimeUnit durationUnit) {
+      reporter.durationUnit(durationUnit);
+      return this;
+    }
+
+    public Builder clock(Clock clock) {
+      reporter.clock(clock);
+      return this;
+    }
+
+    public Builder factory(TransportableFactory factory) {
+      reporter.factory(factory);
+      return this;
+    }
+
+    public Builder metricMeta(Map<String, Object> metricMeta) {
+      reporter.metricMeta(metricMeta);
+      return this;
+    }
+
+    /**
+     * Builds the {@link KafkaReporter}.
+     *
+     * @param kafka
+     *     the {@link KafkaClient}
+     * @return the {@link KafkaReporter}
+     */
+    public KafkaReporter build(KafkaClient kafka) {
+      return new KafkaReporter(this, kafka);
+    }
+  }
+}
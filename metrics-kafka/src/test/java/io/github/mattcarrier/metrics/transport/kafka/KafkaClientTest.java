@@ -0,0 +1,120 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link KafkaClient}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class KafkaClientTest {
+  private static final TopicPartition PARTITION = new TopicPartition("metrics-kafka", 0);
+
+  private final TransportableMetric metric = new TransportableMetric("jvm.memory.heap", ZonedDateTime.now(),
+                                                                     ImmutableSet.of()
+  );
+
+  private final MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(),
+                                                                            new ByteArraySerializer()
+  );
+  private final MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+  @Test
+  public void publishKeyedByName() throws Exception {
+    final KafkaClient client = client();
+    client.publish(metric);
+    client.close();
+
+    final ProducerRecord<String, byte[]> record = producer.history().get(0);
+    assertEquals("metrics-kafka", record.topic());
+    assertEquals("jvm.memory.heap", record.key());
+    assertEquals("application/x-java-serialized-object", new String(
+        record.headers().lastHeader(KafkaClient.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+    assertEquals(metric, new JavaSerializer().deserialize(record.value()));
+  }
+
+  @Test
+  public void roundTrip() throws Exception {
+    final KafkaClient client = client();
+    client.publish(metric);
+    final ProducerRecord<String, byte[]> published = producer.history().get(0);
+
+    consumer.updateBeginningOffsets(ImmutableMap.of(PARTITION, 0L));
+    consumer.schedulePollTask(() -> {
+      consumer.rebalance(ImmutableList.of(PARTITION));
+      consumer.addRecord(new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), 0L, 0L,
+                                              TimestampType.CREATE_TIME, 0, published.value().length,
+                                              published.key(), published.value(), published.headers(),
+                                              Optional.empty()
+      ));
+    });
+
+    final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+    final CountDownLatch latch = new CountDownLatch(1);
+    client.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.add(metric);
+        latch.countDown();
+        return metric;
+      }
+    });
+
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    client.close();
+    assertEquals(ImmutableList.of(metric), consumed);
+    assertTrue(consumer.closed());
+  }
+
+  private KafkaClient client() {
+    final Serializer java = new JavaSerializer();
+    return new KafkaClient(producer, () -> consumer, new KafkaClient.Builder(), java,
+                           ImmutableMap.of(java.contentType(), java)
+    );
+  }
+}
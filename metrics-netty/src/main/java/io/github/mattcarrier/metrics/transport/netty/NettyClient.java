@@ -0,0 +1,482 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.netty;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.FrameConsumer;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client for streaming {@link TransportableMetric}s over a persistent TCP
+ * connection using <a href="https://netty.io/">Netty</a>.  Each metric is
+ * written as a 4 byte length followed by the serialized metric, a published
+ * batch is serialized into a single pooled direct buffer.  Subscribing starts
+ * a server which slices the frames out of the received stream without copying
+ * and decodes them in place for consumers.  Frames are handed to consumers on
+ * a separate group of consumer threads, each connection on a single thread to
+ * keep its order, so slow consumers and blocked {@link MetricPipeline}s do not
+ * stall the event loop.  Once too many frames of a connection are waiting for
+ * its consumer thread the server stops reading from it until they drain, so
+ * TCP pushes back on the producer.
+ *
+ * <p>The connection is blocked while its outbound buffer is above the high
+ * water mark, letting the
+ * {@link io.github.mattcarrier.metrics.transport.spi.TransportReporter} apply
+ * its {@link io.github.mattcarrier.metrics.transport.spi.BlockedPolicy}
+ * instead of buffering without bound.  Producers and consumers must use the
+ * same {@link Serializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class NettyClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(NettyClient.class);
+
+  private static final AttributeKey<AtomicInteger> PENDING = AttributeKey.valueOf(NettyClient.class, "pending");
+
+  private final SocketAddress        target;
+  private final SocketAddress        bindAddress;
+  private final int                  maxFrameLength;
+  private final WriteBufferWaterMark waterMark;
+  private final int                  lowPendingFrames;
+  private final int                  highPendingFrames;
+  private final Serializer           serializer;
+  private final EventLoopGroup       group;
+  private final EventExecutorGroup   consumers;
+
+  private final List<FrameConsumer> subscribers = new CopyOnWriteArrayList<>();
+
+  private Channel channel;
+  private Channel serverChannel;
+
+  protected NettyClient(Builder bldr, Serializer serializer) {
+    this.target = new InetSocketAddress(bldr.host, bldr.port);
+    this.bindAddress = new InetSocketAddress(bldr.bindHost, null == bldr.bindPort ? bldr.port : bldr.bindPort);
+    this.maxFrameLength = bldr.maxFrameLength;
+    this.waterMark = new WriteBufferWaterMark(bldr.lowWaterMark, bldr.highWaterMark);
+    this.lowPendingFrames = bldr.lowPendingFrames;
+    this.highPendingFrames = bldr.highPendingFrames;
+    this.serializer = serializer;
+    this.group = new NioEventLoopGroup(bldr.threads);
+    this.consumers = new DefaultEventExecutorGroup(bldr.consumerThreads,
+                                                   new DefaultThreadFactory("metrics-netty-consumer", true));
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric}.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    publish(ImmutableList.of(metric));
+  }
+
+  /**
+   * Publishes a batch of {@link TransportableMetric}s as length prefixed
+   * frames serialized straight into a single pooled direct buffer.  The
+   * connection is (re-)established if needed.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  @Override
+  public void publish(Collection<TransportableMetric> metrics) {
+    final Channel ch = connect();
+    final ByteBuf frames = ch.alloc().directBuffer();
+    try (final ByteBufOutputStream out = new ByteBufOutputStream(frames)) {
+      for (TransportableMetric metric : metrics) {
+        final int lengthIndex = frames.writerIndex();
+        frames.writeInt(0);
+        serializer.serialize(metric, out);
+        frames.setInt(lengthIndex, frames.writerIndex() - lengthIndex - LengthPrefixedFrames.LENGTH_SIZE);
+      }
+    } catch (Exception e) {
+      frames.release();
+      throw new RuntimeException(e);
+    }
+
+    ch.writeAndFlush(frames).addListener((ChannelFutureListener) future -> {
+      if (!future.isSuccess()) {
+        log.error("Unable to publish metrics.", future.cause());
+      }
+    });
+  }
+
+  private synchronized Channel connect() {
+    if (null != channel && channel.isActive()) {
+      return channel;
+    }
+
+    channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+        .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+        .option(ChannelOption.TCP_NODELAY, true)
+        .option(ChannelOption.SO_KEEPALIVE, true)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark)
+        .handler(new ChannelInboundHandlerAdapter())
+        .connect(target).syncUninterruptibly().channel();
+    return channel;
+  }
+
+  /**
+   * Whether the connection's outbound buffer is above the high water mark.
+   *
+   * @return true if the connection is not writable
+   */
+  @Override
+  public synchronized boolean isBlocked() {
+    return null != channel && channel.isActive() && !channel.isWritable();
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) {
+    subscribe(body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) {
+    subscribe(body -> pipeline.submit(decoder(body)));
+  }
+
+  @Override
+  public synchronized void subscribe(FrameConsumer consumer) {
+    subscribers.add(consumer);
+    if (null != serverChannel) {
+      return;
+    }
+
+    final FlowControl flowControl = new FlowControl();
+    final FrameHandler handler = new FrameHandler();
+    serverChannel = new ServerBootstrap().group(group).channel(NioServerSocketChannel.class)
+        .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(SocketChannel ch) {
+            ch.attr(PENDING).set(new AtomicInteger());
+            ch.pipeline()
+                .addLast(new LengthFieldBasedFrameDecoder(maxFrameLength, 0, LengthPrefixedFrames.LENGTH_SIZE, 0,
+                                                          LengthPrefixedFrames.LENGTH_SIZE))
+                .addLast(flowControl)
+                .addLast(consumers, handler);
+          }
+        })
+        .bind(bindAddress).syncUninterruptibly().channel();
+  }
+
+  /**
+   * The local address the server is bound to.
+   *
+   * @return the bound address or null if nothing has subscribed
+   */
+  public synchronized SocketAddress getLocalAddress() {
+    return null == serverChannel ? null : serverChannel.localAddress();
+  }
+
+  /**
+   * Closes the connection and server, waiting for written frames to be
+   * flushed.
+   *
+   * @throws IOException
+   *     never
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (null != channel) {
+      channel.close().syncUninterruptibly();
+    }
+    if (null != serverChannel) {
+      serverChannel.close().syncUninterruptibly();
+    }
+    group.shutdownGracefully(0, 5, TimeUnit.SECONDS).syncUninterruptibly();
+    consumers.shutdownGracefully(0, 5, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  /**
+   * Copies the body, which is only valid while it is being delivered, for the
+   * pipeline to decode later.
+   */
+  private Callable<TransportableMetric> decoder(ByteBuffer body) {
+    final byte[] copy = new byte[body.remaining()];
+    body.get(copy);
+    return () -> serializer.deserialize(copy);
+  }
+
+  /**
+   * Counts the frames of a connection handed to its consumer thread on the
+   * event loop, and stops reading from the connection above the high water
+   * mark.
+   */
+  @Sharable
+  private class FlowControl extends ChannelInboundHandlerAdapter {
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      final AtomicInteger pending = ctx.channel().attr(PENDING).get();
+      if (highPendingFrames < pending.incrementAndGet() && ctx.channel().config().isAutoRead()) {
+        ctx.channel().config().setAutoRead(false);
+        // the consumer thread may have drained below the low water mark before reading was stopped
+        if (lowPendingFrames >= pending.get()) {
+          ctx.channel().config().setAutoRead(true);
+        }
+      }
+      ctx.fireChannelRead(msg);
+    }
+  }
+
+  @Sharable
+  private class FrameHandler extends SimpleChannelInboundHandler<ByteBuf> {
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) throws Exception {
+      try {
+        final ByteBuffer body = frame.nioBuffer();
+        for (FrameConsumer subscriber : subscribers) {
+          try {
+            subscriber.consume(body.duplicate());
+          } catch (InterruptedException e) {
+            throw e;
+          } catch (Exception e) {
+            log.error("Unable to consume metric.", e);
+          }
+        }
+      } finally {
+        if (lowPendingFrames >= ctx.channel().attr(PENDING).get().decrementAndGet()
+            && !ctx.channel().config().isAutoRead()) {
+          ctx.channel().config().setAutoRead(true);
+        }
+      }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      log.error("Closing metric stream from [{}].", ctx.channel().remoteAddress(), cause);
+      ctx.close();
+    }
+  }
+
+  /**
+   * {@link NettyClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private String  host     = "localhost";
+    private int     port     = 9126;
+    private String  bindHost = "0.0.0.0";
+    private Integer bindPort = null;
+    private int     threads  = 0;
+
+    private int consumerThreads = Runtime.getRuntime().availableProcessors();
+
+    private int maxFrameLength    = 1024 * 1024;
+    private int lowWaterMark      = 32 * 1024;
+    private int highWaterMark     = 64 * 1024;
+    private int lowPendingFrames  = 512;
+    private int highPendingFrames = 1024;
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    public Builder host(String host) {
+      this.host = host;
+      return this;
+    }
+
+    public Builder port(int port) {
+      this.port = port;
+      return this;
+    }
+
+    public Builder bindHost(String bindHost) {
+      this.bindHost = bindHost;
+      return this;
+    }
+
+    /**
+     * The port the server binds to.  Defaults to the port published to.
+     *
+     * @param bindPort
+     *     the port to bind to
+     * @return the builder
+     */
+    public Builder bindPort(int bindPort) {
+      this.bindPort = bindPort;
+      return this;
+    }
+
+    /**
+     * The number of event loop threads.  Defaults to Netty's default.
+     *
+     * @param threads
+     *     the number of threads
+     * @return the builder
+     */
+    public Builder threads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * The number of threads handing received metrics to consumers.  Defaults
+     * to the number of available processors.
+     *
+     * @param consumerThreads
+     *     the number of consumer threads
+     * @return the builder
+     */
+    public Builder consumerThreads(int consumerThreads) {
+      this.consumerThreads = consumerThreads;
+      return this;
+    }
+
+    /**
+     * The largest serialized metric accepted by the server.
+     *
+     * @param maxFrameLength
+     *     the maximum frame length in bytes
+     * @return the builder
+     */
+    public Builder maxFrameLength(int maxFrameLength) {
+      this.maxFrameLength = maxFrameLength;
+      return this;
+    }
+
+    /**
+     * The outbound buffer sizes at which the connection becomes blocked and
+     * unblocked again.
+     *
+     * @param lowWaterMark
+     *     the size in bytes at which the connection is unblocked
+     * @param highWaterMark
+     *     the size in bytes at which the connection is blocked
+     * @return the builder
+     */
+    public Builder waterMarks(int lowWaterMark, int highWaterMark) {
+      this.lowWaterMark = lowWaterMark;
+      this.highWaterMark = highWaterMark;
+      return this;
+    }
+
+    /**
+     * The numbers of received frames waiting for a connection's consumer
+     * thread at which the server reads from the connection again and at which
+     * it stops reading.  Defaults to 512 and 1024.
+     *
+     * @param lowPendingFrames
+     *     the number of pending frames at which reading resumes
+     * @param highPendingFrames
+     *     the number of pending frames at which reading stops
+     * @return the builder
+     */
+    public Builder pendingFrames(int lowPendingFrames, int highPendingFrames) {
+      this.lowPendingFrames = lowPendingFrames;
+      this.highPendingFrames = highPendingFrames;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link NettyClient}.
+     *
+     * @return the {@link NettyClient}
+     * @throws IOException
+     *     if there is an issue finding the serializers
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public NettyClient build() throws IOException, InstantiationException, IllegalAccessException {
+      if (0 > lowPendingFrames || lowPendingFrames >= highPendingFrames) {
+        throw new IllegalArgumentException("pending frames must satisfy 0 <= low < high");
+      }
+
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+      return new NettyClient(this, selected);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link NettyClient}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class NettyClientTest {
+  private final List<TransportableMetric> published = IntStream.range(0, 200)
+      .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+      .collect(Collectors.toList());
+
+  private final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+  private final CountDownLatch            latch    = new CountDownLatch(published.size());
+  private final Set<String>               threads  = ConcurrentHashMap.newKeySet();
+
+  private NettyClient server;
+
+  @Before
+  public void subscribe() throws Exception {
+    server = new NettyClient.Builder().bindHost("127.0.0.1").bindPort(0).build();
+    server.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.add(metric);
+        threads.add(Thread.currentThread().getName());
+        latch.countDown();
+        return metric;
+      }
+    });
+  }
+
+  @After
+  public void close() throws Exception {
+    server.close();
+  }
+
+  @Test
+  public void streamed() throws Exception {
+    try (final NettyClient client = client()) {
+      client.publish(published.subList(0, 100));
+      published.subList(100, published.size()).forEach(client::publish);
+
+      // writes are flushed by the event loop, so the outbound buffer may be briefly above the high water mark
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertFalse(client.isBlocked());
+    }
+
+    assertEquals(published, consumed);
+    assertTrue(threads.stream().allMatch(thread -> thread.startsWith("metrics-netty-consumer")));
+  }
+
+  @Test
+  public void slowConsumerBlocksProducer() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger received = new AtomicInteger();
+    int sent = 0;
+    try (final NettyClient collector = new NettyClient.Builder().bindHost("127.0.0.1").bindPort(0)
+        .pendingFrames(4, 8).build()) {
+      collector.subscribe(new DefaultMetricConsumer() {
+        @Override
+        protected TransportableMetric postConvert(TransportableMetric metric) {
+          Uninterruptibles.awaitUninterruptibly(release);
+          received.incrementAndGet();
+          return metric;
+        }
+      });
+
+      try (final NettyClient client = new NettyClient.Builder().host("127.0.0.1")
+          .port(((InetSocketAddress) collector.getLocalAddress()).getPort()).threads(1).waterMarks(1024, 2048)
+          .build()) {
+        try {
+          // the producer only stays blocked once the collector stops reading
+          final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+          long blockedSince = 0L;
+          while (System.nanoTime() < timeout && !blocked(blockedSince)) {
+            if (client.isBlocked()) {
+              blockedSince = 0L == blockedSince ? System.nanoTime() : blockedSince;
+              Thread.sleep(10);
+            } else {
+              blockedSince = 0L;
+              client.publish(published);
+              sent += published.size();
+            }
+          }
+
+          assertTrue(blocked(blockedSince));
+        } finally {
+          release.countDown();
+        }
+
+        final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.get() < sent && System.nanoTime() < timeout) {
+          Thread.sleep(10);
+        }
+      }
+    }
+
+    assertEquals(sent, received.get());
+  }
+
+  private static boolean blocked(long blockedSince) {
+    return 0L != blockedSince && System.nanoTime() - blockedSince > TimeUnit.MILLISECONDS.toNanos(500);
+  }
+
+  private NettyClient client() throws Exception {
+    return new NettyClient.Builder().host("127.0.0.1")
+        .port(((InetSocketAddress) server.getLocalAddress()).getPort()).threads(1).build();
+  }
+}
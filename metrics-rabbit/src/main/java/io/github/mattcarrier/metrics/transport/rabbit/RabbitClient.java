@@ -17,24 +17,40 @@
 package io.github.mattcarrier.metrics.transport.rabbit;
 
 import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
 import io.github.mattcarrier.metrics.transport.serialization.Serializer;
 import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.compression.Compressor;
+import io.github.mattcarrier.metrics.transport.serialization.compression.CompressorFactory;
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.AMQP.BasicProperties;
+import com.rabbitmq.client.BlockedListener;
+import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.DefaultConsumer;
 import com.rabbitmq.client.Envelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * RabbitMQ Client.
@@ -42,38 +58,156 @@ import java.util.concurrent.TimeoutException;
  * @author mattcarrier
  * @since Apr 3, 2017
  */
-public class RabbitClient {
+public class RabbitClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(RabbitClient.class);
+
+  /**
+   * Message header carrying the {@link Serializer#formatVersion()}.
+   */
+  public static final String FORMAT_VERSION_HEADER = "x-format-version";
+
+  private static final String SUBSCRIPTION_TAG = "metrics-transport-";
+
   private final Connection conn;
   private final Channel    channel;
+  private final String     exchange;
   private final String     queueName;
   private final Serializer serializer;
 
+  private final ImmutableMap<String, Serializer> serializers;
+
+  private final ShardRouter           shards;
+  private final ImmutableList<String> consumeQueues;
+
+  private final Compressor                       compressor;
+  private final int                              compressionThreshold;
+  private final ImmutableMap<String, Compressor> compressors;
+  private final BasicProperties                  properties;
+  private final BasicProperties                  compressedProperties;
+  private final AtomicInteger                    subscriptions = new AtomicInteger();
+
+  private long            blockedNanos  = 0L;
+  private long            blockedSince  = 0L;
+  private volatile String blockedReason = null;
+
   protected RabbitClient(Connection conn, Channel channel, String queueName, Serializer serializer) {
+    this(conn, channel, new Builder().queue(queueName), serializer, ImmutableMap.of(), ImmutableMap.of());
+  }
+
+  /**
+   * Creates a {@link RabbitClient} configured by the given {@link Builder}.
+   *
+   * @param conn
+   *     the connection
+   * @param channel
+   *     the channel
+   * @param bldr
+   *     the builder
+   * @param serializer
+   *     the serializer used for publishing
+   * @param serializers
+   *     the available serializers by content type
+   * @param compressors
+   *     the available compressors by content encoding
+   */
+  protected RabbitClient(Connection conn, Channel channel, Builder bldr, Serializer serializer,
+                         Map<String, Serializer> serializers, Map<String, Compressor> compressors) {
     this.conn = conn;
     this.channel = channel;
-    this.queueName = queueName;
+    this.exchange = bldr.exchange;
+    this.queueName = bldr.queue;
     this.serializer = serializer;
+
+    final Map<String, Serializer> deserializers = new HashMap<>(serializers);
+    deserializers.put(serializer.contentType(), serializer);
+    this.serializers = ImmutableMap.copyOf(deserializers);
+    this.shards = bldr.router();
+    this.consumeQueues = ImmutableList.copyOf(bldr.consumeQueues(shards));
+    this.compressor = bldr.compressor;
+    this.compressionThreshold = bldr.compressionThreshold;
+
+    final Map<String, Compressor> available = new HashMap<>(compressors);
+    bldr.decompressors.forEach(decompressor -> available.put(decompressor.encoding(), decompressor));
+    if (null != compressor) {
+      available.put(compressor.encoding(), compressor);
+    }
+
+    this.compressors = ImmutableMap.copyOf(available);
+    this.properties = new BasicProperties.Builder().type(TransportType.TRANSPORTABLE_METRIC.getType())
+        .contentType(serializer.contentType())
+        .headers(ImmutableMap.of(FORMAT_VERSION_HEADER, serializer.formatVersion())).build();
+    this.compressedProperties = null == compressor ? properties
+        : properties.builder().contentEncoding(compressor.encoding()).build();
+
+    conn.addBlockedListener(new BlockedListener() {
+      @Override
+      public void handleBlocked(String reason) {
+        blocked(reason);
+      }
+
+      @Override
+      public void handleUnblocked() {
+        unblocked();
+      }
+    });
   }
 
   /**
-   * Publishes a {@link TransportableMetric} to RabbitMQ.
+   * Publishes a {@link TransportableMetric} to RabbitMQ.  When sharded the
+   * metric is routed to the shard queue owning its name, when publishing to
+   * the default exchange the metric is routed directly to the queue,
+   * otherwise the metric name is used as the routing key.
    *
    * @param metric
    *     the {@link TransportableMetric} to publish
    */
+  @Override
   public void publish(TransportableMetric metric) {
+    if (null != shards) {
+      publish(metric, shards.queue(metric.getName()));
+    } else {
+      publish(metric, exchange.isEmpty() ? queueName : metric.getName());
+    }
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric} to the configured exchange using
+   * the given routing key.  Serialized metrics at or above the compression
+   * threshold are compressed and published with the compressor's content
+   * encoding.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   * @param routingKey
+   *     the routing key
+   */
+  public void publish(TransportableMetric metric, String routingKey) {
     try {
-      channel.basicPublish("", queueName,
-                           new BasicProperties.Builder().type(TransportType.TRANSPORTABLE_METRIC.getType()).build(),
-                           serializer.serialize(metric)
-      );
+      final byte[] body = serializer.serialize(metric);
+      if (null == compressor || compressionThreshold > body.length) {
+        channel.basicPublish(exchange, routingKey, properties, body);
+      } else {
+        channel.basicPublish(exchange, routingKey, compressedProperties, compressor.compress(body));
+      }
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
 
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) throws IOException {
+    consume(SUBSCRIPTION_TAG + subscriptions.incrementAndGet(), consumer);
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) throws IOException {
+    consume(SUBSCRIPTION_TAG + subscriptions.incrementAndGet(), pipeline);
+  }
+
   /**
-   * Registers a {@link TransportableMetric} consumer with RabbitMQ.
+   * Registers a {@link TransportableMetric} consumer with RabbitMQ.  When
+   * sharded the consumer is registered with every claimed shard queue using
+   * the consumer tag suffixed with the shard queue name.
    *
    * @param consumerTag
    *     the consumer tag
@@ -83,12 +217,47 @@ public class RabbitClient {
    *     if there are any issues handling the deliveries
    */
   public <T> void consume(String consumerTag, MetricConsumer<T> consumer) throws IOException {
-    channel.basicConsume(queueName, true, consumerTag, new DefaultConsumer(channel) {
+    if (null == shards) {
+      consume(queueName, consumerTag, consumer);
+      return;
+    }
+
+    for (String queue : consumeQueues) {
+      consume(queue, consumerTag + "-" + queue, consumer);
+    }
+  }
+
+  /**
+   * Registers a {@link MetricPipeline} with RabbitMQ so that deliveries are
+   * decoded and consumed off of the connection's dispatch thread.  When
+   * sharded the pipeline is registered with every claimed shard queue using
+   * the consumer tag suffixed with the shard queue name.
+   *
+   * @param consumerTag
+   *     the consumer tag
+   * @param pipeline
+   *     the pipeline
+   * @throws IOException
+   *     if there are any issues handling the deliveries
+   */
+  public <T> void consume(String consumerTag, MetricPipeline<T> pipeline) throws IOException {
+    if (null == shards) {
+      consume(queueName, consumerTag, pipeline);
+      return;
+    }
+
+    for (String queue : consumeQueues) {
+      consume(queue, consumerTag + "-" + queue, pipeline);
+    }
+  }
+
+  private <T> void consume(String queue, String consumerTag, MetricConsumer<T> consumer) throws IOException {
+    channel.basicConsume(queue, true, consumerTag, new DefaultConsumer(channel) {
       @Override
       public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties, byte[] body)
           throws IOException {
         try {
-          consumer.consume(serializer.deserialize(body));
+          consumer.consume(deserialize(properties, body));
         } catch (Exception e) {
           throw new IOException(e);
         }
@@ -96,6 +265,108 @@ public class RabbitClient {
     });
   }
 
+  private <T> void consume(String queue, String consumerTag, MetricPipeline<T> pipeline) throws IOException {
+    channel.basicConsume(queue, true, consumerTag, new DefaultConsumer(channel) {
+      @Override
+      public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties, byte[] body)
+          throws IOException {
+        try {
+          pipeline.submit(() -> deserialize(properties, body));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+    });
+  }
+
+  private TransportableMetric deserialize(BasicProperties properties, byte[] body) throws Exception {
+    return serializer(properties).deserialize(decompress(properties.getContentEncoding(), body));
+  }
+
+  private Serializer serializer(BasicProperties properties) throws IOException {
+    final String contentType = properties.getContentType();
+    if (null == contentType) {
+      return serializer;
+    }
+
+    final Serializer deserializer = serializers.get(contentType);
+    if (null == deserializer) {
+      throw new IOException("No serializer available for content type [" + contentType + "]");
+    }
+
+    final Object version = null == properties.getHeaders() ? null : properties.getHeaders().get(FORMAT_VERSION_HEADER);
+    if (version instanceof Number && deserializer.formatVersion() < ((Number) version).intValue()) {
+      throw new IOException("Unsupported format version [" + version + "] for content type [" + contentType + "]");
+    }
+
+    return deserializer;
+  }
+
+  private byte[] decompress(String encoding, byte[] body) throws Exception {
+    if (null == encoding) {
+      return body;
+    }
+
+    final Compressor decompressor = compressors.get(encoding);
+    if (null == decompressor) {
+      throw new IOException("No compressor available for content encoding [" + encoding + "]");
+    }
+
+    return decompressor.decompress(body);
+  }
+
+  private synchronized void blocked(String reason) {
+    log.warn("RabbitMQ connection has been blocked [{}].", reason);
+    if (!isBlocked()) {
+      blockedSince = System.nanoTime();
+    }
+
+    blockedReason = reason;
+  }
+
+  private synchronized void unblocked() {
+    log.info("RabbitMQ connection has been unblocked.");
+    if (isBlocked()) {
+      blockedNanos += System.nanoTime() - blockedSince;
+    }
+
+    blockedReason = null;
+  }
+
+  /**
+   * Whether the broker has blocked publishing on the connection due to a
+   * resource alarm.  Publishing while blocked blocks the publishing thread.
+   *
+   * @return true if the connection is blocked
+   */
+  @Override
+  public boolean isBlocked() {
+    return null != blockedReason;
+  }
+
+  /**
+   * The reason given by the broker for blocking the connection.
+   *
+   * @return the reason or null if the connection is not blocked
+   */
+  public String getBlockedReason() {
+    return blockedReason;
+  }
+
+  /**
+   * The total time the connection has spent blocked, including the current
+   * block.
+   *
+   * @param unit
+   *     the time unit
+   * @return the total blocked time
+   */
+  public synchronized long getBlockedTime(TimeUnit unit) {
+    final long current = isBlocked() ? System.nanoTime() - blockedSince : 0L;
+    return unit.convert(blockedNanos + current, TimeUnit.NANOSECONDS);
+  }
+
   /**
    * Closes the RabbitMQ connection.
    *
@@ -104,6 +375,7 @@ public class RabbitClient {
    * @throws TimeoutException
    *     if there is a timeout when closing the channel or connection
    */
+  @Override
   public void close() throws IOException, TimeoutException {
     channel.close();
     conn.close();
@@ -122,13 +394,25 @@ public class RabbitClient {
     private String port     = "5672";
     private String vhost    = "";
 
+    private String       exchange     = "";
+    private String       exchangeType = BuiltinExchangeType.TOPIC.getType();
+    private List<String> bindingKeys  = ImmutableList.of();
+
     private String              queue        = "metrics-rabbit";
     private boolean             isDurable    = true;
     private boolean             isExclusive  = false;
     private boolean             isAutoDelete = false;
     private Map<String, Object> arguments    = null;
 
-    private String serializerBasePackage = null;
+    private int           shards        = 1;
+    private List<Integer> claimedShards = null;
+
+    private Compressor       compressor           = null;
+    private int              compressionThreshold = 512;
+    private List<Compressor> decompressors        = ImmutableList.of();
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
 
     public Builder username(String username) {
       this.username = username;
@@ -155,6 +439,39 @@ public class RabbitClient {
       return this;
     }
 
+    /**
+     * Publishes to and binds the queue to the given exchange rather than the
+     * default exchange.
+     *
+     * @param exchange
+     *     the exchange name
+     * @return the builder
+     */
+    public Builder exchange(String exchange) {
+      this.exchange = exchange;
+      return this;
+    }
+
+    public Builder exchangeType(String exchangeType) {
+      this.exchangeType = exchangeType;
+      return this;
+    }
+
+    /**
+     * The routing patterns used to bind the queue to the exchange, e.g.
+     * {@code jvm.#}.  Only applies when an exchange has been configured, in
+     * which case the queue is only declared and bound when binding keys are
+     * given, so publishers do not bind a queue they never consume.
+     *
+     * @param bindingKeys
+     *     the binding keys
+     * @return the builder
+     */
+    public Builder bindingKeys(String... bindingKeys) {
+      this.bindingKeys = ImmutableList.copyOf(bindingKeys);
+      return this;
+    }
+
     public Builder queue(String queue) {
       this.queue = queue;
       return this;
@@ -180,6 +497,96 @@ public class RabbitClient {
       return this;
     }
 
+    /**
+     * Spreads metrics across the given number of queues named
+     * {@code queue.N}, routing each metric by a consistent hash of its name.
+     * An explicit routing key passed to
+     * {@link RabbitClient#publish(TransportableMetric, String)} bypasses the
+     * sharding.
+     *
+     * @param shards
+     *     the number of shard queues
+     * @return the builder
+     */
+    public Builder shards(int shards) {
+      this.shards = shards;
+      return this;
+    }
+
+    /**
+     * The shards this client consumes from, each between zero and the number
+     * of {@link #shards(int)}.  Defaults to all shards.
+     *
+     * @param claimedShards
+     *     the shard indexes to consume
+     * @return the builder
+     */
+    public Builder claimShards(Integer... claimedShards) {
+      this.claimedShards = ImmutableList.copyOf(claimedShards);
+      return this;
+    }
+
+    /**
+     * Compresses published metrics, consumers decompress any supported
+     * content encoding regardless of this setting.
+     *
+     * @param compressor
+     *     the {@link Compressor}
+     * @return the builder
+     */
+    public Builder compressor(Compressor compressor) {
+      this.compressor = compressor;
+      return this;
+    }
+
+    /**
+     * The serialized size in bytes below which published metrics are left
+     * uncompressed.
+     *
+     * @param compressionThreshold
+     *     the compression threshold in bytes
+     * @return the builder
+     */
+    public Builder compressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+      return this;
+    }
+
+    /**
+     * Additional compressors, such as a dictionary compressor, used to
+     * decompress consumed metrics alongside those found on the classpath.
+     *
+     * @param decompressors
+     *     the compressors
+     * @return the builder
+     */
+    public Builder decompressors(Compressor... decompressors) {
+      this.decompressors = ImmutableList.copyOf(decompressors);
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish with, such as an opt-in format the
+     * {@link SerializerFactory} never selects by itself.  Consumers still
+     * pick the serializer matching each message's content type.  Defaults to
+     * the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers and compressors.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
     public Builder serializerBasePackage(String serializerBasePackage) {
       this.serializerBasePackage = serializerBasePackage;
       return this;
@@ -203,18 +610,76 @@ public class RabbitClient {
      *     if there is an issue creating the serializer
      * @throws IllegalAccessException
      *     if there is an issue creating the serializer
+     * @throws IllegalArgumentException
+     *     if a claimed shard is out of range
      */
     public RabbitClient build() throws KeyManagementException, NoSuchAlgorithmException, URISyntaxException,
         IOException, TimeoutException, InstantiationException, IllegalAccessException {
+      if (null != claimedShards) {
+        for (Integer shard : claimedShards) {
+          Preconditions.checkArgument(null != shard && 0 <= shard && shard < shards,
+                                      "claimed shard [%s] must be between 0 and [%s]", shard, shards);
+        }
+      }
+
       final ConnectionFactory factory = new ConnectionFactory();
       factory.setUri(buildConnectionUri());
       final Connection conn = factory.newConnection();
       final Channel channel = conn.createChannel();
+      declare(channel);
 
-      channel.queueDeclare(queue, isDurable, isExclusive, isAutoDelete, arguments);
       final SerializerFactory serializerFactory = null == serializerBasePackage ? new SerializerFactory()
           : new SerializerFactory(serializerBasePackage);
-      return new RabbitClient(conn, channel, queue, serializerFactory.serializer());
+      final CompressorFactory compressorFactory = null == serializerBasePackage ? new CompressorFactory()
+          : new CompressorFactory(serializerBasePackage);
+      final Serializer selected = null != serializer ? serializer : serializerFactory.serializer();
+      return new RabbitClient(conn, channel, this, selected, serializerFactory.serializers(),
+                              compressorFactory.compressors()
+      );
+    }
+
+    /**
+     * Declares the exchange and queues.  Without an exchange the queue is
+     * always declared as metrics are published straight to it, with an
+     * exchange it is only declared when binding keys are given.  Shard queues
+     * are always declared and bound by their names.
+     */
+    void declare(Channel channel) throws IOException {
+      if (!exchange.isEmpty()) {
+        channel.exchangeDeclare(exchange, exchangeType, isDurable);
+      }
+
+      final ShardRouter router = router();
+      if (null != router) {
+        for (String shard : router.queues()) {
+          declare(channel, shard, ImmutableList.of(shard));
+        }
+      } else if (exchange.isEmpty() || !bindingKeys.isEmpty()) {
+        declare(channel, queue, bindingKeys);
+      }
+    }
+
+    private void declare(Channel channel, String queue, List<String> bindingKeys) throws IOException {
+      channel.queueDeclare(queue, isDurable, isExclusive, isAutoDelete, arguments);
+      if (!exchange.isEmpty()) {
+        for (String bindingKey : bindingKeys) {
+          channel.queueBind(queue, exchange, bindingKey);
+        }
+      }
+    }
+
+    private ShardRouter router() {
+      return 1 < shards ? new ShardRouter(queue, shards) : null;
+    }
+
+    private List<String> consumeQueues(ShardRouter router) {
+      if (null == router) {
+        return ImmutableList.of(queue);
+      } else if (null == claimedShards) {
+        return router.queues();
+      }
+
+      return claimedShards.stream().map(router::queue).collect(Collectors.toList());
     }
 
     private String buildConnectionUri() {
@@ -16,22 +16,20 @@
 
 package io.github.mattcarrier.metrics.transport.rabbit;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.BlockedPolicy;
+import io.github.mattcarrier.metrics.transport.spi.TransportReporter;
 
-import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
-import com.codahale.metrics.Histogram;
-import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.ScheduledReporter;
-import com.codahale.metrics.Timer;
-import com.google.common.collect.ImmutableMap;
 
 import java.time.Clock;
-import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,33 +38,45 @@ import java.util.concurrent.TimeUnit;
  * @author mattcarrier
  * @since Apr 4, 2017
  */
-public class RabbitReporter extends ScheduledReporter {
-  private final RabbitClient                 rabbit;
-  private final Clock                        clock;
-  private final TransportableFactory         factory;
-  private final ImmutableMap<String, Object> metricMeta;
+public class RabbitReporter extends TransportReporter {
+  private final RabbitClient        rabbit;
+  private final RoutingKeyGenerator routingKey;
 
   protected RabbitReporter(MetricRegistry registry, MetricFilter filter, TimeUnit rateUnit, TimeUnit durationUnit,
                            RabbitClient rabbit, Clock clock, TransportableFactory factory,
                            Map<String, Object> metricMeta) {
-    super(registry, "rabbit-reporter", filter, rateUnit, durationUnit);
+    this(new Builder(registry).filter(filter).rateUnit(rateUnit).durationUnit(durationUnit).clock(clock)
+             .factory(factory).metricMeta(metricMeta), rabbit);
+  }
+
+  /**
+   * Creates a {@link RabbitReporter} configured by the given {@link Builder}.
+   *
+   * @param bldr
+   *     the builder
+   * @param rabbit
+   *     the {@link RabbitClient}
+   */
+  protected RabbitReporter(Builder bldr, RabbitClient rabbit) {
+    super("rabbit-reporter", bldr.reporter, rabbit);
     this.rabbit = rabbit;
-    this.clock = clock;
-    this.factory = factory;
-    this.metricMeta = ImmutableMap.copyOf(metricMeta);
+    this.routingKey = bldr.routingKey;
+
+    if (bldr.isBlockedMetricsRegistered) {
+      bldr.reporter.getRegistry().register(name(RabbitReporter.class, "blocked-time"),
+                                           (Gauge<Long>) () -> rabbit.getBlockedTime(TimeUnit.MILLISECONDS)
+      );
+    }
   }
 
   @Override
-  public void report(@SuppressWarnings("rawtypes") SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
-                     SortedMap<String, Histogram> histograms, SortedMap<String, Meter> meters,
-                     SortedMap<String, Timer> timers) {
-    final ZonedDateTime timestamp = ZonedDateTime.now(clock);
-
-    gauges.forEach((key, metric) -> rabbit.publish(factory.convert(key, timestamp, metricMeta, metric)));
-    counters.forEach((key, metric) -> rabbit.publish(factory.convert(key, timestamp, metricMeta, metric)));
-    histograms.forEach((key, metric) -> rabbit.publish(factory.convert(key, timestamp, metricMeta, metric)));
-    meters.forEach((key, metric) -> rabbit.publish(factory.convert(key, timestamp, metricMeta, metric)));
-    timers.forEach((key, metric) -> rabbit.publish(factory.convert(key, timestamp, metricMeta, metric)));
+  protected void publish(List<TransportableMetric> metrics) {
+    if (null == routingKey) {
+      super.publish(metrics);
+      return;
+    }
+
+    metrics.forEach(metric -> rabbit.publish(metric, routingKey.routingKey(metric)));
   }
 
   /**
@@ -76,46 +86,94 @@ public class RabbitReporter extends ScheduledReporter {
    * @since Apr 4, 2017
    */
   public static class Builder {
-    private final MetricRegistry registry;
+    private final TransportReporter.Builder reporter;
 
-    private MetricFilter         filter       = MetricFilter.ALL;
-    private TimeUnit             rateUnit     = TimeUnit.SECONDS;
-    private TimeUnit             durationUnit = TimeUnit.MILLISECONDS;
-    private Clock                clock        = Clock.systemUTC();
-    private TransportableFactory factory      = new TransportableFactory();
-    private Map<String, Object>  metricMeta   = ImmutableMap.of();
+    private RoutingKeyGenerator routingKey                 = null;
+    private boolean             isBlockedMetricsRegistered = false;
 
     public Builder(MetricRegistry registry) {
-      this.registry = registry;
+      this.reporter = new TransportReporter.Builder(registry);
     }
 
     public Builder filter(MetricFilter filter) {
-      this.filter = filter;
+      reporter.filter(filter);
       return this;
     }
 
     public Builder rateUnit(TimeUnit rateUnit) {
-      this.rateUnit = rateUnit;
+      reporter.rateUnit(rateUnit);
       return this;
     }
 
     public Builder durationUnit(TimeUnit durationUnit) {
-      this.durationUnit = durationUnit;
+      reporter.durationUnit(durationUnit);
       return this;
     }
 
     public Builder clock(Clock clock) {
-      this.clock = clock;
+      reporter.clock(clock);
       return this;
     }
 
     public Builder factory(TransportableFactory factory) {
-      this.factory = factory;
+      reporter.factory(factory);
       return this;
     }
 
     public Builder metricMeta(Map<String, Object> metricMeta) {
-      this.metricMeta = metricMeta;
+      reporter.metricMeta(metricMeta);
+      return this;
+    }
+
+    /**
+     * Generates a routing key per metric when publishing to an exchange.
+     * Defaults to the {@link RabbitClient} routing.
+     *
+     * @param routingKey
+     *     the {@link RoutingKeyGenerator}
+     * @return the builder
+     */
+    public Builder routingKey(RoutingKeyGenerator routingKey) {
+      this.routingKey = routingKey;
+      return this;
+    }
+
+    /**
+     * How reports are handled while the broker blocks the connection.
+     * Defaults to {@link BlockedPolicy#CONFLATE}.
+     *
+     * @param blockedPolicy
+     *     the {@link BlockedPolicy}
+     * @return the builder
+     */
+    public Builder blockedPolicy(BlockedPolicy blockedPolicy) {
+      reporter.blockedPolicy(blockedPolicy);
+      return this;
+    }
+
+    /**
+     * The maximum number of metrics spooled by {@link BlockedPolicy#SPOOL}.
+     *
+     * @param spoolCapacity
+     *     the spool capacity
+     * @return the builder
+     */
+    public Builder spoolCapacity(int spoolCapacity) {
+      reporter.spoolCapacity(spoolCapacity);
+      return this;
+    }
+
+    /**
+     * Registers the blocked state, blocked time in milliseconds, pending and
+     * dropped metric counts with the reported registry.
+     *
+     * @param isBlockedMetricsRegistered
+     *     whether to register the metrics
+     * @return the builder
+     */
+    public Builder blockedMetrics(boolean isBlockedMetricsRegistered) {
+      reporter.blockedMetrics(isBlockedMetricsRegistered);
+      this.isBlockedMetricsRegistered = isBlockedMetricsRegistered;
       return this;
     }
 
@@ -127,7 +185,7 @@ public class RabbitReporter extends ScheduledReporter {
      * @return the {@link RabbitReporter}
      */
     public RabbitReporter build(RabbitClient rabbit) {
-      return new RabbitReporter(registry, filter, rateUnit, durationUnit, rabbit, clock, factory, metricMeta);
+      return new RabbitReporter(this, rabbit);
     }
   }
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.rabbit;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+/**
+ * Generates the AMQP routing key for a {@link TransportableMetric} so that
+ * consumers can bind only the metrics they are interested in.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@FunctionalInterface
+public interface RoutingKeyGenerator {
+  /**
+   * Generates the routing key for the given metric.
+   *
+   * @param metric
+   *     the metric being published
+   * @return the routing key
+   */
+  String routingKey(TransportableMetric metric);
+
+  /**
+   * Routes by metric name, e.g. {@code jvm.memory.heap} can be bound with
+   * {@code jvm.#}.
+   *
+   * @return the {@link RoutingKeyGenerator}
+   */
+  static RoutingKeyGenerator metricName() {
+    return TransportableMetric::getName;
+  }
+
+  /**
+   * Routes by the value of a metric meta entry followed by the metric name,
+   * e.g. {@code my-service.jvm.memory.heap} can be bound with
+   * {@code my-service.#}.
+   *
+   * @param metaKey
+   *     the meta key whose value prefixes the routing key
+   * @param defaultValue
+   *     the prefix to use when the meta key is absent
+   * @return the {@link RoutingKeyGenerator}
+   */
+  static RoutingKeyGenerator metaThenMetricName(String metaKey, String defaultValue) {
+    return metric -> String.valueOf(metric.getMeta().getOrDefault(metaKey, defaultValue)) + "." + metric.getName();
+  }
+}
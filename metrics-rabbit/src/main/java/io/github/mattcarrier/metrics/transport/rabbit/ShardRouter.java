@@ -0,0 +1,93 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.rabbit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Assigns metrics to one of a fixed number of shard queues by consistently
+ * hashing the metric name, so each series always lands on the same shard and
+ * only a minimal number of series move when the shard count changes.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class ShardRouter {
+  private static final HashFunction hash = Hashing.murmur3_32();
+
+  private final ImmutableList<String> queues;
+
+  /**
+   * Creates a {@link ShardRouter}.
+   *
+   * @param queue
+   *     the base queue name, shard queues are named {@code queue.N}
+   * @param shards
+   *     the number of shards
+   */
+  public ShardRouter(String queue, int shards) {
+    Preconditions.checkArgument(0 < shards, "shards must be positive [%s]", shards);
+    final ImmutableList.Builder<String> bldr = ImmutableList.builder();
+    for (int i = 0; i < shards; i++) {
+      bldr.add(queue + "." + i);
+    }
+
+    this.queues = bldr.build();
+  }
+
+  /**
+   * Retrieves the shard for the given metric name.
+   *
+   * @param metricName
+   *     the metric name
+   * @return the shard index
+   */
+  public int shard(String metricName) {
+    return Hashing.consistentHash(hash.hashString(metricName, StandardCharsets.UTF_8), queues.size());
+  }
+
+  /**
+   * Retrieves the shard queue for the given metric name.
+   *
+   * @param metricName
+   *     the metric name
+   * @return the shard queue name
+   */
+  public String queue(String metricName) {
+    return queues.get(shard(metricName));
+  }
+
+  /**
+   * Retrieves the shard queue for the given shard index.
+   *
+   * @param shard
+   *     the shard index
+   * @return the shard queue name
+   */
+  public String queue(int shard) {
+    return queues.get(shard);
+  }
+
+  public ImmutableList<String> queues() {
+    return queues;
+  }
+}
@@ -16,6 +16,10 @@
 
 package io.github.mattcarrier.metrics.transport.rabbit;
 
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
 /**
  * All implemented transports and their corresponding types.
  *
@@ -28,6 +32,17 @@ public enum TransportType {
   private static final String classifier = "METRICS_RABBIT";
   private static final String delimiter  = "|";
 
+  private static final Map<String, TransportType> types;
+
+  static {
+    final ImmutableMap.Builder<String, TransportType> bldr = ImmutableMap.builder();
+    for (TransportType tt : values()) {
+      bldr.put(tt.type, tt);
+    }
+
+    types = bldr.build();
+  }
+
   private final String type;
 
   private TransportType() {
@@ -39,21 +54,10 @@ public enum TransportType {
    *
    * @param type
    *     the type
-   * @return the corresponding {@link TransportType}
+   * @return the corresponding {@link TransportType} or null if unknown
    */
   public static TransportType of(String type) {
-    String name = getName(type);
-    for (TransportType tt : values()) {
-      if (tt.name().equals(name)) {
-        return tt;
-      }
-    }
-
-    return null;
-  }
-
-  private static String getName(String type) {
-    return type.split(delimiter)[1];
+    return null == type ? null : types.get(type);
   }
 
   public String getType() {
@@ -0,0 +1,289 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.rabbit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.compression.Compressor;
+import io.github.mattcarrier.metrics.transport.serialization.compression.GzipCompressor;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.rabbitmq.client.AMQP.BasicProperties;
+import com.rabbitmq.client.BlockedListener;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Consumer;
+import com.rabbitmq.client.Envelope;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+/**
+ * Unit tests for {@link RabbitClient}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RabbitClientTest {
+  private final TransportableMetric metric = new TransportableMetric("jvm.memory.heap", ZonedDateTime.now(),
+                                                                     ImmutableSet.of()
+  );
+
+  @Mock
+  private Connection conn;
+
+  @Mock
+  private Channel channel;
+
+  @Test
+  public void publishDefaultExchange() throws Exception {
+    new RabbitClient(conn, channel, "queue", new JavaSerializer()).publish(metric);
+    verify(channel).basicPublish(eq(""), eq("queue"), any(BasicProperties.class), any(byte[].class));
+  }
+
+  @Test
+  public void publishExchange() throws Exception {
+    client(new RabbitClient.Builder().exchange("metrics").queue("queue")).publish(metric);
+    verify(channel).basicPublish(eq("metrics"), eq("jvm.memory.heap"), any(BasicProperties.class),
+                                 any(byte[].class)
+    );
+  }
+
+  @Test
+  public void publishRoutingKey() throws Exception {
+    client(new RabbitClient.Builder().exchange("metrics").queue("queue")).publish(metric, "orders.jvm");
+    verify(channel).basicPublish(eq("metrics"), eq("orders.jvm"), any(BasicProperties.class), any(byte[].class));
+  }
+
+  @Test
+  public void declareDefaultExchange() throws Exception {
+    new RabbitClient.Builder().queue("queue").declare(channel);
+    verify(channel).queueDeclare("queue", true, false, false, null);
+    verifyNoMoreInteractions(channel);
+  }
+
+  @Test
+  public void declareExchangeWithoutBindingKeys() throws Exception {
+    new RabbitClient.Builder().exchange("metrics").queue("queue").declare(channel);
+    verify(channel).exchangeDeclare("metrics", "topic", true);
+    verifyNoMoreInteractions(channel);
+  }
+
+  @Test
+  public void declareBindingKeys() throws Exception {
+    new RabbitClient.Builder().exchange("metrics").queue("queue").bindingKeys("orders.jvm.#", "payments.#")
+        .declare(channel);
+    verify(channel).exchangeDeclare("metrics", "topic", true);
+    verify(channel).queueDeclare("queue", true, false, false, null);
+    verify(channel).queueBind("queue", "metrics", "orders.jvm.#");
+    verify(channel).queueBind("queue", "metrics", "payments.#");
+    verifyNoMoreInteractions(channel);
+  }
+
+  @Test
+  public void publishSharded() throws Exception {
+    client(new RabbitClient.Builder().queue("queue").shards(4)).publish(metric);
+    verify(channel).basicPublish(eq(""), eq(new ShardRouter("queue", 4).queue(metric.getName())),
+                                 any(BasicProperties.class), any(byte[].class)
+    );
+  }
+
+  @Test
+  public void consumeClaimedShards() throws Exception {
+    client(new RabbitClient.Builder().queue("queue").shards(4).claimShards(1, 3))
+        .consume("tag", new DefaultMetricConsumer());
+    verify(channel).basicConsume(eq("queue.1"), eq(true), eq("tag-queue.1"), any(Consumer.class));
+    verify(channel).basicConsume(eq("queue.3"), eq(true), eq("tag-queue.3"), any(Consumer.class));
+    verifyNoMoreInteractions(channel);
+  }
+
+  @Test
+  public void claimShardOutOfRange() throws Exception {
+    try {
+      new RabbitClient.Builder().queue("queue").shards(4).claimShards(1, 7).build();
+    } catch (IllegalArgumentException ex) {
+      assertTrue(ex.getMessage().contains("[7]"));
+      return;
+    }
+
+    fail("Expected an IllegalArgumentException.");
+  }
+
+  @Test
+  public void publishBelowCompressionThreshold() throws Exception {
+    client(new RabbitClient.Builder().compressor(new GzipCompressor()).compressionThreshold(Integer.MAX_VALUE))
+        .publish(metric);
+
+    final ArgumentCaptor<BasicProperties> properties = ArgumentCaptor.forClass(BasicProperties.class);
+    verify(channel).basicPublish(eq(""), eq("metrics-rabbit"), properties.capture(), any(byte[].class));
+    assertNull(properties.getValue().getContentEncoding());
+  }
+
+  @Test
+  public void compressedRoundTrip() throws Exception {
+    final TransportableMetric snapshot = new TransportableMetric("snapshot", ZonedDateTime.now(), ImmutableSet.of(
+        new TransportableSnapshot(LongStream.range(0, 1024).toArray(), 2, 0.1, 3, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7,
+                                  0.8
+        )));
+    final RabbitClient client = client(new RabbitClient.Builder().compressor(new GzipCompressor()));
+    client.publish(snapshot);
+
+    final ArgumentCaptor<BasicProperties> properties = ArgumentCaptor.forClass(BasicProperties.class);
+    final ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(channel).basicPublish(eq(""), eq("metrics-rabbit"), properties.capture(), body.capture());
+    assertEquals("gzip", properties.getValue().getContentEncoding());
+
+    assertEquals(snapshot, deliver(client, properties.getValue(), body.getValue()));
+  }
+
+  @Test
+  public void publishSelfDescribing() throws Exception {
+    client(new RabbitClient.Builder()).publish(metric);
+
+    final ArgumentCaptor<BasicProperties> properties = ArgumentCaptor.forClass(BasicProperties.class);
+    verify(channel).basicPublish(eq(""), eq("metrics-rabbit"), properties.capture(), any(byte[].class));
+    assertEquals(TransportType.TRANSPORTABLE_METRIC, TransportType.of(properties.getValue().getType()));
+    assertEquals("application/x-java-serialized-object", properties.getValue().getContentType());
+    assertEquals(1, properties.getValue().getHeaders().get(RabbitClient.FORMAT_VERSION_HEADER));
+  }
+
+  @Test
+  public void consumeByContentType() throws Exception {
+    final Serializer java = new JavaSerializer();
+    final RabbitClient client = new RabbitClient(conn, channel, new RabbitClient.Builder(), new UnusedSerializer(),
+                                                 ImmutableMap.of(java.contentType(), java), ImmutableMap.of()
+    );
+
+    assertEquals(metric, deliver(client, new BasicProperties.Builder().contentType(java.contentType()).build(),
+                                 java.serialize(metric)
+    ));
+  }
+
+  @Test(expected = IOException.class)
+  public void consumeUnknownContentType() throws Exception {
+    deliver(client(new RabbitClient.Builder()), new BasicProperties.Builder().contentType("unknown").build(),
+            new byte[0]
+    );
+  }
+
+  @Test(expected = IOException.class)
+  public void consumeNewerFormatVersion() throws Exception {
+    final Serializer java = new JavaSerializer();
+    deliver(client(new RabbitClient.Builder()), new BasicProperties.Builder().contentType(java.contentType())
+        .headers(ImmutableMap.of(RabbitClient.FORMAT_VERSION_HEADER, 2)).build(), java.serialize(metric));
+  }
+
+  @Test
+  public void consumePipeline() throws Exception {
+    final RabbitClient client = client(new RabbitClient.Builder());
+    final AtomicReference<TransportableMetric> consumed = new AtomicReference<>();
+    try (final MetricPipeline<TransportableMetric> pipeline = new MetricPipeline.Builder<>(
+        new DefaultMetricConsumer() {
+          @Override
+          protected TransportableMetric postConvert(TransportableMetric metric) {
+            consumed.set(metric);
+            return metric;
+          }
+        }).decodeThreads(1).build()) {
+      client.consume("tag", pipeline);
+
+      final ArgumentCaptor<Consumer> consumer = ArgumentCaptor.forClass(Consumer.class);
+      verify(channel).basicConsume(eq("metrics-rabbit"), eq(true), eq("tag"), consumer.capture());
+      consumer.getValue().handleDelivery("tag", new Envelope(1, false, "", "metrics-rabbit"),
+                                         new BasicProperties(), new JavaSerializer().serialize(metric)
+      );
+    }
+
+    assertEquals(metric, consumed.get());
+  }
+
+  @Test
+  public void blocked() throws Exception {
+    final RabbitClient client = client(new RabbitClient.Builder());
+    final ArgumentCaptor<BlockedListener> listener = ArgumentCaptor.forClass(BlockedListener.class);
+    verify(conn).addBlockedListener(listener.capture());
+    assertFalse(client.isBlocked());
+
+    listener.getValue().handleBlocked("low on memory");
+    assertTrue(client.isBlocked());
+    assertEquals("low on memory", client.getBlockedReason());
+
+    listener.getValue().handleUnblocked();
+    assertFalse(client.isBlocked());
+    assertNull(client.getBlockedReason());
+    assertTrue(0L < client.getBlockedTime(TimeUnit.NANOSECONDS));
+  }
+
+  private TransportableMetric deliver(RabbitClient client, BasicProperties properties, byte[] body)
+      throws IOException {
+    final AtomicReference<TransportableMetric> consumed = new AtomicReference<>();
+    client.consume("tag", new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.set(metric);
+        return metric;
+      }
+    });
+
+    final ArgumentCaptor<Consumer> consumer = ArgumentCaptor.forClass(Consumer.class);
+    verify(channel).basicConsume(eq("metrics-rabbit"), eq(true), eq("tag"), consumer.capture());
+    consumer.getValue().handleDelivery("tag", new Envelope(1, false, "", "metrics-rabbit"), properties, body);
+    return consumed.get();
+  }
+
+  private RabbitClient client(RabbitClient.Builder bldr) {
+    return new RabbitClient(conn, channel, bldr, new JavaSerializer(), ImmutableMap.of(),
+                            ImmutableMap.<String, Compressor>of("gzip", new GzipCompressor())
+    );
+  }
+
+  private static class UnusedSerializer implements Serializer {
+    @Override
+    public byte[] serialize(TransportableMetric metric) throws Exception {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TransportableMetric deserialize(byte[] serialized) throws Exception {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
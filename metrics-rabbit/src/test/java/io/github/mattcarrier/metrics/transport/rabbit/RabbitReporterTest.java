@@ -0,0 +1,64 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.rabbit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link RabbitReporter}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RabbitReporterTest {
+  private final MetricRegistry registry = new MetricRegistry();
+
+  @Mock
+  private RabbitClient rabbit;
+
+  @Test
+  public void routingKey() {
+    registry.counter("requests");
+    new RabbitReporter.Builder(registry).routingKey(metric -> "orders." + metric.getName()).build(rabbit).report();
+    verify(rabbit).publish(ArgumentMatchers.any(TransportableMetric.class), eq("orders.requests"));
+  }
+
+  @Test
+  public void blockedTime() {
+    when(rabbit.getBlockedTime(TimeUnit.MILLISECONDS)).thenReturn(42L);
+    new RabbitReporter.Builder(registry).blockedMetrics(true).build(rabbit);
+    assertEquals(42L, registry.getGauges().get(MetricRegistry.name(RabbitReporter.class, "blocked-time"))
+        .getValue());
+    assertTrue(registry.getCounters().containsKey(MetricRegistry.name(RabbitReporter.class, "dropped")));
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.rabbit;
+
+import static org.junit.Assert.assertEquals;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Unit tests for {@link RoutingKeyGenerator}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class RoutingKeyGeneratorTest {
+  private final TransportableMetric metric = new TransportableMetric("jvm.memory.heap", ZonedDateTime.now(),
+                                                                     ImmutableMap.of("service", "orders"),
+                                                                     ImmutableSet.of()
+  );
+
+  @Test
+  public void metricName() {
+    assertEquals("jvm.memory.heap", RoutingKeyGenerator.metricName().routingKey(metric));
+  }
+
+  @Test
+  public void metaThenMetricName() {
+    assertEquals("orders.jvm.memory.heap",
+                 RoutingKeyGenerator.metaThenMetricName("service", "unknown").routingKey(metric)
+    );
+  }
+
+  @Test
+  public void metaThenMetricNameDefault() {
+    assertEquals("unknown.jvm.memory.heap",
+                 RoutingKeyGenerator.metaThenMetricName("host", "unknown").routingKey(metric)
+    );
+  }
+}
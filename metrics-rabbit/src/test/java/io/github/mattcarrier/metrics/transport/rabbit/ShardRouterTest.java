@@ -0,0 +1,68 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.rabbit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link ShardRouter}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ShardRouterTest {
+  @Test
+  public void queues() {
+    assertEquals(ImmutableList.of("metrics.0", "metrics.1", "metrics.2"), new ShardRouter("metrics", 3).queues());
+  }
+
+  @Test
+  public void stable() {
+    final ShardRouter router = new ShardRouter("metrics", 8);
+    assertEquals(router.queue("jvm.memory.heap"), router.queue("jvm.memory.heap"));
+    assertEquals(router.queue("jvm.memory.heap"), new ShardRouter("metrics", 8).queue("jvm.memory.heap"));
+  }
+
+  @Test
+  public void distributed() {
+    final ShardRouter router = new ShardRouter("metrics", 4);
+    final int[] counts = new int[4];
+    IntStream.range(0, 4000).forEach(i -> counts[router.shard("metric." + i)]++);
+    for (int count : counts) {
+      assertTrue("uneven shard [" + count + "]", 800 < count && 1200 > count);
+    }
+  }
+
+  @Test
+  public void minimalMovement() {
+    final ShardRouter four = new ShardRouter("metrics", 4);
+    final ShardRouter five = new ShardRouter("metrics", 5);
+    final long moved = IntStream.range(0, 4000).filter(i -> four.shard("m" + i) != five.shard("m" + i)).count();
+    assertTrue("too many series moved [" + moved + "]", 1200 > moved);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noShards() {
+    new ShardRouter("metrics", 0);
+  }
+}
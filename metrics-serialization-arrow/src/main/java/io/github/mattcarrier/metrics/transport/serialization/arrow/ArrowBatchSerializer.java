@@ -0,0 +1,235 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.arrow;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializes batches of {@link TransportableMetric}s, such as a whole
+ * report, to the <a href="https://arrow.apache.org/">Apache Arrow</a> IPC
+ * stream format with the columns of {@link MetricColumns}. Batches are
+ * written as record batches of at most {@code batchSize} rows.
+ *
+ * <p>Consumers that aggregate or bulk write can work on the vectors of each
+ * record batch through {@link #reader} instead of converting the rows back to
+ * metrics.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ArrowBatchSerializer implements AutoCloseable {
+  public static final String CONTENT_TYPE       = "application/vnd.apache.arrow.stream";
+  public static final int    DEFAULT_BATCH_SIZE = 8192;
+
+  private final BufferAllocator root;
+  private final BufferAllocator allocator;
+  private final int             batchSize;
+
+  public ArrowBatchSerializer() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a serializer with its own allocator.
+   *
+   * @param batchSize
+   *     the maximum number of rows per record batch
+   */
+  public ArrowBatchSerializer(int batchSize) {
+    this(new RootAllocator(), batchSize, true);
+  }
+
+  /**
+   * Creates a serializer allocating from a child of the allocator.
+   *
+   * @param allocator
+   *     the parent allocator
+   * @param batchSize
+   *     the maximum number of rows per record batch
+   */
+  public ArrowBatchSerializer(BufferAllocator allocator, int batchSize) {
+    this(allocator, batchSize, false);
+  }
+
+  private ArrowBatchSerializer(BufferAllocator allocator, int batchSize, boolean isOwned) {
+    if (0 >= batchSize) {
+      throw new IllegalArgumentException("The batch size must be positive.");
+    }
+
+    this.root = isOwned ? allocator : null;
+    this.allocator = allocator.newChildAllocator("metrics-arrow", 0, Long.MAX_VALUE);
+    this.batchSize = batchSize;
+  }
+
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+
+  /**
+   * Serializes the metrics.
+   *
+   * @param metrics
+   *     the metrics
+   * @return the serialized stream
+   * @throws IOException
+   *     if there is an issue writing the stream
+   */
+  public byte[] serialize(List<TransportableMetric> metrics) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serialize(metrics, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Serializes the metrics to the stream. The stream is not closed.
+   *
+   * @param metrics
+   *     the metrics
+   * @param out
+   *     the stream to write to
+   * @throws IOException
+   *     if there is an issue writing the stream
+   * @throws IllegalArgumentException
+   *     if a metric can not be converted, see
+   *     {@link ArrowConverter#write(List, VectorSchemaRoot)}
+   */
+  public void serialize(List<TransportableMetric> metrics, OutputStream out) throws IOException {
+    try (VectorSchemaRoot vectors = VectorSchemaRoot.create(MetricColumns.SCHEMA, allocator);
+         ArrowStreamWriter writer = new ArrowStreamWriter(vectors, null, new UnclosedChannel(out))) {
+      writer.start();
+      for (int from = 0; from < metrics.size(); from += batchSize) {
+        ArrowConverter.write(metrics.subList(from, Math.min(from + batchSize, metrics.size())), vectors);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+  }
+
+  /**
+   * Deserializes the metrics of all record batches.
+   *
+   * @param serialized
+   *     the serialized stream
+   * @return the metrics
+   * @throws IOException
+   *     if there is an issue reading the stream
+   */
+  public List<TransportableMetric> deserialize(byte[] serialized) throws IOException {
+    return deserialize(new ByteArrayInputStream(serialized));
+  }
+
+  /**
+   * Deserializes the metrics of all record batches in the stream. The stream
+   * is not closed.
+   *
+   * @param in
+   *     the stream to read from
+   * @return the metrics
+   * @throws IOException
+   *     if there is an issue reading the stream
+   */
+  public List<TransportableMetric> deserialize(InputStream in) throws IOException {
+    final List<TransportableMetric> metrics = new ArrayList<>();
+    try (ArrowStreamReader reader = reader(in)) {
+      while (reader.loadNextBatch()) {
+        metrics.addAll(ArrowConverter.fromVectors(reader.getVectorSchemaRoot()));
+      }
+    }
+
+    return metrics;
+  }
+
+  /**
+   * Opens a reader over the record batches in the stream. Each
+   * {@link ArrowStreamReader#loadNextBatch()} replaces the rows of
+   * {@link ArrowStreamReader#getVectorSchemaRoot()}, whose vectors are named
+   * by {@link MetricColumns}. Closing the reader releases the vectors and
+   * leaves the stream open.
+   *
+   * @param in
+   *     the stream to read from
+   * @return the reader
+   */
+  public ArrowStreamReader reader(InputStream in) {
+    return new ArrowStreamReader(new UnclosedChannel(in), allocator);
+  }
+
+  @Override
+  public void close() {
+    allocator.close();
+    if (null != root) {
+      root.close();
+    }
+  }
+
+  /**
+   * Adapts a stream to a channel whose close leaves the stream open, as the
+   * Arrow readers and writers close their channels.
+   */
+  private static final class UnclosedChannel implements ReadableByteChannel, WritableByteChannel {
+    private final ReadableByteChannel in;
+    private final WritableByteChannel out;
+
+    UnclosedChannel(InputStream in) {
+      this.in = Channels.newChannel(in);
+      this.out = null;
+    }
+
+    UnclosedChannel(OutputStream out) {
+      this.in = null;
+      this.out = Channels.newChannel(out);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      return in.read(dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      return out.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+
+    }
+  }
+}
@@ -0,0 +1,328 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.arrow;
+
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.COUNT;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.FIFTEEN_MINUTE_RATE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.FIVE_MINUTE_RATE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.GAUGE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KEY;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.MAX;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.MEAN;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.MEAN_RATE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.MEDIAN;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.META;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.MIN;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.NAME;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.ONE_MINUTE_RATE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.P75;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.P95;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.P98;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.P99;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.P999;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.STD_DEV;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.TIMESTAMP;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.VALUES;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.ZONE;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampNanoTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between lists of {@link TransportableMetric}s and the vectors of
+ * the {@link MetricColumns#SCHEMA}, one row per metric.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class ArrowConverter {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private ArrowConverter() {
+
+  }
+
+  /**
+   * Converts the metrics to new vectors, which the caller must close.
+   *
+   * @param metrics
+   *     the metrics
+   * @param allocator
+   *     the allocator of the vectors
+   * @return the vectors
+   * @throws IllegalArgumentException
+   *     if a metric holds more than one counter or meter, snapshot or gauge,
+   *     or a meta or gauge value is not {@code null}, a string, a primitive
+   *     wrapper other than {@link Character}, a {@link java.math.BigInteger}
+   *     or a {@link java.math.BigDecimal}
+   */
+  public static VectorSchemaRoot toVectors(List<TransportableMetric> metrics, BufferAllocator allocator) {
+    final VectorSchemaRoot root = VectorSchemaRoot.create(MetricColumns.SCHEMA, allocator);
+    try {
+      write(metrics, root);
+      return root;
+    } catch (RuntimeException ex) {
+      root.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * Replaces the rows of the vectors with the metrics so that the vectors
+   * can be reused across batches. Transportables of unknown types are left
+   * out.
+   *
+   * @param metrics
+   *     the metrics
+   * @param root
+   *     vectors of the {@link MetricColumns#SCHEMA}
+   * @throws IllegalArgumentException
+   *     if a metric holds more than one counter or meter, snapshot or gauge,
+   *     or a meta or gauge value is not {@code null}, a string, a primitive
+   *     wrapper other than {@link Character}, a {@link java.math.BigInteger}
+   *     or a {@link java.math.BigDecimal}
+   */
+  public static void write(List<TransportableMetric> metrics, VectorSchemaRoot root) {
+    root.allocateNew();
+    final Vectors vectors = new Vectors(root);
+    for (int row = 0; row < metrics.size(); row++) {
+      vectors.write(row, metrics.get(row));
+    }
+
+    root.setRowCount(metrics.size());
+  }
+
+  /**
+   * Converts the rows of the vectors to metrics.
+   *
+   * @param root
+   *     vectors of the {@link MetricColumns#SCHEMA}
+   * @return the metrics
+   * @throws IllegalArgumentException
+   *     if a value kind is unknown
+   */
+  public static List<TransportableMetric> fromVectors(VectorSchemaRoot root) {
+    final Vectors vectors = new Vectors(root);
+    final List<TransportableMetric> metrics = new ArrayList<>(root.getRowCount());
+    for (int row = 0; row < root.getRowCount(); row++) {
+      metrics.add(vectors.read(row));
+    }
+
+    return metrics;
+  }
+
+  /**
+   * The vectors of the columns, looked up once per batch.
+   */
+  private static final class Vectors {
+    private final VarCharVector         name;
+    private final TimeStampNanoTZVector timestamp;
+    private final VarCharVector         zone;
+    private final ListVector            meta;
+    private final VarCharVector         metaKey;
+    private final ValueVectors          metaValue;
+    private final BigIntVector          count;
+    private final Float8Vector          meanRate;
+    private final Float8Vector          oneMinuteRate;
+    private final Float8Vector          fiveMinuteRate;
+    private final Float8Vector          fifteenMinuteRate;
+    private final BigIntVector          min;
+    private final BigIntVector          max;
+    private final Float8Vector          mean;
+    private final Float8Vector          stdDev;
+    private final Float8Vector          median;
+    private final Float8Vector          p75;
+    private final Float8Vector          p95;
+    private final Float8Vector          p98;
+    private final Float8Vector          p99;
+    private final Float8Vector          p999;
+    private final ListVector            values;
+    private final BigIntVector          valuesItems;
+    private final ValueVectors          gauge;
+
+    Vectors(VectorSchemaRoot root) {
+      this.name = (VarCharVector) root.getVector(NAME);
+      this.timestamp = (TimeStampNanoTZVector) root.getVector(TIMESTAMP);
+      this.zone = (VarCharVector) root.getVector(ZONE);
+      this.meta = (ListVector) root.getVector(META);
+      final StructVector entries = (StructVector) meta.getDataVector();
+      this.metaKey = entries.getChild(KEY, VarCharVector.class);
+      this.metaValue = new ValueVectors(entries);
+      this.count = (BigIntVector) root.getVector(COUNT);
+      this.meanRate = (Float8Vector) root.getVector(MEAN_RATE);
+      this.oneMinuteRate = (Float8Vector) root.getVector(ONE_MINUTE_RATE);
+      this.fiveMinuteRate = (Float8Vector) root.getVector(FIVE_MINUTE_RATE);
+      this.fifteenMinuteRate = (Float8Vector) root.getVector(FIFTEEN_MINUTE_RATE);
+      this.min = (BigIntVector) root.getVector(MIN);
+      this.max = (BigIntVector) root.getVector(MAX);
+      this.mean = (Float8Vector) root.getVector(MEAN);
+      this.stdDev = (Float8Vector) root.getVector(STD_DEV);
+      this.median = (Float8Vector) root.getVector(MEDIAN);
+      this.p75 = (Float8Vector) root.getVector(P75);
+      this.p95 = (Float8Vector) root.getVector(P95);
+      this.p98 = (Float8Vector) root.getVector(P98);
+      this.p99 = (Float8Vector) root.getVector(P99);
+      this.p999 = (Float8Vector) root.getVector(P999);
+      this.values = (ListVector) root.getVector(VALUES);
+      this.valuesItems = (BigIntVector) values.getDataVector();
+      this.gauge = new ValueVectors((StructVector) root.getVector(GAUGE));
+    }
+
+    void write(int row, TransportableMetric metric) {
+      final ZonedDateTime time = metric.getTimestamp();
+      name.setSafe(row, metric.getName().getBytes(StandardCharsets.UTF_8));
+      timestamp.setSafe(row, Math.addExact(Math.multiplyExact(time.toEpochSecond(), NANOS_PER_SECOND),
+                                           time.getNano()));
+      zone.setSafe(row, time.getZone().getId().getBytes(StandardCharsets.UTF_8));
+
+      final int start = meta.startNewValue(row);
+      int entry = start;
+      for (Map.Entry<String, Object> each : metric.getMeta().entrySet()) {
+        metaKey.setSafe(entry, each.getKey().getBytes(StandardCharsets.UTF_8));
+        metaValue.write(entry++, each.getValue());
+      }
+      meta.endValue(row, entry - start);
+
+      TransportableCounter counter = null;
+      TransportableSnapshot snapshot = null;
+      TransportableGauge<?> gaugeValue = null;
+      for (Transportable transportable : metric.getTransportables()) {
+        if (transportable instanceof TransportableCounter) {
+          counter = only(counter, (TransportableCounter) transportable, metric);
+        } else if (transportable instanceof TransportableSnapshot) {
+          snapshot = only(snapshot, (TransportableSnapshot) transportable, metric);
+        } else if (transportable instanceof TransportableGauge) {
+          gaugeValue = only(gaugeValue, (TransportableGauge<?>) transportable, metric);
+        }
+      }
+
+      if (null != counter) {
+        count.setSafe(row, counter.getCount());
+      }
+      if (counter instanceof TransportableMeter) {
+        final TransportableMeter meter = (TransportableMeter) counter;
+        meanRate.setSafe(row, meter.getMeanRate());
+        oneMinuteRate.setSafe(row, meter.getOneMinuteRate());
+        fiveMinuteRate.setSafe(row, meter.getFiveMinuteRate());
+        fifteenMinuteRate.setSafe(row, meter.getFifteenMinuteRate());
+      }
+      if (null != snapshot) {
+        write(row, snapshot);
+      }
+      if (null != gaugeValue) {
+        gauge.write(row, gaugeValue.getValue());
+      }
+    }
+
+    private void write(int row, TransportableSnapshot snapshot) {
+      min.setSafe(row, snapshot.getMin());
+      max.setSafe(row, snapshot.getMax());
+      mean.setSafe(row, snapshot.getMean());
+      stdDev.setSafe(row, snapshot.getStdDev());
+      median.setSafe(row, snapshot.getMedian());
+      p75.setSafe(row, snapshot.get75thPercentile());
+      p95.setSafe(row, snapshot.get95thPercentile());
+      p98.setSafe(row, snapshot.get98thPercentile());
+      p99.setSafe(row, snapshot.get99thPercentile());
+      p999.setSafe(row, snapshot.get999thPercentile());
+
+      final long[] snapshotValues = snapshot.getValues();
+      final int start = values.startNewValue(row);
+      for (int index = 0; index < snapshotValues.length; index++) {
+        valuesItems.setSafe(start + index, snapshotValues[index]);
+      }
+      values.endValue(row, snapshotValues.length);
+    }
+
+    private static <T extends Transportable> T only(T existing, T transportable, TransportableMetric metric) {
+      if (null != existing) {
+        throw new IllegalArgumentException("Metric [" + metric.getName() + "] holds more than one ["
+                                           + transportable.getClass().getSimpleName() + "].");
+      }
+
+      return transportable;
+    }
+
+    TransportableMetric read(int row) {
+      final long nanos = timestamp.get(row);
+      final ZonedDateTime time = ZonedDateTime.ofInstant(
+          Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND)),
+          ZoneId.of(text(zone, row)));
+
+      final ImmutableMap.Builder<String, Object> metaValues = ImmutableMap.builder();
+      for (int entry = meta.getElementStartIndex(row); entry < meta.getElementEndIndex(row); entry++) {
+        metaValues.put(text(metaKey, entry), metaValue.read(entry));
+      }
+
+      final ImmutableSet.Builder<Transportable> transportables = ImmutableSet.builder();
+      if (!meanRate.isNull(row)) {
+        transportables.add(new TransportableMeter(count.get(row), fifteenMinuteRate.get(row),
+                                                  fiveMinuteRate.get(row), meanRate.get(row),
+                                                  oneMinuteRate.get(row)));
+      } else if (!count.isNull(row)) {
+        transportables.add(new TransportableCounter(count.get(row)));
+      }
+      if (!values.isNull(row)) {
+        transportables.add(readSnapshot(row));
+      }
+      if (!gauge.struct.isNull(row)) {
+        transportables.add(new TransportableGauge<>(gauge.read(row)));
+      }
+
+      return new TransportableMetric(text(name, row), time, metaValues.build(), transportables.build());
+    }
+
+    private TransportableSnapshot readSnapshot(int row) {
+      final int start = values.getElementStartIndex(row);
+      final long[] snapshotValues = new long[values.getElementEndIndex(row) - start];
+      for (int index = 0; index < snapshotValues.length; index++) {
+        snapshotValues[index] = valuesItems.get(start + index);
+      }
+
+      return new TransportableSnapshot(snapshotValues, max.get(row), mean.get(row), min.get(row), stdDev.get(row),
+                                       median.get(row), p75.get(row), p95.get(row), p98.get(row), p99.get(row),
+                                       p999.get(row));
+    }
+
+    private static String text(VarCharVector vector, int index) {
+      return new String(vector.get(index), StandardCharsets.UTF_8);
+    }
+  }
+}
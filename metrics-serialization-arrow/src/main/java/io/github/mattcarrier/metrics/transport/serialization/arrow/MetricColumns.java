@@ -0,0 +1,137 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.arrow;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * The columns of a metric batch, one row per metric. Consumers working on
+ * the vectors directly look them up by these names.
+ *
+ * <table summary="columns">
+ * <tr><th>column</th><th>type</th><th>holds</th></tr>
+ * <tr><td>name</td><td>utf8</td><td>the metric name</td></tr>
+ * <tr><td>timestamp</td><td>timestamp[ns, UTC]</td><td>the timestamp</td></tr>
+ * <tr><td>zone</td><td>utf8</td><td>the zone id of the timestamp</td></tr>
+ * <tr><td>meta</td><td>list&lt;struct&gt;</td><td>key and value of each meta entry</td></tr>
+ * <tr><td>count</td><td>int64</td><td>the count of the counter or meter</td></tr>
+ * <tr><td>mean_rate, m1_rate, m5_rate, m15_rate</td><td>float64</td><td>the meter rates</td></tr>
+ * <tr><td>min, max</td><td>int64</td><td>the snapshot bounds</td></tr>
+ * <tr><td>mean, std_dev, p50, p75, p95, p98, p99, p999</td><td>float64</td><td>the snapshot statistics</td></tr>
+ * <tr><td>values</td><td>list&lt;int64&gt;</td><td>the snapshot values</td></tr>
+ * <tr><td>gauge</td><td>struct</td><td>the gauge value</td></tr>
+ * </table>
+ *
+ * <p>A column is null when the metric has no transportable of its kind. A
+ * count with null rates is a counter. Gauge and meta values are structs of
+ * {@value #KIND}, one of the kind constants, and the {@value #LONG} column for
+ * booleans and integral values, the {@value #DOUBLE} column for floats and
+ * doubles or the {@value #TEXT} column for strings, big integers and big
+ * decimals.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class MetricColumns {
+  public static final String NAME                = "name";
+  public static final String TIMESTAMP           = "timestamp";
+  public static final String ZONE                = "zone";
+  public static final String META                = "meta";
+  public static final String COUNT               = "count";
+  public static final String MEAN_RATE           = "mean_rate";
+  public static final String ONE_MINUTE_RATE     = "m1_rate";
+  public static final String FIVE_MINUTE_RATE    = "m5_rate";
+  public static final String FIFTEEN_MINUTE_RATE = "m15_rate";
+  public static final String MIN                 = "min";
+  public static final String MAX                 = "max";
+  public static final String MEAN                = "mean";
+  public static final String STD_DEV             = "std_dev";
+  public static final String MEDIAN              = "p50";
+  public static final String P75                 = "p75";
+  public static final String P95                 = "p95";
+  public static final String P98                 = "p98";
+  public static final String P99                 = "p99";
+  public static final String P999                = "p999";
+  public static final String VALUES              = "values";
+  public static final String GAUGE               = "gauge";
+
+  public static final String KEY    = "key";
+  public static final String KIND   = "kind";
+  public static final String LONG   = "long";
+  public static final String DOUBLE = "double";
+  public static final String TEXT   = "text";
+
+  public static final byte KIND_NULL        = 0;
+  public static final byte KIND_STRING      = 1;
+  public static final byte KIND_BOOLEAN     = 2;
+  public static final byte KIND_BYTE        = 3;
+  public static final byte KIND_SHORT       = 4;
+  public static final byte KIND_INT         = 5;
+  public static final byte KIND_LONG        = 6;
+  public static final byte KIND_FLOAT       = 7;
+  public static final byte KIND_DOUBLE      = 8;
+  public static final byte KIND_BIG_INTEGER = 9;
+  public static final byte KIND_BIG_DECIMAL = 10;
+
+  private static final ArrowType INT8    = new ArrowType.Int(8, true);
+  private static final ArrowType INT64   = new ArrowType.Int(64, true);
+  private static final ArrowType FLOAT64 = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+
+  public static final Schema SCHEMA = new Schema(ImmutableList.of(
+      field(NAME, false, ArrowType.Utf8.INSTANCE),
+      field(TIMESTAMP, false, new ArrowType.Timestamp(TimeUnit.NANOSECOND, "UTC")),
+      field(ZONE, false, ArrowType.Utf8.INSTANCE),
+      field(META, false, ArrowType.List.INSTANCE, value("entry", false, field(KEY, false, ArrowType.Utf8.INSTANCE))),
+      field(COUNT, true, INT64),
+      field(MEAN_RATE, true, FLOAT64),
+      field(ONE_MINUTE_RATE, true, FLOAT64),
+      field(FIVE_MINUTE_RATE, true, FLOAT64),
+      field(FIFTEEN_MINUTE_RATE, true, FLOAT64),
+      field(MIN, true, INT64),
+      field(MAX, true, INT64),
+      field(MEAN, true, FLOAT64),
+      field(STD_DEV, true, FLOAT64),
+      field(MEDIAN, true, FLOAT64),
+      field(P75, true, FLOAT64),
+      field(P95, true, FLOAT64),
+      field(P98, true, FLOAT64),
+      field(P99, true, FLOAT64),
+      field(P999, true, FLOAT64),
+      field(VALUES, true, ArrowType.List.INSTANCE, field("item", false, INT64)),
+      value(GAUGE, true)
+  ));
+
+  private MetricColumns() {
+
+  }
+
+  private static Field field(String name, boolean isNullable, ArrowType type, Field... children) {
+    return new Field(name, new FieldType(isNullable, type, null), ImmutableList.copyOf(children));
+  }
+
+  private static Field value(String name, boolean isNullable, Field... leading) {
+    return field(name, isNullable, ArrowType.Struct.INSTANCE, ImmutableList.<Field>builder().add(leading)
+        .add(field(KIND, false, INT8), field(LONG, true, INT64), field(DOUBLE, true, FLOAT64),
+             field(TEXT, true, ArrowType.Utf8.INSTANCE)).build().toArray(new Field[0]));
+  }
+}
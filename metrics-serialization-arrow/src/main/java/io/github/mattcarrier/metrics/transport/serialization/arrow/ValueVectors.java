@@ -0,0 +1,158 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.arrow;
+
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.DOUBLE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_BIG_DECIMAL;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_BIG_INTEGER;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_BOOLEAN;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_BYTE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_DOUBLE;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_FLOAT;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_INT;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_LONG;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_NULL;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_SHORT;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.KIND_STRING;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.LONG;
+import static io.github.mattcarrier.metrics.transport.serialization.arrow.MetricColumns.TEXT;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.StructVector;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The child vectors of a gauge or meta value struct.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class ValueVectors {
+  final StructVector  struct;
+  final TinyIntVector kind;
+  final BigIntVector  longs;
+  final Float8Vector  doubles;
+  final VarCharVector text;
+
+  ValueVectors(StructVector struct) {
+    this.struct = struct;
+    this.kind = struct.getChild(KIND, TinyIntVector.class);
+    this.longs = struct.getChild(LONG, BigIntVector.class);
+    this.doubles = struct.getChild(DOUBLE, Float8Vector.class);
+    this.text = struct.getChild(TEXT, VarCharVector.class);
+  }
+
+  /**
+   * Writes the value at the index of the struct.
+   *
+   * @param index
+   *     the index
+   * @param value
+   *     the value
+   * @throws IllegalArgumentException
+   *     if the value is not {@code null}, a string, a primitive wrapper other
+   *     than {@link Character}, a {@link BigInteger} or a {@link BigDecimal}
+   */
+  void write(int index, Object value) {
+    struct.setIndexDefined(index);
+    if (null == value) {
+      kind.setSafe(index, KIND_NULL);
+    } else if (value instanceof String) {
+      kind.setSafe(index, KIND_STRING);
+      text.setSafe(index, ((String) value).getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof Boolean) {
+      kind.setSafe(index, KIND_BOOLEAN);
+      longs.setSafe(index, (Boolean) value ? 1 : 0);
+    } else if (value instanceof Byte) {
+      kind.setSafe(index, KIND_BYTE);
+      longs.setSafe(index, (Byte) value);
+    } else if (value instanceof Short) {
+      kind.setSafe(index, KIND_SHORT);
+      longs.setSafe(index, (Short) value);
+    } else if (value instanceof Integer) {
+      kind.setSafe(index, KIND_INT);
+      longs.setSafe(index, (Integer) value);
+    } else if (value instanceof Long) {
+      kind.setSafe(index, KIND_LONG);
+      longs.setSafe(index, (Long) value);
+    } else if (value instanceof Float) {
+      kind.setSafe(index, KIND_FLOAT);
+      doubles.setSafe(index, (Float) value);
+    } else if (value instanceof Double) {
+      kind.setSafe(index, KIND_DOUBLE);
+      doubles.setSafe(index, (Double) value);
+    } else if (value instanceof BigInteger) {
+      kind.setSafe(index, KIND_BIG_INTEGER);
+      text.setSafe(index, value.toString().getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof BigDecimal) {
+      kind.setSafe(index, KIND_BIG_DECIMAL);
+      text.setSafe(index, value.toString().getBytes(StandardCharsets.UTF_8));
+    } else {
+      throw new IllegalArgumentException("Unsupported value type [" + value.getClass() + "].");
+    }
+  }
+
+  /**
+   * Reads the value at the index of the struct.
+   *
+   * @param index
+   *     the index
+   * @return the value
+   * @throws IllegalArgumentException
+   *     if the kind is unknown
+   */
+  Object read(int index) {
+    final byte valueKind = kind.get(index);
+    switch (valueKind) {
+      case KIND_NULL:
+        return null;
+      case KIND_STRING:
+        return text(index);
+      case KIND_BOOLEAN:
+        return 0 != longs.get(index);
+      case KIND_BYTE:
+        return (byte) longs.get(index);
+      case KIND_SHORT:
+        return (short) longs.get(index);
+      case KIND_INT:
+        return (int) longs.get(index);
+      case KIND_LONG:
+        return longs.get(index);
+      case KIND_FLOAT:
+        return (float) doubles.get(index);
+      case KIND_DOUBLE:
+        return doubles.get(index);
+      case KIND_BIG_INTEGER:
+        return new BigInteger(text(index));
+      case KIND_BIG_DECIMAL:
+        return new BigDecimal(text(index));
+      default:
+        throw new IllegalArgumentException("Unknown value kind [" + valueKind + "].");
+    }
+  }
+
+  private String text(int index) {
+    return new String(text.get(index), StandardCharsets.UTF_8);
+  }
+}
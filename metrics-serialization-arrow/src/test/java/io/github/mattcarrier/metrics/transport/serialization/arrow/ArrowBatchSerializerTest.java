@@ -0,0 +1,179 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.arrow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests the {@link ArrowBatchSerializer} and {@link ArrowConverter}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ArrowBatchSerializerTest {
+  private static final Map<String, Object> VALUES = ImmutableMap.<String, Object>builder()
+      .put("string", "héllo € 😀").put("boolean", true).put("byte", (byte) -3).put("short", (short) 300)
+      .put("int", Integer.MIN_VALUE).put("long", Long.MAX_VALUE).put("float", 1.5f).put("double", -2.25d)
+      .put("bigInteger", new BigInteger("-123456789012345678901234567890"))
+      .put("bigDecimal", new BigDecimal("3.14159265358979323846")).build();
+
+  private final ArrowBatchSerializer serializer = new ArrowBatchSerializer(2);
+
+  @After
+  public void close() {
+    serializer.close();
+  }
+
+  @Test
+  public void serialize() throws Exception {
+    final List<TransportableMetric> metrics = metrics();
+    assertEquals(metrics, serializer.deserialize(serializer.serialize(metrics)));
+  }
+
+  @Test
+  public void serializeValues() throws Exception {
+    final List<TransportableMetric> metrics = new ArrayList<>();
+    VALUES.values().forEach(value -> metrics.add(new TransportableMetric(
+        "gauge", ZonedDateTime.now(ZoneId.of("Europe/Paris")), VALUES,
+        ImmutableSet.of(new TransportableGauge<>(value)))));
+    metrics.add(new TransportableMetric("null", ZonedDateTime.now(), ImmutableSet.of(new TransportableGauge<>(null))));
+    assertEquals(metrics, serializer.deserialize(serializer.serialize(metrics)));
+  }
+
+  @Test
+  public void serializeEmpty() throws Exception {
+    assertEquals(ImmutableList.of(), serializer.deserialize(serializer.serialize(ImmutableList.of())));
+  }
+
+  @Test
+  public void readVectors() throws Exception {
+    final List<TransportableMetric> metrics = metrics();
+    long total = 0;
+    int batches = 0;
+    try (ArrowStreamReader reader = serializer.reader(new ByteArrayInputStream(serializer.serialize(metrics)))) {
+      while (reader.loadNextBatch()) {
+        batches++;
+        final BigIntVector counts = (BigIntVector) reader.getVectorSchemaRoot().getVector(MetricColumns.COUNT);
+        for (int row = 0; row < counts.getValueCount(); row++) {
+          total += counts.isNull(row) ? 0 : counts.get(row);
+        }
+      }
+    }
+
+    assertEquals(3, batches);
+    assertEquals(42 + 7 + 5, total);
+  }
+
+  @Test
+  public void streamsLeftOpen() throws Exception {
+    final AtomicBoolean isClosed = new AtomicBoolean();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        isClosed.set(true);
+      }
+    };
+    serializer.serialize(metrics(), out);
+    assertFalse(isClosed.get());
+
+    final InputStream in = new ByteArrayInputStream(out.toByteArray()) {
+      @Override
+      public void close() {
+        isClosed.set(true);
+      }
+    };
+    assertEquals(metrics(), serializer.deserialize(in));
+    assertFalse(isClosed.get());
+  }
+
+  @Test
+  public void convertVectors() throws Exception {
+    final List<TransportableMetric> metrics = metrics();
+    try (RootAllocator allocator = new RootAllocator();
+         VectorSchemaRoot root = ArrowConverter.toVectors(metrics, allocator)) {
+      assertEquals(metrics.size(), root.getRowCount());
+      assertEquals(metrics, ArrowConverter.fromVectors(root));
+
+      ArrowConverter.write(metrics.subList(1, 2), root);
+      assertEquals(metrics.subList(1, 2), ArrowConverter.fromVectors(root));
+      assertTrue(root.getVector(MetricColumns.MEAN_RATE).isNull(0));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void duplicateTransportables() throws Exception {
+    serializer.serialize(ImmutableList.of(new TransportableMetric(
+        "name", ZonedDateTime.now(), ImmutableSet.of(new TransportableCounter(1), new TransportableMeter()))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedValue() throws Exception {
+    serializer.serialize(ImmutableList.of(new TransportableMetric(
+        "name", ZonedDateTime.now(), ImmutableSet.of(new TransportableGauge<>(new Object())))));
+  }
+
+  private static List<TransportableMetric> metrics() {
+    final ZonedDateTime timestamp = ZonedDateTime.ofInstant(Instant.ofEpochSecond(1_700_000_000, 123_456_789),
+                                                            ZoneOffset.UTC);
+    final Map<String, Object> meta = ImmutableMap.of("host", "web-1", "shard", 3);
+    final TransportableSnapshot snapshot = new TransportableSnapshot(new long[] { 1, 2, 3, 5, 8 }, 8, 3.8, 1, 2.6,
+                                                                     3, 5, 8, 8, 8, 8);
+    return ImmutableList.of(
+        new TransportableMetric("counter", timestamp, meta, ImmutableSet.of(new TransportableCounter(42))),
+        new TransportableMetric("histogram", timestamp.withZoneSameInstant(ZoneId.of("America/New_York")), meta,
+                                ImmutableSet.of(new TransportableCounter(7), snapshot)),
+        new TransportableMetric("timer", ZonedDateTime.ofInstant(Instant.ofEpochSecond(-1, 1), ZoneOffset.UTC),
+                                ImmutableSet.<Transportable>of(new TransportableMeter(5, 1.5, 1.2, 1.1, 1.0),
+                                                               snapshot)),
+        new TransportableMetric("gauge", timestamp, meta, ImmutableSet.of(new TransportableGauge<>(0.5))),
+        new TransportableMetric("empty", timestamp, ImmutableSet.of())
+    );
+  }
+}
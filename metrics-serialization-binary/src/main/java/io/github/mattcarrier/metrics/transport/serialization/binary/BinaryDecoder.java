@@ -0,0 +1,235 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.binary;
+
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BIG_DECIMAL;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BIG_INTEGER;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BOOLEAN;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BYTE;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.COUNTER;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.DOUBLE;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.FLOAT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.GAUGE;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.INT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.LONG;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.METER;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.NULL;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.SHORT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.SNAPSHOT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.SORTED;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.STRING;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.VERSION;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Reads {@link TransportableMetric}s in the {@link BinaryFormat}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class BinaryDecoder {
+  private BinaryDecoder() {
+
+  }
+
+  /**
+   * Reads a metric from the big-endian buffer, advancing its position past
+   * the metric.
+   *
+   * @param in
+   *     the buffer to read from
+   * @return the metric
+   * @throws IOException
+   *     if the version is not supported or the metric is malformed
+   * @throws java.nio.BufferUnderflowException
+   *     if the metric is truncated
+   */
+  static TransportableMetric read(ByteBuffer in) throws IOException {
+    final byte version = in.get();
+    if (VERSION != version) {
+      throw new IOException("Unsupported binary format version [" + version + "].");
+    }
+
+    final String name = readString(in);
+    final ZonedDateTime timestamp = readTimestamp(in);
+
+    final int metaSize = readLength(in);
+    final ImmutableMap.Builder<String, Object> meta = ImmutableMap.builder();
+    for (int count = 0; count < metaSize; count++) {
+      meta.put(readString(in), readValue(in));
+    }
+
+    final int transportablesSize = readLength(in);
+    final ImmutableSet.Builder<Transportable> transportables = ImmutableSet.builder();
+    for (int count = 0; count < transportablesSize; count++) {
+      final byte tag = in.get();
+      final int length = readLength(in);
+      final int end = in.position() + length;
+      final Transportable transportable = readBody(in, tag);
+      if (null != transportable) {
+        transportables.add(transportable);
+      }
+
+      in.position(end);
+    }
+
+    return new TransportableMetric(name, timestamp, meta.build(), transportables.build());
+  }
+
+  private static Transportable readBody(ByteBuffer in, byte tag) throws IOException {
+    switch (tag) {
+      case COUNTER:
+        return new TransportableCounter(readSigned(in));
+      case METER:
+        return new TransportableMeter(readSigned(in), in.getDouble(), in.getDouble(), in.getDouble(),
+                                      in.getDouble()
+        );
+      case GAUGE:
+        return new TransportableGauge<>(readValue(in));
+      case SNAPSHOT:
+        final long[] values = readValues(in);
+        final long max = readSigned(in);
+        final long min = readSigned(in);
+        return new TransportableSnapshot(values, max, in.getDouble(), min, in.getDouble(), in.getDouble(),
+                                         in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(),
+                                         in.getDouble()
+        );
+      default:
+        return null;
+    }
+  }
+
+  private static long[] readValues(ByteBuffer in) throws IOException {
+    final long[] values = new long[readLength(in)];
+    final boolean isSorted = 0 != (in.get() & SORTED);
+    if (!isSorted || 0 == values.length) {
+      for (int index = 0; index < values.length; index++) {
+        values[index] = readSigned(in);
+      }
+
+      return values;
+    }
+
+    values[0] = readSigned(in);
+    for (int index = 1; index < values.length; index++) {
+      values[index] = values[index - 1] + readVarLong(in);
+    }
+
+    return values;
+  }
+
+  private static ZonedDateTime readTimestamp(ByteBuffer in) throws IOException {
+    final long epochSecond = readSigned(in);
+    final long nano = readVarLong(in);
+    return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), ZoneId.of(readString(in)));
+  }
+
+  private static Object readValue(ByteBuffer in) throws IOException {
+    final byte tag = in.get();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case BOOLEAN:
+        return 0 != in.get();
+      case BYTE:
+        return in.get();
+      case SHORT:
+        return (short) readSigned(in);
+      case INT:
+        return (int) readSigned(in);
+      case LONG:
+        return readSigned(in);
+      case FLOAT:
+        return in.getFloat();
+      case DOUBLE:
+        return in.getDouble();
+      case BIG_INTEGER:
+        return new BigInteger(readBytes(in));
+      case BIG_DECIMAL:
+        final int scale = (int) readSigned(in);
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+      default:
+        throw new IOException("Unknown value tag [" + tag + "].");
+    }
+  }
+
+  private static byte[] readBytes(ByteBuffer in) throws IOException {
+    final byte[] bytes = new byte[readLength(in)];
+    in.get(bytes);
+    return bytes;
+  }
+
+  private static String readString(ByteBuffer in) throws IOException {
+    final int length = readLength(in);
+    if (in.hasArray()) {
+      final String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+      in.position(in.position() + length);
+      return value;
+    }
+
+    final byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int readLength(ByteBuffer in) throws IOException {
+    final long length = readVarLong(in);
+    if (length > in.remaining()) {
+      throw new IOException("Length [" + length + "] exceeds the remaining [" + in.remaining() + "] bytes.");
+    }
+
+    return (int) length;
+  }
+
+  private static long readVarLong(ByteBuffer in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      final byte current = in.get();
+      value |= (long) (current & 0x7F) << shift;
+      if (0 <= current) {
+        return value;
+      }
+    }
+
+    throw new IOException("Malformed varint.");
+  }
+
+  private static long readSigned(ByteBuffer in) throws IOException {
+    final long value = readVarLong(in);
+    return value >>> 1 ^ -(value & 1);
+  }
+}
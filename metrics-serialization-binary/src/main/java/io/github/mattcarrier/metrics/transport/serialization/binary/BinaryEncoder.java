@@ -0,0 +1,327 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.binary;
+
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BIG_DECIMAL;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BIG_INTEGER;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BOOLEAN;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.BYTE;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.COUNTER;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.DOUBLE;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.FLOAT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.GAUGE;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.INT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.LONG;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.METER;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.NULL;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.SHORT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.SNAPSHOT;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.SORTED;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.STRING;
+import static io.github.mattcarrier.metrics.transport.serialization.binary.BinaryFormat.VERSION;
+
+import io.github.mattcarrier.metrics.transport.serialization.Utf8;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writes {@link TransportableMetric}s in the {@link BinaryFormat} into a
+ * reusable, growing buffer in a single pass. Lengths are reserved a byte and
+ * backpatched, shifting the written bytes when a length needs more. Not
+ * thread safe.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class BinaryEncoder {
+  private static final int MAX_VARLONG_SIZE = 10;
+
+  private byte[] buffer;
+  private int    position;
+
+  BinaryEncoder(int initialCapacity) {
+    this.buffer = new byte[initialCapacity];
+  }
+
+  /**
+   * The buffer holding the last written metric from index 0 to
+   * {@link #position()}.
+   *
+   * @return the buffer
+   */
+  byte[] buffer() {
+    return buffer;
+  }
+
+  /**
+   * The number of bytes of the last written metric.
+   *
+   * @return the position
+   */
+  int position() {
+    return position;
+  }
+
+  /**
+   * Writes the metric from the start of the buffer. Transportables of unknown
+   * types are left out.
+   *
+   * @param metric
+   *     the metric
+   * @return the encoder
+   * @throws IllegalArgumentException
+   *     if a meta or gauge value is of an unsupported type
+   */
+  BinaryEncoder write(TransportableMetric metric) {
+    position = 0;
+    ensure(1);
+    buffer[position++] = VERSION;
+    writeString(metric.getName());
+    writeTimestamp(metric.getTimestamp());
+
+    writeVarLong(metric.getMeta().size());
+    for (Map.Entry<String, Object> entry : metric.getMeta().entrySet()) {
+      writeString(entry.getKey());
+      writeValue(entry.getValue());
+    }
+
+    int count = 0;
+    for (Transportable transportable : metric.getTransportables()) {
+      if (0 != tag(transportable)) {
+        count++;
+      }
+    }
+
+    writeVarLong(count);
+    for (Transportable transportable : metric.getTransportables()) {
+      final byte tag = tag(transportable);
+      if (0 == tag) {
+        continue;
+      }
+
+      writeByte(tag);
+      final int lengthAt = reserveLength();
+      writeBody(transportable);
+      writeLength(lengthAt);
+    }
+
+    return this;
+  }
+
+  private static byte tag(Transportable transportable) {
+    if (transportable instanceof TransportableMeter) {
+      return METER;
+    } else if (transportable instanceof TransportableCounter) {
+      return COUNTER;
+    } else if (transportable instanceof TransportableGauge) {
+      return GAUGE;
+    } else if (transportable instanceof TransportableSnapshot) {
+      return SNAPSHOT;
+    }
+
+    return 0;
+  }
+
+  private void writeBody(Transportable transportable) {
+    if (transportable instanceof TransportableMeter) {
+      final TransportableMeter meter = (TransportableMeter) transportable;
+      writeSigned(meter.getCount());
+      writeDouble(meter.getFifteenMinuteRate());
+      writeDouble(meter.getFiveMinuteRate());
+      writeDouble(meter.getMeanRate());
+      writeDouble(meter.getOneMinuteRate());
+    } else if (transportable instanceof TransportableCounter) {
+      writeSigned(((TransportableCounter) transportable).getCount());
+    } else if (transportable instanceof TransportableGauge) {
+      writeValue(((TransportableGauge<?>) transportable).getValue());
+    } else {
+      final TransportableSnapshot snapshot = (TransportableSnapshot) transportable;
+      writeValues(snapshot.getValues());
+      writeSigned(snapshot.getMax());
+      writeSigned(snapshot.getMin());
+      writeDouble(snapshot.getMean());
+      writeDouble(snapshot.getStdDev());
+      writeDouble(snapshot.getMedian());
+      writeDouble(snapshot.get75thPercentile());
+      writeDouble(snapshot.get95thPercentile());
+      writeDouble(snapshot.get98thPercentile());
+      writeDouble(snapshot.get99thPercentile());
+      writeDouble(snapshot.get999thPercentile());
+    }
+  }
+
+  private static boolean isSorted(long[] values) {
+    for (int index = 1; index < values.length; index++) {
+      if (values[index] < values[index - 1]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void writeValues(long[] values) {
+    writeVarLong(values.length);
+    if (0 == values.length || !isSorted(values)) {
+      writeByte((byte) 0);
+      for (long value : values) {
+        writeSigned(value);
+      }
+
+      return;
+    }
+
+    writeByte((byte) SORTED);
+    writeSigned(values[0]);
+    for (int index = 1; index < values.length; index++) {
+      writeVarLong(values[index] - values[index - 1]);
+    }
+  }
+
+  private void writeTimestamp(ZonedDateTime timestamp) {
+    writeSigned(timestamp.toEpochSecond());
+    writeVarLong(timestamp.getNano());
+    writeString(timestamp.getZone().getId());
+  }
+
+  private void writeValue(Object value) {
+    if (null == value) {
+      writeByte(NULL);
+    } else if (value instanceof String) {
+      writeByte(STRING);
+      writeString((String) value);
+    } else if (value instanceof Boolean) {
+      writeByte(BOOLEAN);
+      writeByte((byte) ((Boolean) value ? 1 : 0));
+    } else if (value instanceof Byte) {
+      writeByte(BYTE);
+      writeByte((Byte) value);
+    } else if (value instanceof Short) {
+      writeByte(SHORT);
+      writeSigned((Short) value);
+    } else if (value instanceof Integer) {
+      writeByte(INT);
+      writeSigned((Integer) value);
+    } else if (value instanceof Long) {
+      writeByte(LONG);
+      writeSigned((Long) value);
+    } else if (value instanceof Float) {
+      writeByte(FLOAT);
+      writeInt(Float.floatToRawIntBits((Float) value));
+    } else if (value instanceof Double) {
+      writeByte(DOUBLE);
+      writeDouble((Double) value);
+    } else if (value instanceof BigInteger) {
+      writeByte(BIG_INTEGER);
+      writeBytes(((BigInteger) value).toByteArray());
+    } else if (value instanceof BigDecimal) {
+      final BigDecimal decimal = (BigDecimal) value;
+      writeByte(BIG_DECIMAL);
+      writeSigned(decimal.scale());
+      writeBytes(decimal.unscaledValue().toByteArray());
+    } else {
+      throw new IllegalArgumentException("Unsupported value type [" + value.getClass() + "].");
+    }
+  }
+
+  private void writeBytes(byte[] bytes) {
+    writeVarLong(bytes.length);
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  private void writeString(String value) {
+    final int lengthAt = reserveLength();
+    ensure(Utf8.maxEncodedLength(value));
+    position = Utf8.encode(value, buffer, position);
+    writeLength(lengthAt);
+  }
+
+  private int reserveLength() {
+    ensure(1);
+    return position++;
+  }
+
+  private void writeLength(int lengthAt) {
+    final int length = position - lengthAt - 1;
+    final int size = varLongSize(length);
+    if (1 < size) {
+      ensure(size - 1);
+      System.arraycopy(buffer, lengthAt + 1, buffer, lengthAt + size, length);
+    }
+
+    final int end = position + size - 1;
+    position = lengthAt;
+    writeVarLong(length);
+    position = end;
+  }
+
+  private static int varLongSize(long value) {
+    return 64 == Long.numberOfLeadingZeros(value) ? 1 : (70 - Long.numberOfLeadingZeros(value)) / 7;
+  }
+
+  private void writeByte(byte value) {
+    ensure(1);
+    buffer[position++] = value;
+  }
+
+  private void writeInt(int value) {
+    ensure(Integer.BYTES);
+    buffer[position++] = (byte) (value >>> 24);
+    buffer[position++] = (byte) (value >>> 16);
+    buffer[position++] = (byte) (value >>> 8);
+    buffer[position++] = (byte) value;
+  }
+
+  private void writeDouble(double value) {
+    final long bits = Double.doubleToRawLongBits(value);
+    writeInt((int) (bits >>> 32));
+    writeInt((int) bits);
+  }
+
+  private void writeVarLong(long value) {
+    ensure(MAX_VARLONG_SIZE);
+    long remaining = value;
+    while (0 != (remaining & ~0x7FL)) {
+      buffer[position++] = (byte) (remaining & 0x7F | 0x80);
+      remaining >>>= 7;
+    }
+
+    buffer[position++] = (byte) remaining;
+  }
+
+  private void writeSigned(long value) {
+    writeVarLong(value << 1 ^ value >> 63);
+  }
+
+  private void ensure(int bytes) {
+    if (position + bytes > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(2 * buffer.length, position + bytes));
+    }
+  }
+}
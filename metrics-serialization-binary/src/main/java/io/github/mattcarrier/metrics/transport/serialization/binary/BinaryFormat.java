@@ -0,0 +1,78 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.binary;
+
+/**
+ * Constants of the binary wire format, version {@value #VERSION}. All
+ * multi-byte fixed width values are big-endian.
+ *
+ * <pre>
+ * metric         = version:u8 name:string timestamp meta transportables
+ * timestamp      = epochSecond:svarint nano:uvarint zone:string
+ * meta           = count:uvarint (key:string value)*
+ * transportables = count:uvarint (tag:u8 length:uvarint body)*
+ * string         = length:uvarint utf8:byte[length]
+ * value          = tag:u8 payload
+ *
+ * counter  (1)   = count:svarint
+ * meter    (2)   = count:svarint fifteenMinute:f64 fiveMinute:f64 mean:f64 oneMinute:f64
+ * gauge    (3)   = value
+ * snapshot (4)   = size:uvarint flags:u8 values max:svarint min:svarint mean:f64 stdDev:f64 median:f64
+ *                  p75:f64 p95:f64 p98:f64 p99:f64 p999:f64
+ * values         = first:svarint delta:uvarint*  when flags has SORTED
+ *                | value:svarint*                 otherwise
+ *
+ * null (0) | string (1) string | boolean (2) u8 | byte (3) u8 | short (4) svarint | int (5) svarint
+ * | long (6) svarint | float (7) f32 | double (8) f64 | big integer (9) length:uvarint two's complement
+ * | big decimal (10) scale:svarint length:uvarint unscaled two's complement
+ * </pre>
+ *
+ * <p>A uvarint is an unsigned LEB128 varint and an svarint is a zig-zag
+ * encoded uvarint. Decoders skip transportables with unknown tags and any
+ * bytes past the fields they know within a transportable's length, so new
+ * transportables and trailing fields can be added without changing the
+ * version. The version is only incremented for incompatible changes.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class BinaryFormat {
+  static final byte VERSION = 1;
+
+  static final byte COUNTER  = 1;
+  static final byte METER    = 2;
+  static final byte GAUGE    = 3;
+  static final byte SNAPSHOT = 4;
+
+  static final int SORTED = 1;
+
+  static final byte NULL        = 0;
+  static final byte STRING      = 1;
+  static final byte BOOLEAN     = 2;
+  static final byte BYTE        = 3;
+  static final byte SHORT       = 4;
+  static final byte INT         = 5;
+  static final byte LONG        = 6;
+  static final byte FLOAT       = 7;
+  static final byte DOUBLE      = 8;
+  static final byte BIG_INTEGER = 9;
+  static final byte BIG_DECIMAL = 10;
+
+  private BinaryFormat() {
+
+  }
+}
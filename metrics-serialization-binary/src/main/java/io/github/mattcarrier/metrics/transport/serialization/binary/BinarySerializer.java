@@ -0,0 +1,95 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.binary;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerImpl;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * {@link Serializer} implementation writing a hand-written, versioned binary
+ * format without reflection or class names on the wire, so it can be read
+ * outside of the JVM. See {@link BinaryFormat} for the layout.
+ *
+ * <p>Gauge and meta values must be {@code null}, strings, primitive wrappers
+ * other than {@link Character}, {@link java.math.BigInteger} or
+ * {@link java.math.BigDecimal}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@SerializerImpl
+public class BinarySerializer implements Serializer {
+  private final ThreadLocal<BinaryEncoder> encoder = ThreadLocal.withInitial(() -> new BinaryEncoder(512));
+
+  @Override
+  public String contentType() {
+    return "application/x-metrics-binary";
+  }
+
+  @Override
+  public int formatVersion() {
+    return BinaryFormat.VERSION;
+  }
+
+  @Override
+  public byte[] serialize(TransportableMetric metric) throws Exception {
+    final BinaryEncoder written = encoder.get().write(metric);
+    return Arrays.copyOf(written.buffer(), written.position());
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    final BinaryEncoder written = encoder.get().write(metric);
+    out.write(written.buffer(), 0, written.position());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The buffer's position is left unchanged if the metric does not fit.
+   */
+  @Override
+  public int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    final BinaryEncoder written = encoder.get().write(metric);
+    if (buffer.remaining() < written.position()) {
+      throw new BufferOverflowException();
+    }
+
+    buffer.put(written.buffer(), 0, written.position());
+    return written.position();
+  }
+
+  @Override
+  public TransportableMetric deserialize(byte[] serialized) throws Exception {
+    return BinaryDecoder.read(ByteBuffer.wrap(serialized));
+  }
+
+  @Override
+  public TransportableMetric deserialize(ByteBuffer serialized) throws Exception {
+    final ByteBuffer in = serialized.duplicate().order(ByteOrder.BIG_ENDIAN);
+    final TransportableMetric metric = BinaryDecoder.read(in);
+    serialized.position(in.position());
+    return metric;
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import io.github.mattcarrier.metrics.transport.serialization.AbstractSerializerTest;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Tests serialization for {@link TransportableMetric} objects using the
+ * {@link BinarySerializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class BinarySerializerTest extends AbstractSerializerTest {
+  @Override
+  protected Serializer serializer() {
+    return new BinarySerializer();
+  }
+
+  @Test
+  public void wireFormat() throws Exception {
+    final TransportableMetric metric = new TransportableMetric(
+        "a", ZonedDateTime.ofInstant(Instant.ofEpochSecond(1, 2), ZoneOffset.UTC), ImmutableMap.of("k", -1),
+        ImmutableSet.of(new TransportableCounter(3))
+    );
+    assertArrayEquals(new byte[] {
+        1, 1, 'a', 2, 2, 1, 'Z', 1, 1, 'k', 5, 1, 1, 1, 1, 6
+    }, serializer().serialize(metric));
+  }
+
+  @Test
+  public void skipsUnknownTransportables() throws Exception {
+    final byte[] serialized = new byte[] {
+        1, 1, 'a', 2, 2, 1, 'Z', 0, 2, 99, 3, 7, 7, 7, 1, 1, 6
+    };
+    assertEquals(ImmutableSet.of(new TransportableCounter(3)),
+                 serializer().deserialize(serialized).getTransportables()
+    );
+  }
+
+  @Test(expected = IOException.class)
+  public void unsupportedVersion() throws Exception {
+    serializer().deserialize(new byte[] { 2, 1, 'a', 2, 2, 1, 'Z', 0, 0 });
+  }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import com.google.common.io.ByteStreams;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link Compressor} implementation utilizing the
+ * <a href="https://github.com/lz4/lz4-java">LZ4</a> frame format.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@CompressorImpl
+public class Lz4Compressor implements Compressor {
+  @Override
+  public String encoding() {
+    return "lz4";
+  }
+
+  @Override
+  public byte[] compress(byte[] serialized) throws Exception {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream(serialized.length);
+    try (final LZ4FrameOutputStream lz4 = new LZ4FrameOutputStream(baos)) {
+      lz4.write(serialized);
+    }
+
+    return baos.toByteArray();
+  }
+
+  @Override
+  public byte[] decompress(byte[] compressed) throws Exception {
+    // LZ4FrameInputStream.available() cannot be relied upon so copy rather than ByteStreams.toByteArray
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream(compressed.length * 2);
+    try (final LZ4FrameInputStream lz4 = new LZ4FrameInputStream(new ByteArrayInputStream(compressed))) {
+      ByteStreams.copy(lz4, baos);
+    }
+
+    return baos.toByteArray();
+  }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import org.xerial.snappy.Snappy;
+
+/**
+ * {@link Compressor} implementation utilizing
+ * <a href="https://github.com/xerial/snappy-java">Snappy</a>.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@CompressorImpl
+public class SnappyCompressor implements Compressor {
+  @Override
+  public String encoding() {
+    return "snappy";
+  }
+
+  @Override
+  public byte[] compress(byte[] serialized) throws Exception {
+    return Snappy.compress(serialized);
+  }
+
+  @Override
+  public byte[] decompress(byte[] compressed) throws Exception {
+    return Snappy.uncompress(compressed);
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+
+/**
+ * {@link Compressor} implementation utilizing
+ * <a href="https://github.com/luben/zstd-jni">Zstandard</a>.
+ *
+ * <p>The decompressed size is taken from the frame header, so frames that do
+ * not declare it, or declare more than the maximum decompressed size, are
+ * rejected rather than trusted for the allocation.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@CompressorImpl
+public class ZstdCompressor implements Compressor {
+  /**
+   * The default maximum decompressed size, 16 MiB.
+   */
+  public static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 16 * 1024 * 1024;
+
+  private final int level;
+  private final int maxDecompressedSize;
+
+  /**
+   * Creates a {@link ZstdCompressor} using the default compression level.
+   */
+  public ZstdCompressor() {
+    this(Zstd.defaultCompressionLevel());
+  }
+
+  public ZstdCompressor(int level) {
+    this(level, DEFAULT_MAX_DECOMPRESSED_SIZE);
+  }
+
+  /**
+   * Creates a {@link ZstdCompressor}.
+   *
+   * @param level
+   *     the compression level
+   * @param maxDecompressedSize
+   *     the largest decompressed size accepted from a frame header
+   */
+  public ZstdCompressor(int level, int maxDecompressedSize) {
+    Preconditions.checkArgument(0 < maxDecompressedSize, "maxDecompressedSize must be positive");
+    this.level = level;
+    this.maxDecompressedSize = maxDecompressedSize;
+  }
+
+  @Override
+  public String encoding() {
+    return "zstd";
+  }
+
+  @Override
+  public byte[] compress(byte[] serialized) throws Exception {
+    return Zstd.compress(serialized, level);
+  }
+
+  @Override
+  public byte[] decompress(byte[] compressed) throws Exception {
+    return Zstd.decompress(compressed, decompressedSize(compressed, maxDecompressedSize));
+  }
+
+  /**
+   * Reads the decompressed size declared by the frame header.
+   *
+   * @param compressed
+   *     the compressed frame
+   * @param maxDecompressedSize
+   *     the largest accepted decompressed size
+   * @return the decompressed size
+   * @throws IOException
+   *     if the frame does not declare its size or declares more than the
+   *     maximum
+   */
+  static int decompressedSize(byte[] compressed, int maxDecompressedSize) throws IOException {
+    final long size = Zstd.getFrameContentSize(compressed);
+    if (0 > size) {
+      throw new IOException("Zstd frame does not declare its decompressed size.");
+    }
+    if (maxDecompressedSize < size) {
+      throw new IOException("Decompressed size [" + size + "] exceeds the maximum of " + maxDecompressedSize);
+    }
+
+    return (int) size;
+  }
+}
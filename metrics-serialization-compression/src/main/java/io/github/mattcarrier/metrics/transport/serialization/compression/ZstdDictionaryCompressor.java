@@ -0,0 +1,239 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Compressor} implementation utilizing
+ * <a href="https://github.com/luben/zstd-jni">Zstandard</a> with trained
+ * dictionaries, which compresses small single metric messages far better
+ * than generic compression.
+ *
+ * <p>Every compressed frame carries the id of the dictionary it was compressed
+ * with.  Dictionaries are rotated by registering and activating a new
+ * dictionary; previously registered dictionaries remain available for
+ * decompressing messages still in flight until they are retired.  Unknown
+ * dictionary ids are loaded on demand through the {@link DictionaryProvider}.
+ * As with the {@link ZstdCompressor}, frames must declare a decompressed size
+ * no larger than the maximum.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ZstdDictionaryCompressor implements Compressor {
+  private final int                             level;
+  private final int                             maxDecompressedSize;
+  private final DictionaryProvider              provider;
+  private final ConcurrentMap<Long, Dictionary> dictionaries = new ConcurrentHashMap<>();
+
+  private volatile Dictionary active;
+
+  /**
+   * Creates a {@link ZstdDictionaryCompressor} that only decompresses with
+   * registered dictionaries.
+   */
+  public ZstdDictionaryCompressor() {
+    this(Zstd.defaultCompressionLevel(), null);
+  }
+
+  /**
+   * Creates a {@link ZstdDictionaryCompressor}.
+   *
+   * @param level
+   *     the compression level
+   * @param provider
+   *     loads dictionaries by id when decompressing, may be null
+   */
+  public ZstdDictionaryCompressor(int level, DictionaryProvider provider) {
+    this(level, ZstdCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE, provider);
+  }
+
+  /**
+   * Creates a {@link ZstdDictionaryCompressor}.
+   *
+   * @param level
+   *     the compression level
+   * @param maxDecompressedSize
+   *     the largest decompressed size accepted from a frame header
+   * @param provider
+   *     loads dictionaries by id when decompressing, may be null
+   */
+  public ZstdDictionaryCompressor(int level, int maxDecompressedSize, DictionaryProvider provider) {
+    Preconditions.checkArgument(0 < maxDecompressedSize, "maxDecompressedSize must be positive");
+    this.level = level;
+    this.maxDecompressedSize = maxDecompressedSize;
+    this.provider = provider;
+  }
+
+  @Override
+  public String encoding() {
+    return "zstd-dict";
+  }
+
+  /**
+   * Registers a dictionary for compression and decompression.
+   *
+   * @param dictionary
+   *     the trained dictionary
+   * @return the dictionary id
+   */
+  public long register(byte[] dictionary) {
+    final long id = Zstd.getDictIdFromDict(dictionary);
+    Preconditions.checkArgument(0 != id, "Only trained dictionaries with an id are supported.");
+    dictionaries.putIfAbsent(id, new Dictionary(dictionary, level));
+    return id;
+  }
+
+  /**
+   * Compresses all subsequent messages with the given registered dictionary.
+   *
+   * @param id
+   *     the dictionary id
+   */
+  public void activate(long id) {
+    final Dictionary dictionary = dictionaries.get(id);
+    Preconditions.checkArgument(null != dictionary, "Unknown dictionary [%s].", id);
+    active = dictionary;
+  }
+
+  /**
+   * Registers and activates the given dictionary.
+   *
+   * @param dictionary
+   *     the trained dictionary
+   * @return the dictionary id
+   */
+  public long rotate(byte[] dictionary) {
+    final long id = register(dictionary);
+    activate(id);
+    return id;
+  }
+
+  /**
+   * Removes a dictionary that is no longer in use.
+   *
+   * @param id
+   *     the dictionary id
+   */
+  public void retire(long id) {
+    Preconditions.checkArgument(null == active || active != dictionaries.get(id), "Dictionary [%s] is active.", id);
+    dictionaries.remove(id);
+  }
+
+  /**
+   * Retrieves the id of the dictionary the given message was compressed
+   * with.
+   *
+   * @param compressed
+   *     the compressed message
+   * @return the dictionary id or 0 if no dictionary was used
+   */
+  public static long dictionaryId(byte[] compressed) {
+    return Zstd.getDictIdFromFrame(compressed);
+  }
+
+  @Override
+  public byte[] compress(byte[] serialized) throws Exception {
+    final Dictionary dictionary = active;
+    if (null == dictionary) {
+      throw new IllegalStateException("No dictionary has been activated.");
+    }
+
+    return Zstd.compress(serialized, dictionary.compress);
+  }
+
+  @Override
+  public byte[] decompress(byte[] compressed) throws Exception {
+    final int size = ZstdCompressor.decompressedSize(compressed, maxDecompressedSize);
+    final long id = dictionaryId(compressed);
+    if (0 == id) {
+      return Zstd.decompress(compressed, size);
+    }
+
+    return Zstd.decompress(compressed, dictionary(id).decompress, size);
+  }
+
+  private Dictionary dictionary(long id) throws Exception {
+    final Dictionary dictionary = dictionaries.get(id);
+    if (null != dictionary) {
+      return dictionary;
+    }
+
+    final byte[] loaded = null == provider ? null : provider.dictionary(id);
+    if (null == loaded) {
+      throw new IOException("Unknown dictionary [" + id + "].");
+    }
+
+    register(loaded);
+    return dictionaries.get(id);
+  }
+
+  /**
+   * Loads dictionaries by id.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  @FunctionalInterface
+  public interface DictionaryProvider {
+    /**
+     * Loads the dictionary with the given id.
+     *
+     * @param id
+     *     the dictionary id
+     * @return the dictionary or null if it is unknown
+     * @throws Exception
+     *     if there is an issue loading the dictionary
+     */
+    byte[] dictionary(long id) throws Exception;
+
+    /**
+     * Loads dictionaries from files named {@code <id>.dict} within the given
+     * directory.
+     *
+     * @param directory
+     *     the dictionary directory
+     * @return the {@link DictionaryProvider}
+     */
+    static DictionaryProvider directory(Path directory) {
+      return id -> {
+        final Path file = directory.resolve(id + ".dict");
+        return Files.exists(file) ? Files.readAllBytes(file) : null;
+      };
+    }
+  }
+
+  private static class Dictionary {
+    private final ZstdDictCompress   compress;
+    private final ZstdDictDecompress decompress;
+
+    private Dictionary(byte[] dictionary, int level) {
+      this.compress = new ZstdDictCompress(dictionary, level);
+      this.decompress = new ZstdDictDecompress(dictionary);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictTrainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Trains a Zstandard dictionary from a sample of serialized
+ * {@link TransportableMetric}s for use with the
+ * {@link ZstdDictionaryCompressor}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ZstdDictionaryTrainer {
+  private final Serializer      serializer;
+  private final ZstdDictTrainer trainer;
+
+  /**
+   * Creates a {@link ZstdDictionaryTrainer}.
+   *
+   * @param serializer
+   *     the serializer used by the producers
+   * @param sampleSize
+   *     the maximum total size in bytes of the samples
+   * @param dictionarySize
+   *     the maximum size in bytes of the trained dictionary
+   */
+  public ZstdDictionaryTrainer(Serializer serializer, int sampleSize, int dictionarySize) {
+    this.serializer = serializer;
+    this.trainer = new ZstdDictTrainer(sampleSize, dictionarySize);
+  }
+
+  /**
+   * Adds a sample metric.
+   *
+   * @param metric
+   *     the sample metric
+   * @return false if the sample size has been reached
+   * @throws Exception
+   *     if there is an issue serializing the metric
+   */
+  public boolean add(TransportableMetric metric) throws Exception {
+    return trainer.addSample(serializer.serialize(metric));
+  }
+
+  /**
+   * Trains the dictionary from the added samples.
+   *
+   * @return the trained dictionary
+   */
+  public byte[] train() {
+    return trainer.trainSamples();
+  }
+
+  /**
+   * Trains the dictionary and writes it to {@code <id>.dict} within the given
+   * directory so that it can be loaded by
+   * {@link ZstdDictionaryCompressor.DictionaryProvider#directory(Path)}.
+   *
+   * @param directory
+   *     the dictionary directory
+   * @return the trained dictionary
+   * @throws Exception
+   *     if there is an issue writing the dictionary
+   */
+  public byte[] train(Path directory) throws Exception {
+    final byte[] dictionary = train();
+    Files.write(directory.resolve(Zstd.getDictIdFromDict(dictionary) + ".dict"), dictionary);
+    return dictionary;
+  }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CompressorFactoryTest {
+  @Test
+  public void compressors() throws InstantiationException, IllegalAccessException {
+    final CompressorFactory factory = new CompressorFactory();
+    assertEquals(GzipCompressor.class, factory.compressor("gzip").getClass());
+    assertEquals(Lz4Compressor.class, factory.compressor("lz4").getClass());
+    assertEquals(ZstdCompressor.class, factory.compressor("zstd").getClass());
+    assertEquals(SnappyCompressor.class, factory.compressor("snappy").getClass());
+  }
+}
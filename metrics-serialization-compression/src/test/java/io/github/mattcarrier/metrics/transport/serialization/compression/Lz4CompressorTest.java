@@ -0,0 +1,30 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+/**
+ * Tests compression using the {@link Lz4Compressor}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class Lz4CompressorTest extends AbstractCompressorTest {
+  @Override
+  protected Compressor compressor() {
+    return new Lz4Compressor();
+  }
+}
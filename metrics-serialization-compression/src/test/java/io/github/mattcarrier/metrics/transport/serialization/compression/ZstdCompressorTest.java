@@ -0,0 +1,53 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Tests compression using the {@link ZstdCompressor}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ZstdCompressorTest extends AbstractCompressorTest {
+  @Override
+  protected Compressor compressor() {
+    return new ZstdCompressor();
+  }
+
+  @Test(expected = IOException.class)
+  public void unknownSize() throws Exception {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (final ZstdOutputStream zstd = new ZstdOutputStream(baos)) {
+      zstd.write(new byte[1024]);
+    }
+
+    compressor().decompress(baos.toByteArray());
+  }
+
+  @Test(expected = IOException.class)
+  public void exceedsMaxDecompressedSize() throws Exception {
+    final byte[] compressed = new ZstdCompressor().compress(new byte[1024]);
+    new ZstdCompressor(Zstd.defaultCompressionLevel(), 512).decompress(compressed);
+  }
+}
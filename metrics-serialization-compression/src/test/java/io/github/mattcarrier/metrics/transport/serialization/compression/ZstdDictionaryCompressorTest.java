@@ -0,0 +1,144 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+
+/**
+ * Tests compression using the {@link ZstdDictionaryCompressor}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ZstdDictionaryCompressorTest extends AbstractCompressorTest {
+  private static final Serializer serializer = new JavaSerializer();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Override
+  protected Compressor compressor() {
+    final ZstdDictionaryCompressor compressor = new ZstdDictionaryCompressor();
+    compressor.rotate(dictionary("service"));
+    return compressor;
+  }
+
+  @Test
+  public void smallerThanZstd() throws Exception {
+    final byte[] serialized = serializer.serialize(metric("service", 4242));
+    assertTrue(compressor().compress(serialized).length < new ZstdCompressor().compress(serialized).length);
+  }
+
+  @Test
+  public void rotate() throws Exception {
+    final ZstdDictionaryCompressor compressor = new ZstdDictionaryCompressor();
+    final long first = compressor.rotate(dictionary("first"));
+    final byte[] serialized = serializer.serialize(metric("first", 1));
+    final byte[] beforeRotation = compressor.compress(serialized);
+
+    final long second = compressor.rotate(dictionary("second"));
+    assertNotEquals(first, second);
+    assertEquals(first, ZstdDictionaryCompressor.dictionaryId(beforeRotation));
+    assertEquals(second, ZstdDictionaryCompressor.dictionaryId(compressor.compress(serialized)));
+    assertArrayEquals(serialized, compressor.decompress(beforeRotation));
+  }
+
+  @Test
+  public void loadByIdFromDirectory() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final ZstdDictionaryCompressor producer = new ZstdDictionaryCompressor();
+    producer.rotate(train("service").train(directory));
+
+    final byte[] serialized = serializer.serialize(metric("service", 1));
+    final ZstdDictionaryCompressor consumer = new ZstdDictionaryCompressor(
+        3, ZstdDictionaryCompressor.DictionaryProvider.directory(directory));
+    assertArrayEquals(serialized, consumer.decompress(producer.compress(serialized)));
+  }
+
+  @Test(expected = IOException.class)
+  public void unknownDictionary() throws Exception {
+    new ZstdDictionaryCompressor().decompress(compressor().compress(serializer.serialize(metric("service", 1))));
+  }
+
+  @Test(expected = IOException.class)
+  public void exceedsMaxDecompressedSize() throws Exception {
+    final byte[] dictionary = dictionary("service");
+    final ZstdDictionaryCompressor producer = new ZstdDictionaryCompressor();
+    producer.rotate(dictionary);
+
+    final ZstdDictionaryCompressor consumer = new ZstdDictionaryCompressor(3, 16, null);
+    consumer.register(dictionary);
+    consumer.decompress(producer.compress(serializer.serialize(metric("service", 1))));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void noActiveDictionary() throws Exception {
+    new ZstdDictionaryCompressor().compress(new byte[]{1});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void retireActive() {
+    final ZstdDictionaryCompressor compressor = new ZstdDictionaryCompressor();
+    compressor.retire(compressor.rotate(dictionary("service")));
+  }
+
+  private static byte[] dictionary(String service) {
+    try {
+      return train(service).train();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static ZstdDictionaryTrainer train(String service) throws Exception {
+    final ZstdDictionaryTrainer trainer = new ZstdDictionaryTrainer(serializer, 1024 * 1024, 16 * 1024);
+    for (int i = 0; i < 2000; i++) {
+      trainer.add(metric(service, i));
+    }
+
+    return trainer;
+  }
+
+  private static TransportableMetric metric(String service, int i) {
+    return new TransportableMetric(service + ".requests." + (i % 50), ZonedDateTime.now(),
+                                   ImmutableMap.of("service", service, "host", "host-" + (i % 7)),
+                                   ImmutableSet.of(i % 2 == 0 ? new TransportableCounter(i)
+                                                       : new TransportableMeter(i, i * 0.1, i * 0.2, i * 0.3,
+                                                                                i * 0.4
+                                                       ))
+    );
+  }
+}
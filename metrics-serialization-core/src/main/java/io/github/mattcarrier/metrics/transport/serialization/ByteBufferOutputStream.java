@@ -0,0 +1,46 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutputStream} writing into a {@link ByteBuffer} from its
+ * position.  Writes beyond the buffer's limit throw a
+ * {@link java.nio.BufferOverflowException}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class ByteBufferOutputStream extends OutputStream {
+  private final ByteBuffer buffer;
+
+  public ByteBufferOutputStream(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  @Override
+  public void write(int value) {
+    buffer.put((byte) value);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) {
+    buffer.put(bytes, offset, length);
+  }
+}
@@ -20,8 +20,10 @@ import io.github.mattcarrier.metrics.transport.serialization.transportable.Trans
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 
 /**
  * Default {@link Serializer} implementation utilizing java serialization.
@@ -31,19 +33,33 @@ import java.io.ObjectOutputStream;
  */
 @SerializerImpl
 public class JavaSerializer implements Serializer {
+  @Override
+  public String contentType() {
+    return "application/x-java-serialized-object";
+  }
+
   @Override
   public byte[] serialize(TransportableMetric metric) throws Exception {
-    try (final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-         final ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-      oos.writeObject(metric);
-      return baos.toByteArray();
-    }
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    serialize(metric, baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    final ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(metric);
+    oos.flush();
   }
 
   @Override
   public TransportableMetric deserialize(byte[] serialized) throws Exception {
-    final ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
-    final ObjectInputStream ois = new ObjectInputStream(bais);
+    return deserialize(new ByteArrayInputStream(serialized));
+  }
+
+  @Override
+  public TransportableMetric deserialize(InputStream in) throws Exception {
+    final ObjectInputStream ois = new ObjectInputStream(in);
     return (TransportableMetric) ois.readObject();
   }
 }
@@ -18,13 +18,45 @@ package io.github.mattcarrier.metrics.transport.serialization;
 
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
 
+import com.google.common.io.ByteStreams;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * Serializes/Deserializes {@link TransportableMetric} objects.
  *
+ * <p>Only the {@code byte[]} methods must be implemented.  Implementations
+ * able to write to and read from streams directly should also override the
+ * stream methods, which the {@link ByteBuffer} methods use by default, so that
+ * transports can serialize into pooled buffers and decode in place without
+ * intermediate copies.
+ *
  * @author mattcarrier
  * @since Apr 2, 2017
  */
 public interface Serializer {
+  /**
+   * The content type identifying the serialization format so that consumers
+   * can select the matching {@link Serializer}.
+   *
+   * @return the content type
+   */
+  public default String contentType() {
+    return "application/x-" + getClass().getName();
+  }
+
+  /**
+   * The version of the serialization format, incremented whenever the
+   * serialized form changes incompatibly.
+   *
+   * @return the format version
+   */
+  public default int formatVersion() {
+    return 1;
+  }
+
   /**
    * Serializes the {@link TransportableMetric}.
    *
@@ -36,6 +68,42 @@ public interface Serializer {
    */
   public byte[] serialize(TransportableMetric metric) throws Exception;
 
+  /**
+   * Serializes the {@link TransportableMetric} to the stream.  The stream is
+   * not closed.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to serialize
+   * @param out
+   *     the stream to write to
+   * @throws Exception
+   *     if there is an issue serializing the {@link TransportableMetric}
+   */
+  public default void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    out.write(serialize(metric));
+  }
+
+  /**
+   * Serializes the {@link TransportableMetric} into the buffer from its
+   * position, advancing the position past the serialized bytes.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to serialize
+   * @param buffer
+   *     the buffer to write to
+   * @return the number of bytes written
+   * @throws java.nio.BufferOverflowException
+   *     if the serialized metric does not fit, leaving the position
+   *     undefined
+   * @throws Exception
+   *     if there is an issue serializing the {@link TransportableMetric}
+   */
+  public default int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    final int start = buffer.position();
+    serialize(metric, new ByteBufferOutputStream(buffer));
+    return buffer.position() - start;
+  }
+
   /**
    * Deserializes the serialized input into a {@link TransportableMetric}.
    *
@@ -47,4 +115,34 @@ public interface Serializer {
    *     {@link TransportableMetric}
    */
   public TransportableMetric deserialize(byte[] serialized) throws Exception;
+
+  /**
+   * Deserializes a {@link TransportableMetric} from the stream.  The stream
+   * may be read past the end of the metric and is not closed.
+   *
+   * @param in
+   *     the stream to read from
+   * @return the deserialized {@link TransportableMetric}
+   * @throws Exception
+   *     if there is an issue deserializing the
+   *     {@link TransportableMetric}
+   */
+  public default TransportableMetric deserialize(InputStream in) throws Exception {
+    return deserialize(ByteStreams.toByteArray(in));
+  }
+
+  /**
+   * Deserializes the remaining bytes of the buffer, which must hold exactly
+   * one serialized metric, into a {@link TransportableMetric}.
+   *
+   * @param serialized
+   *     the buffer to read from
+   * @return the deserialized {@link TransportableMetric}
+   * @throws Exception
+   *     if there is an issue deserializing the
+   *     {@link TransportableMetric}
+   */
+  public default TransportableMetric deserialize(ByteBuffer serialized) throws Exception {
+    return deserialize(new ByteBufferInputStream(serialized));
+  }
 }
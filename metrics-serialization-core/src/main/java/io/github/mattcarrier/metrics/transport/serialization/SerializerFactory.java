@@ -16,12 +16,16 @@
 
 package io.github.mattcarrier.metrics.transport.serialization;
 
+import com.google.common.collect.ImmutableMap;
 import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.Set;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -32,7 +36,12 @@ import java.util.stream.Collectors;
  */
 public class SerializerFactory {
   private static final Logger log = LoggerFactory.getLogger(SerializerFactory.class);
-  private final Serializer serializer;
+
+  private static final Comparator<Class<?>> BY_PRIORITY = Comparator.comparingInt(SerializerFactory::priority)
+      .reversed().thenComparing(Class::getName);
+
+  private final Serializer                       serializer;
+  private final ImmutableMap<String, Serializer> serializers;
 
   /**
    * Checks the classpath under package
@@ -52,7 +61,9 @@ public class SerializerFactory {
 
   /**
    * Checks the classpath under basePackage for any existing serializers and
-   * defaults to the {@link JavaSerializer} if none is found.
+   * defaults to the {@link JavaSerializer} if none is found. When several are
+   * found the one with the highest {@link SerializerImpl#priority()} is used
+   * for serialization, ties broken by class name.
    *
    * @param basePackage
    *     the base package to scan for serializers
@@ -65,12 +76,16 @@ public class SerializerFactory {
    */
   public SerializerFactory(String basePackage) throws IOException, InstantiationException, IllegalAccessException {
     log.debug("Scanning the classpath under basePackage [{}] for metric serializers.", basePackage);
-    final Set<Class<?>> serializers = new Reflections(basePackage).getTypesAnnotatedWith(SerializerImpl.class)
-        .stream().filter(s -> JavaSerializer.class != s).collect(Collectors.toSet());
+    final List<Class<?>> serializers = new Reflections(basePackage).getTypesAnnotatedWith(SerializerImpl.class, true)
+        .stream().filter(s -> JavaSerializer.class != s).sorted(BY_PRIORITY).collect(Collectors.toList());
 
+    final Serializer javaSerializer = new JavaSerializer();
+    final Map<String, Serializer> available = new HashMap<>();
+    available.put(javaSerializer.contentType(), javaSerializer);
     if (serializers.isEmpty()) {
       log.warn("Using java serialization for metric transportation which is not suggested for production use.");
-      serializer = new JavaSerializer();
+      this.serializer = javaSerializer;
+      this.serializers = ImmutableMap.copyOf(available);
       return;
     }
 
@@ -81,12 +96,46 @@ public class SerializerFactory {
       );
     }
 
-    final Class<?> serializerClass = serializers.iterator().next();
-    log.info("Using [{}] for metric transportation serialization.", serializerClass);
-    serializer = (Serializer) serializerClass.newInstance();
+    Serializer selected = null;
+    for (Class<?> serializerClass : serializers) {
+      final Serializer serializer = (Serializer) serializerClass.newInstance();
+      available.put(serializer.contentType(), serializer);
+      if (null == selected) {
+        log.info("Using [{}] for metric transportation serialization.", serializerClass);
+        selected = serializer;
+      }
+    }
+
+    this.serializer = selected;
+    this.serializers = ImmutableMap.copyOf(available);
+  }
+
+  private static int priority(Class<?> serializerClass) {
+    return serializerClass.getAnnotation(SerializerImpl.class).priority();
   }
 
   public Serializer serializer() {
     return serializer;
   }
+
+  /**
+   * Retrieves the {@link Serializer} for the given content type.
+   *
+   * @param contentType
+   *     the content type
+   * @return the {@link Serializer} or null if none is available
+   */
+  public Serializer serializer(String contentType) {
+    return serializers.get(contentType);
+  }
+
+  /**
+   * All available serializers, including the {@link JavaSerializer}, by
+   * content type.
+   *
+   * @return the serializers
+   */
+  public ImmutableMap<String, Serializer> serializers() {
+    return serializers;
+  }
 }
@@ -23,7 +23,9 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 /**
- * Marker for {@link Serializer} implementations.
+ * Marker for {@link Serializer} implementations. When several are found on the
+ * classpath the {@link SerializerFactory} publishes with the one of highest
+ * {@link #priority()} while all of them remain available for consuming.
  *
  * @author mattcarrier
  * @since Aug 05, 2017
@@ -31,4 +33,11 @@ import java.lang.annotation.Target;
 @Retention(RUNTIME)
 @Target(TYPE)
 public @interface SerializerImpl {
+  /**
+   * The preference for publishing with this serializer over others found on
+   * the classpath, higher wins.
+   *
+   * @return the priority
+   */
+  int priority() default 0;
 }
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization;
+
+/**
+ * UTF-8 encoding into caller owned arrays, for serializers writing strings
+ * without the allocations of {@link String#getBytes}.  Unpaired surrogates
+ * are replaced with {@code ?}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class Utf8 {
+  private Utf8() {
+  }
+
+  /**
+   * The largest number of bytes the string can encode to.
+   *
+   * @param value
+   *     the string
+   * @return the maximum encoded length
+   */
+  public static int maxEncodedLength(String value) {
+    return 3 * value.length();
+  }
+
+  /**
+   * Encodes the string into the array from the offset, which must leave room
+   * for {@link #maxEncodedLength(String)} bytes.
+   *
+   * @param value
+   *     the string
+   * @param out
+   *     the array to write to
+   * @param offset
+   *     the index of the first byte to write
+   * @return the index following the last written byte
+   */
+  public static int encode(String value, byte[] out, int offset) {
+    int position = offset;
+    for (int index = 0; index < value.length(); index++) {
+      final char ch = value.charAt(index);
+      if (ch < 0x80) {
+        out[position++] = (byte) ch;
+      } else if (ch < 0x800) {
+        out[position++] = (byte) (0xC0 | ch >>> 6);
+        out[position++] = (byte) (0x80 | ch & 0x3F);
+      } else if (Character.isHighSurrogate(ch) && index + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(index + 1))) {
+        final int codePoint = Character.toCodePoint(ch, value.charAt(index + 1));
+        index++;
+        out[position++] = (byte) (0xF0 | codePoint >>> 18);
+        out[position++] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+        out[position++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+        out[position++] = (byte) (0x80 | codePoint & 0x3F);
+      } else if (Character.isSurrogate(ch)) {
+        out[position++] = '?';
+      } else {
+        out[position++] = (byte) (0xE0 | ch >>> 12);
+        out[position++] = (byte) (0x80 | ch >>> 6 & 0x3F);
+        out[position++] = (byte) (0x80 | ch & 0x3F);
+      }
+    }
+
+    return position;
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+/**
+ * Compresses/Decompresses serialized metrics.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public interface Compressor {
+  /**
+   * The content encoding identifying this compressor, e.g. {@code gzip}.
+   * Transports advertise the encoding alongside the payload so that
+   * consumers can select the matching {@link Compressor}.
+   *
+   * @return the content encoding
+   */
+  public String encoding();
+
+  /**
+   * Compresses the serialized input.
+   *
+   * @param serialized
+   *     the serialized input
+   * @return the compressed output
+   * @throws Exception
+   *     if there is an issue compressing the input
+   */
+  public byte[] compress(byte[] serialized) throws Exception;
+
+  /**
+   * Decompresses the compressed input.
+   *
+   * @param compressed
+   *     the compressed input
+   * @return the decompressed output
+   * @throws Exception
+   *     if there is an issue decompressing the input
+   */
+  public byte[] decompress(byte[] compressed) throws Exception;
+}
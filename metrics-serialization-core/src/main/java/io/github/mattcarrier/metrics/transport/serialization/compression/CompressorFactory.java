@@ -0,0 +1,86 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import com.google.common.collect.ImmutableMap;
+import org.reflections.Reflections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides access to available compressors by content encoding.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class CompressorFactory {
+  private static final Logger log = LoggerFactory.getLogger(CompressorFactory.class);
+  private final ImmutableMap<String, Compressor> compressors;
+
+  /**
+   * Checks the classpath under package
+   * 'io.github.mattcarrier.metrics.transport' for any existing compressors.
+   *
+   * @throws InstantiationException
+   *     if there is an issue instantiating a compressor
+   * @throws IllegalAccessException
+   *     if there is an issue instantiating a compressor
+   */
+  public CompressorFactory() throws InstantiationException, IllegalAccessException {
+    this("io.github.mattcarrier.metrics.transport");
+  }
+
+  /**
+   * Checks the classpath under basePackage for any existing compressors.
+   *
+   * @param basePackage
+   *     the base package to scan for compressors
+   * @throws InstantiationException
+   *     if there is an issue instantiating a compressor
+   * @throws IllegalAccessException
+   *     if there is an issue instantiating a compressor
+   */
+  public CompressorFactory(String basePackage) throws InstantiationException, IllegalAccessException {
+    log.debug("Scanning the classpath under basePackage [{}] for metric compressors.", basePackage);
+    final Map<String, Compressor> compressors = new HashMap<>();
+    for (Class<?> compressorClass : new Reflections(basePackage).getTypesAnnotatedWith(CompressorImpl.class)) {
+      final Compressor compressor = (Compressor) compressorClass.newInstance();
+      log.debug("Found [{}] for content encoding [{}].", compressorClass, compressor.encoding());
+      compressors.put(compressor.encoding(), compressor);
+    }
+
+    this.compressors = ImmutableMap.copyOf(compressors);
+  }
+
+  /**
+   * Retrieves the {@link Compressor} for the given content encoding.
+   *
+   * @param encoding
+   *     the content encoding
+   * @return the {@link Compressor} or null if none is available
+   */
+  public Compressor compressor(String encoding) {
+    return compressors.get(encoding);
+  }
+
+  public ImmutableMap<String, Compressor> compressors() {
+    return compressors;
+  }
+}
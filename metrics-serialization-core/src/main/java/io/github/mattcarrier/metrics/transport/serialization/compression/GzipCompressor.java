@@ -0,0 +1,55 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Default {@link Compressor} implementation utilizing gzip.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@CompressorImpl
+public class GzipCompressor implements Compressor {
+  @Override
+  public String encoding() {
+    return "gzip";
+  }
+
+  @Override
+  public byte[] compress(byte[] serialized) throws Exception {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream(serialized.length);
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+      gzip.write(serialized);
+    }
+
+    return baos.toByteArray();
+  }
+
+  @Override
+  public byte[] decompress(byte[] compressed) throws Exception {
+    try (final GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return ByteStreams.toByteArray(gzip);
+    }
+  }
+}
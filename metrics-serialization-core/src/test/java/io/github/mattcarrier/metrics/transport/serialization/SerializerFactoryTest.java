@@ -27,4 +27,11 @@ public class SerializerFactoryTest {
   public void defaultSerializer() throws InstantiationException, IllegalAccessException, IOException {
     assertEquals(JavaSerializer.class, new SerializerFactory().serializer().getClass());
   }
+
+  @Test
+  public void serializersByContentType() throws InstantiationException, IllegalAccessException, IOException {
+    final SerializerFactory factory = new SerializerFactory();
+    assertEquals(1, factory.serializers().size());
+    assertEquals(JavaSerializer.class, factory.serializer("application/x-java-serialized-object").getClass());
+  }
 }
\ No newline at end of file
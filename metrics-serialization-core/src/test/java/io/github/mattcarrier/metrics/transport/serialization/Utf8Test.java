@@ -0,0 +1,42 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit tests for {@link Utf8}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class Utf8Test {
+  @Test
+  public void matchesGetBytes() {
+    for (String value : new String[] { "", "ascii", "héllo", "€", "😀", "a\uD800b", "\uDC00" }) {
+      final byte[] out = new byte[2 + Utf8.maxEncodedLength(value)];
+      final int end = Utf8.encode(value, out, 2);
+      assertArrayEquals(value, value.getBytes(StandardCharsets.UTF_8), Arrays.copyOfRange(out, 2, end));
+    }
+  }
+}
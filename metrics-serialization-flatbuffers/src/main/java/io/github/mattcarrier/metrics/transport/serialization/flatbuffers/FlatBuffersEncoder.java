@@ -0,0 +1,228 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.flatbuffers;
+
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.Slots.Entry;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.Slots.Metric;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.Slots.Value;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.flatbuffers.FlatBufferBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds {@code metrics.fbs} messages with a reusable
+ * {@link FlatBufferBuilder}. Not thread safe.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class FlatBuffersEncoder {
+  private final FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+
+  /**
+   * Encodes the metric. Transportables of unknown types are left out.
+   *
+   * @param metric
+   *     the metric
+   * @return the encoded metric between the position and limit, valid until
+   *     the next call
+   * @throws IllegalArgumentException
+   *     if a meta or gauge value is of an unsupported type
+   */
+  ByteBuffer encode(TransportableMetric metric) {
+    builder.clear();
+    final ZonedDateTime timestamp = metric.getTimestamp();
+    final int name = builder.createString(metric.getName());
+    final int zone = builder.createString(timestamp.getZone().getId());
+    final int meta = meta(metric.getMeta());
+    final int transportables = transportables(metric);
+
+    builder.startTable(Metric.FIELDS);
+    builder.addOffset(Metric.NAME, name, 0);
+    builder.addLong(Metric.EPOCH_SECOND, timestamp.toEpochSecond(), 0L);
+    builder.addInt(Metric.NANO, timestamp.getNano(), 0);
+    builder.addOffset(Metric.ZONE, zone, 0);
+    builder.addOffset(Metric.META, meta, 0);
+    builder.addOffset(Metric.TRANSPORTABLES, transportables, 0);
+    builder.finish(builder.endTable());
+    return builder.dataBuffer();
+  }
+
+  private int meta(Map<String, Object> meta) {
+    if (meta.isEmpty()) {
+      return 0;
+    }
+
+    final TreeMap<byte[], Object> sorted = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+    for (Map.Entry<String, Object> entry : meta.entrySet()) {
+      sorted.put(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue());
+    }
+
+    final int[] entries = new int[sorted.size()];
+    int index = 0;
+    for (Map.Entry<byte[], Object> entry : sorted.entrySet()) {
+      final int key = builder.createString(ByteBuffer.wrap(entry.getKey()));
+      final int value = value(entry.getValue());
+      builder.startTable(Entry.FIELDS);
+      builder.addOffset(Entry.KEY, key, 0);
+      builder.addOffset(Entry.VALUE, value, 0);
+      entries[index++] = builder.endTable();
+    }
+
+    return builder.createVectorOfTables(entries);
+  }
+
+  private int transportables(TransportableMetric metric) {
+    final int[] transportables = new int[metric.getTransportables().size()];
+    int count = 0;
+    for (Transportable transportable : metric.getTransportables()) {
+      final int offset = transportable(transportable);
+      if (0 != offset) {
+        transportables[count++] = offset;
+      }
+    }
+
+    if (count == transportables.length) {
+      return builder.createVectorOfTables(transportables);
+    }
+
+    final int[] known = new int[count];
+    System.arraycopy(transportables, 0, known, 0, count);
+    return builder.createVectorOfTables(known);
+  }
+
+  private int transportable(Transportable transportable) {
+    if (transportable instanceof TransportableMeter) {
+      final TransportableMeter meter = (TransportableMeter) transportable;
+      builder.startTable(Slots.Transportable.FIELDS);
+      builder.addByte(Slots.Transportable.KIND, (byte) Slots.Transportable.METER, 0);
+      builder.addLong(Slots.Transportable.COUNT, meter.getCount(), 0L);
+      builder.addDouble(Slots.Transportable.FIFTEEN_MINUTE_RATE, meter.getFifteenMinuteRate(), 0d);
+      builder.addDouble(Slots.Transportable.FIVE_MINUTE_RATE, meter.getFiveMinuteRate(), 0d);
+      builder.addDouble(Slots.Transportable.MEAN_RATE, meter.getMeanRate(), 0d);
+      builder.addDouble(Slots.Transportable.ONE_MINUTE_RATE, meter.getOneMinuteRate(), 0d);
+      return builder.endTable();
+    } else if (transportable instanceof TransportableCounter) {
+      builder.startTable(Slots.Transportable.FIELDS);
+      builder.addByte(Slots.Transportable.KIND, (byte) Slots.Transportable.COUNTER, 0);
+      builder.addLong(Slots.Transportable.COUNT, ((TransportableCounter) transportable).getCount(), 0L);
+      return builder.endTable();
+    } else if (transportable instanceof TransportableGauge) {
+      final int value = value(((TransportableGauge<?>) transportable).getValue());
+      builder.startTable(Slots.Transportable.FIELDS);
+      builder.addByte(Slots.Transportable.KIND, (byte) Slots.Transportable.GAUGE, 0);
+      builder.addOffset(Slots.Transportable.VALUE, value, 0);
+      return builder.endTable();
+    } else if (transportable instanceof TransportableSnapshot) {
+      return snapshot((TransportableSnapshot) transportable);
+    }
+
+    return 0;
+  }
+
+  private int snapshot(TransportableSnapshot snapshot) {
+    final long[] values = snapshot.getValues();
+    builder.startVector(Long.BYTES, values.length, Long.BYTES);
+    for (int index = values.length - 1; index >= 0; index--) {
+      builder.addLong(values[index]);
+    }
+    final int vector = builder.endVector();
+
+    builder.startTable(Slots.Transportable.FIELDS);
+    builder.addByte(Slots.Transportable.KIND, (byte) Slots.Transportable.SNAPSHOT, 0);
+    builder.addOffset(Slots.Transportable.VALUES, vector, 0);
+    builder.addLong(Slots.Transportable.MAX, snapshot.getMax(), 0L);
+    builder.addLong(Slots.Transportable.MIN, snapshot.getMin(), 0L);
+    builder.addDouble(Slots.Transportable.MEAN, snapshot.getMean(), 0d);
+    builder.addDouble(Slots.Transportable.STD_DEV, snapshot.getStdDev(), 0d);
+    builder.addDouble(Slots.Transportable.MEDIAN, snapshot.getMedian(), 0d);
+    builder.addDouble(Slots.Transportable.P75, snapshot.get75thPercentile(), 0d);
+    builder.addDouble(Slots.Transportable.P95, snapshot.get95thPercentile(), 0d);
+    builder.addDouble(Slots.Transportable.P98, snapshot.get98thPercentile(), 0d);
+    builder.addDouble(Slots.Transportable.P99, snapshot.get99thPercentile(), 0d);
+    builder.addDouble(Slots.Transportable.P999, snapshot.get999thPercentile(), 0d);
+    return builder.endTable();
+  }
+
+  private int value(Object value) {
+    final int kind;
+    long longValue = 0;
+    double doubleValue = 0;
+    int string = 0;
+    int bytes = 0;
+    int scale = 0;
+    if (null == value) {
+      kind = Value.NULL;
+    } else if (value instanceof String) {
+      kind = Value.STRING;
+      string = builder.createString((String) value);
+    } else if (value instanceof Boolean) {
+      kind = Value.BOOLEAN;
+      longValue = (Boolean) value ? 1 : 0;
+    } else if (value instanceof Byte) {
+      kind = Value.BYTE;
+      longValue = (Byte) value;
+    } else if (value instanceof Short) {
+      kind = Value.SHORT;
+      longValue = (Short) value;
+    } else if (value instanceof Integer) {
+      kind = Value.INT;
+      longValue = (Integer) value;
+    } else if (value instanceof Long) {
+      kind = Value.LONG;
+      longValue = (Long) value;
+    } else if (value instanceof Float) {
+      kind = Value.FLOAT;
+      doubleValue = (Float) value;
+    } else if (value instanceof Double) {
+      kind = Value.DOUBLE;
+      doubleValue = (Double) value;
+    } else if (value instanceof BigInteger) {
+      kind = Value.BIG_INTEGER;
+      bytes = builder.createByteVector(((BigInteger) value).toByteArray());
+    } else if (value instanceof BigDecimal) {
+      kind = Value.BIG_DECIMAL;
+      bytes = builder.createByteVector(((BigDecimal) value).unscaledValue().toByteArray());
+      scale = ((BigDecimal) value).scale();
+    } else {
+      throw new IllegalArgumentException("Unsupported value type [" + value.getClass() + "].");
+    }
+
+    builder.startTable(Value.FIELDS);
+    builder.addByte(Value.KIND, (byte) kind, 0);
+    builder.addLong(Value.LONG_VALUE, longValue, 0L);
+    builder.addDouble(Value.DOUBLE_VALUE, doubleValue, 0d);
+    builder.addOffset(Value.STRING_VALUE, string, 0);
+    builder.addOffset(Value.BYTES_VALUE, bytes, 0);
+    builder.addInt(Value.SCALE, scale, 0);
+    return builder.endTable();
+  }
+}
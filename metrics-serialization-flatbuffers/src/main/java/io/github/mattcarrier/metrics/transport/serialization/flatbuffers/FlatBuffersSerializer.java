@@ -0,0 +1,103 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.flatbuffers;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerImpl;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link Serializer} implementation utilizing
+ * <a href="https://flatbuffers.dev/">FlatBuffers</a> through the schema in
+ * {@code metrics.fbs}. Deserializing decodes the whole metric; consumers
+ * holding the serialized bytes that only need a few fields, such as routers
+ * and filters, should {@link #view} them instead.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ * @see MetricView
+ */
+@SerializerImpl
+public class FlatBuffersSerializer implements Serializer {
+  private final ThreadLocal<FlatBuffersEncoder> encoder = ThreadLocal.withInitial(FlatBuffersEncoder::new);
+  private final ThreadLocal<MetricView>         view    = ThreadLocal.withInitial(MetricView::new);
+
+  @Override
+  public String contentType() {
+    return "application/x-flatbuffers";
+  }
+
+  @Override
+  public byte[] serialize(TransportableMetric metric) throws Exception {
+    final ByteBuffer encoded = encoder.get().encode(metric);
+    final byte[] serialized = new byte[encoded.remaining()];
+    encoded.get(serialized);
+    return serialized;
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    final ByteBuffer encoded = encoder.get().encode(metric);
+    out.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The buffer's position is left unchanged if the metric does not fit.
+   */
+  @Override
+  public int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    final ByteBuffer encoded = encoder.get().encode(metric);
+    final int size = encoded.remaining();
+    if (buffer.remaining() < size) {
+      throw new BufferOverflowException();
+    }
+
+    buffer.put(encoded);
+    return size;
+  }
+
+  @Override
+  public TransportableMetric deserialize(byte[] serialized) throws Exception {
+    return view(ByteBuffer.wrap(serialized).order(ByteOrder.LITTLE_ENDIAN)).toMetric();
+  }
+
+  @Override
+  public TransportableMetric deserialize(ByteBuffer serialized) throws Exception {
+    final TransportableMetric metric = view(serialized).toMetric();
+    serialized.position(serialized.limit());
+    return metric;
+  }
+
+  /**
+   * Views the serialized metric through this thread's {@link MetricView},
+   * which is valid until this thread's next call.
+   *
+   * @param serialized
+   *     the serialized metric from its position
+   * @return the view
+   */
+  public MetricView view(ByteBuffer serialized) {
+    return view.get().reset(serialized);
+  }
+}
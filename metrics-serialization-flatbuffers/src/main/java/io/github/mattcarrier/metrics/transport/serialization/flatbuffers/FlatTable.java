@@ -0,0 +1,189 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.flatbuffers;
+
+import com.google.flatbuffers.Table;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the fields of any table by slot, standing in for classes generated by
+ * {@code flatc}. Instances are repositioned rather than allocated per table.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+class FlatTable extends Table {
+  /**
+   * Positions this on the table at the absolute position of the buffer.
+   *
+   * @param position
+   *     the absolute position of the table
+   * @param buffer
+   *     the little-endian buffer
+   * @return this
+   */
+  FlatTable assign(int position, ByteBuffer buffer) {
+    __reset(position, buffer);
+    return this;
+  }
+
+  /**
+   * Positions this on the table of the slot.
+   *
+   * @param table
+   *     the table to position
+   * @param slot
+   *     the slot holding the table
+   * @return the positioned table or null if the field is absent
+   */
+  FlatTable table(FlatTable table, int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? null : table.assign(__indirect(offset + bb_pos), bb);
+  }
+
+  /**
+   * Positions this on the table at the index of the vector of tables in the
+   * slot.
+   *
+   * @param table
+   *     the table to position
+   * @param slot
+   *     the slot holding the vector
+   * @param index
+   *     the index in the vector
+   * @return the positioned table
+   */
+  FlatTable table(FlatTable table, int slot, int index) {
+    return table.assign(__indirect(__vector(field(slot)) + 4 * index), bb);
+  }
+
+  int unsignedByte(int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? 0 : bb.get(offset + bb_pos) & 0xFF;
+  }
+
+  int intValue(int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? 0 : bb.getInt(offset + bb_pos);
+  }
+
+  long longValue(int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? 0 : bb.getLong(offset + bb_pos);
+  }
+
+  double doubleValue(int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? 0 : bb.getDouble(offset + bb_pos);
+  }
+
+  String string(int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? null : __string(offset + bb_pos);
+  }
+
+  int vectorLength(int slot) {
+    final int offset = field(slot);
+    return 0 == offset ? 0 : __vector_len(offset);
+  }
+
+  long[] longs(int slot) {
+    final long[] values = new long[vectorLength(slot)];
+    if (0 < values.length) {
+      final int start = __vector(field(slot));
+      for (int index = 0; index < values.length; index++) {
+        values[index] = bb.getLong(start + Long.BYTES * index);
+      }
+    }
+
+    return values;
+  }
+
+  byte[] bytes(int slot) {
+    final byte[] values = new byte[vectorLength(slot)];
+    if (0 < values.length) {
+      final int start = __vector(field(slot));
+      for (int index = 0; index < values.length; index++) {
+        values[index] = bb.get(start + index);
+      }
+    }
+
+    return values;
+  }
+
+  /**
+   * Compares the string in the slot to the first bytes of the UTF-8 array,
+   * unsigned byte by byte to match the order keys are written in.
+   * {@link Table#compareStrings} compares signed bytes and so misorders keys
+   * outside of ASCII.
+   *
+   * @param slot
+   *     the slot holding the string
+   * @param utf8
+   *     the UTF-8 bytes
+   * @param length
+   *     the number of bytes to compare to
+   * @return less than, equal to or greater than zero when the string sorts
+   *     before, with or after the bytes
+   */
+  int compare(int slot, byte[] utf8, int length) {
+    final int offset = __indirect(field(slot) + bb_pos);
+    final int stringLength = bb.getInt(offset);
+    final int start = offset + Integer.BYTES;
+    for (int index = 0; index < Math.min(stringLength, length); index++) {
+      final int comparison = (bb.get(start + index) & 0xFF) - (utf8[index] & 0xFF);
+      if (0 != comparison) {
+        return comparison;
+      }
+    }
+
+    return stringLength - length;
+  }
+
+  /**
+   * Whether the string in the slot starts with the first bytes of the UTF-8
+   * array.
+   *
+   * @param slot
+   *     the slot holding the string
+   * @param utf8
+   *     the UTF-8 bytes
+   * @param length
+   *     the number of bytes of the prefix
+   * @return true if the string starts with the bytes
+   */
+  boolean startsWith(int slot, byte[] utf8, int length) {
+    final int offset = __indirect(field(slot) + bb_pos);
+    if (length > bb.getInt(offset)) {
+      return false;
+    }
+
+    final int start = offset + Integer.BYTES;
+    for (int index = 0; index < length; index++) {
+      if (bb.get(start + index) != utf8[index]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private int field(int slot) {
+    return __offset(4 + 2 * slot);
+  }
+}
@@ -0,0 +1,306 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.flatbuffers;
+
+import io.github.mattcarrier.metrics.transport.serialization.Utf8;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.Slots.Entry;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.Slots.Metric;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.Slots.Value;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Read-only view of a {@link TransportableMetric} serialized by the
+ * {@link FlatBuffersSerializer}, backed directly by the message buffer.
+ * Fields are decoded only when accessed, so routers and filters that look at
+ * the name or a single meta value skip decoding the rest. Meta values are
+ * found by binary search over the keys, and the name and keys are compared
+ * as UTF-8 bytes in place, so filtering on them allocates nothing. A view can
+ * be {@link #reset} onto each message rather than allocated per message, such
+ * as each frame a transport gives to a {@code FrameConsumer}.
+ *
+ * <p>The buffer must not be modified while viewed. Not thread safe.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class MetricView {
+  private final FlatTable metricTable        = new FlatTable();
+  private final FlatTable entryTable         = new FlatTable();
+  private final FlatTable valueTable         = new FlatTable();
+  private final FlatTable transportableTable = new FlatTable();
+
+  private byte[] scratch = new byte[64];
+
+  /**
+   * Creates a view over the serialized metric.
+   *
+   * @param serialized
+   *     the serialized metric from its position
+   * @return the view
+   */
+  public static MetricView of(ByteBuffer serialized) {
+    return new MetricView().reset(serialized);
+  }
+
+  /**
+   * Repositions this view onto another serialized metric. Buffers that are
+   * not little-endian are duplicated.
+   *
+   * @param serialized
+   *     the serialized metric from its position
+   * @return this
+   */
+  public MetricView reset(ByteBuffer serialized) {
+    final ByteBuffer buffer = ByteOrder.LITTLE_ENDIAN == serialized.order() ? serialized
+        : serialized.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    metricTable.assign(buffer.position() + buffer.getInt(buffer.position()), buffer);
+    return this;
+  }
+
+  /**
+   * Decodes the name. Use {@link #nameEquals} or {@link #nameStartsWith} to
+   * filter on the name without decoding it.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return metricTable.string(Metric.NAME);
+  }
+
+  /**
+   * Whether the name is the given one, comparing UTF-8 bytes in place.
+   *
+   * @param name
+   *     the name
+   * @return true if the names are equal
+   */
+  public boolean nameEquals(String name) {
+    final int length = utf8(name);
+    return 0 == metricTable.compare(Metric.NAME, scratch, length);
+  }
+
+  /**
+   * Whether the name starts with the prefix, comparing UTF-8 bytes in place.
+   *
+   * @param prefix
+   *     the prefix
+   * @return true if the name starts with the prefix
+   */
+  public boolean nameStartsWith(String prefix) {
+    final int length = utf8(prefix);
+    return metricTable.startsWith(Metric.NAME, scratch, length);
+  }
+
+  /**
+   * Decodes the timestamp in its original zone.
+   *
+   * @return the timestamp
+   */
+  public ZonedDateTime getTimestamp() {
+    return ZonedDateTime.ofInstant(Instant.ofEpochSecond(metricTable.longValue(Metric.EPOCH_SECOND),
+                                                         metricTable.intValue(Metric.NANO)),
+                                   ZoneId.of(metricTable.string(Metric.ZONE)));
+  }
+
+  public int getMetaSize() {
+    return metricTable.vectorLength(Metric.META);
+  }
+
+  /**
+   * Whether there is a meta value for the key, without decoding it.
+   *
+   * @param key
+   *     the key
+   * @return true if there is a meta value for the key
+   */
+  public boolean containsMeta(String key) {
+    return null != findMeta(key);
+  }
+
+  /**
+   * Decodes all meta values.
+   *
+   * @return the meta
+   */
+  public ImmutableMap<String, Object> getMeta() {
+    final ImmutableMap.Builder<String, Object> meta = ImmutableMap.builder();
+    for (int index = 0; index < getMetaSize(); index++) {
+      final FlatTable entry = metricTable.table(entryTable, Metric.META, index);
+      meta.put(entry.string(Entry.KEY), value(entry, Entry.VALUE));
+    }
+
+    return meta.build();
+  }
+
+  /**
+   * Decodes the meta value of the key only.
+   *
+   * @param key
+   *     the key
+   * @return the value or null if there is none
+   */
+  public Object getMeta(String key) {
+    final FlatTable entry = findMeta(key);
+    return null == entry ? null : value(entry, Entry.VALUE);
+  }
+
+  public int getTransportableCount() {
+    return metricTable.vectorLength(Metric.TRANSPORTABLES);
+  }
+
+  /**
+   * Decodes all transportables, leaving out those of kinds unknown to this
+   * version of the schema.
+   *
+   * @return the transportables
+   */
+  public ImmutableSet<Transportable> getTransportables() {
+    final ImmutableSet.Builder<Transportable> transportables = ImmutableSet.builder();
+    for (int index = 0; index < getTransportableCount(); index++) {
+      final Transportable transportable = transportable(metricTable.table(transportableTable, Metric.TRANSPORTABLES,
+                                                                          index));
+      if (null != transportable) {
+        transportables.add(transportable);
+      }
+    }
+
+    return transportables.build();
+  }
+
+  /**
+   * Decodes the whole metric.
+   *
+   * @return the {@link TransportableMetric}
+   */
+  public TransportableMetric toMetric() {
+    return new TransportableMetric(getName(), getTimestamp(), getMeta(), getTransportables());
+  }
+
+  private FlatTable findMeta(String key) {
+    final int length = utf8(key);
+    int low = 0;
+    int high = getMetaSize() - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int comparison = metricTable.table(entryTable, Metric.META, middle).compare(Entry.KEY, scratch, length);
+      if (0 > comparison) {
+        low = middle + 1;
+      } else if (0 < comparison) {
+        high = middle - 1;
+      } else {
+        return entryTable;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Encodes the string into the scratch array, growing it as needed.
+   *
+   * @param value
+   *     the string
+   * @return the encoded length
+   */
+  private int utf8(String value) {
+    final int maxLength = Utf8.maxEncodedLength(value);
+    if (maxLength > scratch.length) {
+      scratch = new byte[Math.max(maxLength, 2 * scratch.length)];
+    }
+
+    return Utf8.encode(value, scratch, 0);
+  }
+
+  private Object value(FlatTable table, int slot) {
+    final FlatTable value = table.table(valueTable, slot);
+    if (null == value) {
+      return null;
+    }
+
+    switch (value.unsignedByte(Value.KIND)) {
+      case Value.STRING:
+        return value.string(Value.STRING_VALUE);
+      case Value.BOOLEAN:
+        return 0 != value.longValue(Value.LONG_VALUE);
+      case Value.BYTE:
+        return (byte) value.longValue(Value.LONG_VALUE);
+      case Value.SHORT:
+        return (short) value.longValue(Value.LONG_VALUE);
+      case Value.INT:
+        return (int) value.longValue(Value.LONG_VALUE);
+      case Value.LONG:
+        return value.longValue(Value.LONG_VALUE);
+      case Value.FLOAT:
+        return (float) value.doubleValue(Value.DOUBLE_VALUE);
+      case Value.DOUBLE:
+        return value.doubleValue(Value.DOUBLE_VALUE);
+      case Value.BIG_INTEGER:
+        return new BigInteger(value.bytes(Value.BYTES_VALUE));
+      case Value.BIG_DECIMAL:
+        return new BigDecimal(new BigInteger(value.bytes(Value.BYTES_VALUE)), value.intValue(Value.SCALE));
+      default:
+        return null;
+    }
+  }
+
+  private Transportable transportable(FlatTable table) {
+    switch (table.unsignedByte(Slots.Transportable.KIND)) {
+      case Slots.Transportable.COUNTER:
+        return new TransportableCounter(table.longValue(Slots.Transportable.COUNT));
+      case Slots.Transportable.METER:
+        return new TransportableMeter(table.longValue(Slots.Transportable.COUNT),
+                                      table.doubleValue(Slots.Transportable.FIFTEEN_MINUTE_RATE),
+                                      table.doubleValue(Slots.Transportable.FIVE_MINUTE_RATE),
+                                      table.doubleValue(Slots.Transportable.MEAN_RATE),
+                                      table.doubleValue(Slots.Transportable.ONE_MINUTE_RATE)
+        );
+      case Slots.Transportable.GAUGE:
+        return new TransportableGauge<>(value(table, Slots.Transportable.VALUE));
+      case Slots.Transportable.SNAPSHOT:
+        return new TransportableSnapshot(table.longs(Slots.Transportable.VALUES),
+                                         table.longValue(Slots.Transportable.MAX),
+                                         table.doubleValue(Slots.Transportable.MEAN),
+                                         table.longValue(Slots.Transportable.MIN),
+                                         table.doubleValue(Slots.Transportable.STD_DEV),
+                                         table.doubleValue(Slots.Transportable.MEDIAN),
+                                         table.doubleValue(Slots.Transportable.P75),
+                                         table.doubleValue(Slots.Transportable.P95),
+                                         table.doubleValue(Slots.Transportable.P98),
+                                         table.doubleValue(Slots.Transportable.P99),
+                                         table.doubleValue(Slots.Transportable.P999)
+        );
+      default:
+        return null;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.flatbuffers;
+
+/**
+ * Field slots of the tables in {@code metrics.fbs}, in declaration order, and
+ * the values of its enums.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class Slots {
+  private Slots() {
+
+  }
+
+  static final class Metric {
+    static final int NAME           = 0;
+    static final int EPOCH_SECOND   = 1;
+    static final int NANO           = 2;
+    static final int ZONE           = 3;
+    static final int META           = 4;
+    static final int TRANSPORTABLES = 5;
+    static final int FIELDS         = 6;
+
+    private Metric() {
+
+    }
+  }
+
+  static final class Entry {
+    static final int KEY    = 0;
+    static final int VALUE  = 1;
+    static final int FIELDS = 2;
+
+    private Entry() {
+
+    }
+  }
+
+  static final class Value {
+    static final int KIND         = 0;
+    static final int LONG_VALUE   = 1;
+    static final int DOUBLE_VALUE = 2;
+    static final int STRING_VALUE = 3;
+    static final int BYTES_VALUE  = 4;
+    static final int SCALE        = 5;
+    static final int FIELDS       = 6;
+
+    static final int NULL        = 0;
+    static final int STRING      = 1;
+    static final int BOOLEAN     = 2;
+    static final int BYTE        = 3;
+    static final int SHORT       = 4;
+    static final int INT         = 5;
+    static final int LONG        = 6;
+    static final int FLOAT       = 7;
+    static final int DOUBLE      = 8;
+    static final int BIG_INTEGER = 9;
+    static final int BIG_DECIMAL = 10;
+
+    private Value() {
+
+    }
+  }
+
+  static final class Transportable {
+    static final int KIND                = 0;
+    static final int COUNT               = 1;
+    static final int FIFTEEN_MINUTE_RATE = 2;
+    static final int FIVE_MINUTE_RATE    = 3;
+    static final int MEAN_RATE           = 4;
+    static final int ONE_MINUTE_RATE     = 5;
+    static final int VALUE               = 6;
+    static final int VALUES              = 7;
+    static final int MAX                 = 8;
+    static final int MIN                 = 9;
+    static final int MEAN                = 10;
+    static final int STD_DEV             = 11;
+    static final int MEDIAN              = 12;
+    static final int P75                 = 13;
+    static final int P95                 = 14;
+    static final int P98                 = 15;
+    static final int P99                 = 16;
+    static final int P999                = 17;
+    static final int FIELDS              = 18;
+
+    static final int COUNTER  = 1;
+    static final int METER    = 2;
+    static final int GAUGE    = 3;
+    static final int SNAPSHOT = 4;
+
+    private Transportable() {
+
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.flatbuffers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.serialization.AbstractSerializerTest;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Tests serialization for {@link TransportableMetric} objects using the
+ * {@link FlatBuffersSerializer} and the {@link MetricView}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class FlatBuffersSerializerTest extends AbstractSerializerTest {
+  private static final Map<String, Object> VALUES = ImmutableMap.<String, Object>builder().put("string", "value")
+      .put("boolean", true).put("byte", (byte) -3).put("short", (short) 300).put("int", Integer.MIN_VALUE)
+      .put("long", Long.MAX_VALUE).put("float", 1.5f).put("double", -2.25d).put("über", "unicode")
+      .put("bigInteger", new BigInteger("-123456789012345678901234567890"))
+      .put("bigDecimal", new BigDecimal("3.14159265358979323846")).build();
+
+  @Override
+  protected Serializer serializer() {
+    return new FlatBuffersSerializer();
+  }
+
+  @Test
+  public void view() throws Exception {
+    final ZonedDateTime timestamp = ZonedDateTime.now(ZoneId.of("America/New_York"));
+    final TransportableMetric metric = new TransportableMetric(
+        "requests", timestamp, VALUES, ImmutableSet.of(new TransportableCounter(7), new TransportableGauge<>(1)));
+    final FlatBuffersSerializer serializer = new FlatBuffersSerializer();
+    final MetricView view = serializer.view(ByteBuffer.wrap(serializer.serialize(metric)));
+
+    assertEquals("requests", view.getName());
+    assertEquals(timestamp, view.getTimestamp());
+    assertEquals(VALUES.size(), view.getMetaSize());
+    for (Map.Entry<String, Object> entry : VALUES.entrySet()) {
+      assertTrue(entry.getKey(), view.containsMeta(entry.getKey()));
+      assertEquals(entry.getValue(), view.getMeta(entry.getKey()));
+    }
+    assertFalse(view.containsMeta("missing"));
+    assertNull(view.getMeta("aaa"));
+    assertNull(view.getMeta("zzz"));
+    assertEquals(2, view.getTransportableCount());
+    assertEquals(metric, view.toMetric());
+  }
+
+  @Test
+  public void viewComparesName() throws Exception {
+    final FlatBuffersSerializer serializer = new FlatBuffersSerializer();
+    final MetricView view = serializer.view(ByteBuffer.wrap(serializer.serialize(new TransportableMetric(
+        "jvm.über.used", ZonedDateTime.now(), ImmutableSet.of()))));
+
+    assertTrue(view.nameEquals("jvm.über.used"));
+    assertFalse(view.nameEquals("jvm.über"));
+    assertFalse(view.nameEquals("jvm.über.used.max"));
+    assertTrue(view.nameStartsWith("jvm.über"));
+    assertTrue(view.nameStartsWith(""));
+    assertFalse(view.nameStartsWith("jvm.uber"));
+    assertFalse(view.nameStartsWith("jvm.über.used.max"));
+    assertFalse(view.nameStartsWith(Strings.repeat("jvm", 100)));
+    assertTrue(view.nameEquals("jvm.über.used"));
+  }
+
+  @Test
+  public void viewReset() throws Exception {
+    final Serializer serializer = serializer();
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+    buffer.position(16);
+    serializer.serialize(new TransportableMetric("first", ZonedDateTime.now(), ImmutableMap.of("host", "a"),
+                                                 ImmutableSet.of()), buffer);
+    final int second = buffer.position();
+    serializer.serialize(new TransportableMetric("second", ZonedDateTime.now(), ImmutableMap.of("host", "b"),
+                                                 ImmutableSet.of()), buffer);
+
+    buffer.position(16);
+    final MetricView view = MetricView.of(buffer);
+    assertEquals("first", view.getName());
+    assertEquals("a", view.getMeta("host"));
+
+    buffer.position(second);
+    assertEquals("second", view.reset(buffer).getName());
+    assertEquals("b", view.getMeta("host"));
+  }
+}
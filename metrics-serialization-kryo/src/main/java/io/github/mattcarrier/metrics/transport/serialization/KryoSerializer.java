@@ -24,43 +24,114 @@ import com.esotericsoftware.kryo.io.Output;
 import de.javakaffee.kryoserializers.guava.ImmutableMapSerializer;
 import de.javakaffee.kryoserializers.guava.ImmutableSetSerializer;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * {@link Serializer} implementation utilizing
  * <a href="https://github.com/EsotericSoftware/kryo">Kryo</a> serialization.
+ * {@link Kryo} is not thread safe so each thread uses its own instance, along
+ * with its own reusable input and output buffers, and a single serializer can
+ * be shared by any number of publishing and consuming threads.
  *
  * @author mattcarrier
  * @since Apr 2, 2017
  */
 @SerializerImpl
 public class KryoSerializer implements Serializer {
-  private final Kryo kryo;
+  private final ThreadLocal<Context> context = ThreadLocal.withInitial(() -> new Context(kryo()));
 
   /**
-   * Creates a {@link KryoSerializer}.
+   * Creates and configures the {@link Kryo} instance for a thread.
+   *
+   * @return the {@link Kryo}
    */
-  public KryoSerializer() {
-    kryo = new Kryo();
+  protected Kryo kryo() {
+    final Kryo kryo = new Kryo();
     kryo.register(TransportableMetric.class);
     ImmutableMapSerializer.registerSerializers(kryo);
     ImmutableSetSerializer.registerSerializers(kryo);
+    return kryo;
+  }
+
+  @Override
+  public String contentType() {
+    return "application/x-kryo";
   }
 
   @Override
   public byte[] serialize(TransportableMetric metric) throws Exception {
-    try (final ByteArrayOutputStream baos = new ByteArrayOutputStream(); final Output o = new Output(baos)) {
-      kryo.writeObject(o, metric);
-      o.flush();
-      return baos.toByteArray();
+    final Context ctx = context.get();
+    ctx.bytesOut.clear();
+    ctx.kryo.writeObject(ctx.bytesOut, metric);
+    return ctx.bytesOut.toBytes();
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    final Context ctx = context.get();
+    ctx.streamOut.setOutputStream(out);
+    try {
+      ctx.kryo.writeObject(ctx.streamOut, metric);
+      ctx.streamOut.flush();
+    } finally {
+      ctx.streamOut.setOutputStream(null);
+    }
+  }
+
+  /**
+   * Serializes into the thread's growable output and copies the result into
+   * the buffer, so an undersized buffer surfaces as a plain
+   * {@link BufferOverflowException}, with the position unchanged, rather
+   * than as a {@link com.esotericsoftware.kryo.KryoException} thrown part way
+   * through the metric.
+   */
+  @Override
+  public int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    final Context ctx = context.get();
+    ctx.bytesOut.clear();
+    ctx.kryo.writeObject(ctx.bytesOut, metric);
+    final int length = ctx.bytesOut.position();
+    if (length > buffer.remaining()) {
+      throw new BufferOverflowException();
     }
+
+    buffer.put(ctx.bytesOut.getBuffer(), 0, length);
+    return length;
   }
 
   @Override
   public TransportableMetric deserialize(byte[] serialized) throws Exception {
-    try (final ByteArrayInputStream bais = new ByteArrayInputStream(serialized); final Input i = new Input(bais)) {
-      return kryo.readObject(i, TransportableMetric.class);
+    final Context ctx = context.get();
+    ctx.bytesIn.setBuffer(serialized);
+    return ctx.kryo.readObject(ctx.bytesIn, TransportableMetric.class);
+  }
+
+  @Override
+  public TransportableMetric deserialize(InputStream in) throws Exception {
+    final Context ctx = context.get();
+    ctx.streamIn.setInputStream(in);
+    try {
+      return ctx.kryo.readObject(ctx.streamIn, TransportableMetric.class);
+    } finally {
+      ctx.streamIn.setInputStream(null);
+    }
+  }
+
+  /**
+   * The {@link Kryo} instance and buffers owned by a single thread.
+   */
+  private static class Context {
+    private final Kryo   kryo;
+    private final Output bytesOut  = new Output(256, -1);
+    private final Output streamOut = new Output(4096);
+    private final Input  bytesIn   = new Input();
+    private final Input  streamIn  = new Input(4096);
+
+    private Context(Kryo kryo) {
+      this.kryo = kryo;
     }
   }
 }
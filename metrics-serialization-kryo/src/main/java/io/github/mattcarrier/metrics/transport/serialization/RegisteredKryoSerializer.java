@@ -0,0 +1,81 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization;
+
+import io.github.mattcarrier.metrics.transport.serialization.TransportableSerializers.CounterSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.TransportableSerializers.GaugeSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.TransportableSerializers.MeterSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.TransportableSerializers.MetricSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.TransportableSerializers.SnapshotSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.TransportableSerializers.ZonedDateTimeSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.esotericsoftware.kryo.Kryo;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+
+/**
+ * {@link KryoSerializer} requiring registration of every serialized class
+ * under a fixed id, so no class names are written, with hand-written
+ * serializers for the transport classes. Gauge and meta values must be
+ * strings, primitive wrappers, {@link BigInteger} or {@link BigDecimal};
+ * other value types can be registered by overriding {@link #kryo()} with ids
+ * from {@value #FIRST_CUSTOM_ID} upwards, on both the publishing and
+ * consuming side.
+ *
+ * <p>Left at the default priority, so the {@link SerializerFactory} keeps
+ * publishing with the {@link KryoSerializer} and only offers this format to
+ * consumers by its content type. Consumers must be upgraded before any
+ * publisher opts in.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@SerializerImpl
+public class RegisteredKryoSerializer extends KryoSerializer {
+  /**
+   * The first registration id available for custom value types.
+   */
+  public static final int FIRST_CUSTOM_ID = 64;
+
+  @Override
+  protected Kryo kryo() {
+    final Kryo kryo = new Kryo();
+    kryo.setRegistrationRequired(true);
+    kryo.setReferences(false);
+    kryo.register(TransportableMetric.class, new MetricSerializer(), 20);
+    kryo.register(ZonedDateTime.class, new ZonedDateTimeSerializer(), 21);
+    kryo.register(TransportableCounter.class, new CounterSerializer(), 22);
+    kryo.register(TransportableMeter.class, new MeterSerializer(), 23);
+    kryo.register(TransportableGauge.class, new GaugeSerializer(), 24);
+    kryo.register(TransportableSnapshot.class, new SnapshotSerializer(), 25);
+    kryo.register(BigInteger.class, 26);
+    kryo.register(BigDecimal.class, 27);
+    return kryo;
+  }
+
+  @Override
+  public String contentType() {
+    return "application/x-kryo-registered";
+  }
+}
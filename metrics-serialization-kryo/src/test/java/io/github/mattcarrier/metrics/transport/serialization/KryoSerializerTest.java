@@ -30,4 +30,9 @@ public class KryoSerializerTest extends AbstractSerializerTest {
   protected Serializer serializer() {
     return new KryoSerializer();
   }
+
+  @Override
+  protected boolean rejectsUnsupportedValues() {
+    return false;
+  }
 }
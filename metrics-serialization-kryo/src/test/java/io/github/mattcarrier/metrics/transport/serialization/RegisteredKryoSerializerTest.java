@@ -0,0 +1,148 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+/**
+ * Tests serialization for {@link TransportableMetric} objects using the
+ * {@link RegisteredKryoSerializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class RegisteredKryoSerializerTest extends AbstractSerializerTest {
+  @Override
+  protected Serializer serializer() {
+    return new RegisteredKryoSerializer();
+  }
+
+  @Test
+  public void optInWithSerializerFactory() throws Exception {
+    final SerializerFactory factory = new SerializerFactory();
+    assertEquals(KryoSerializer.class, factory.serializer().getClass());
+    assertEquals(RegisteredKryoSerializer.class, factory.serializer("application/x-kryo-registered").getClass());
+    assertEquals(3, factory.serializers().size());
+  }
+
+  @Test
+  public void serializeMetaAndZone() throws Exception {
+    final TransportableMetric metric = new TransportableMetric(
+        "name", ZonedDateTime.now(ZoneId.of("America/New_York")),
+        ImmutableMap.of("host", "a", "port", 9127, "ratio", new BigDecimal("0.25")),
+        ImmutableSet.of(new TransportableGauge<>(-1.5d), new TransportableCounter(-42))
+    );
+    final Serializer serializer = serializer();
+    assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
+  }
+
+  @Test
+  public void serializeSnapshotFields() throws Exception {
+    final TransportableSnapshot sorted = snapshot(LongStream.range(-50, 50).map(value -> value * 7).toArray());
+    final TransportableSnapshot unsorted = snapshot(new long[] { 5, Long.MIN_VALUE, Long.MAX_VALUE, 0, -3 });
+    final Serializer serializer = serializer();
+    for (TransportableSnapshot snapshot : new TransportableSnapshot[] { sorted, unsorted }) {
+      final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
+                                                                 ImmutableSet.of(snapshot)
+      );
+      final TransportableSnapshot deserialized = (TransportableSnapshot) serializer
+          .deserialize(serializer.serialize(metric)).getTransportables().iterator().next();
+      assertArrayEquals(snapshot.getValues(), deserialized.getValues());
+      assertEquals(snapshot.getMax(), deserialized.getMax());
+      assertEquals(snapshot.getMin(), deserialized.getMin());
+      assertEquals(snapshot.getMean(), deserialized.getMean(), 0d);
+      assertEquals(snapshot.get999thPercentile(), deserialized.get999thPercentile(), 0d);
+    }
+  }
+
+  @Test
+  public void smallerThanKryoSerializer() throws Exception {
+    final TransportableMetric metric = new TransportableMetric(
+        "name", ZonedDateTime.now(),
+        ImmutableSet.of(new TransportableCounter(7), new TransportableMeter(1000, 1d, 2d, 3d, 4d),
+                        new TransportableGauge<>(12), snapshot(LongStream.range(0, 1024).map(value -> value * 3)
+                            .toArray())
+        )
+    );
+    final int registered = serializer().serialize(metric).length;
+    final int kryo = new KryoSerializer().serialize(metric).length;
+    assertTrue(registered + " vs " + kryo, 2 * registered < kryo);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unregisteredGaugeValue() throws Exception {
+    serializer().serialize(new TransportableMetric("name", ZonedDateTime.now(),
+                                                   ImmutableSet.of(new TransportableGauge<>(UUID.randomUUID()))
+    ));
+  }
+
+  @Test
+  public void customRegistration() throws Exception {
+    final Serializer serializer = new RegisteredKryoSerializer() {
+      @Override
+      protected Kryo kryo() {
+        final Kryo kryo = super.kryo();
+        kryo.register(UUID.class, new UuidSerializer(), FIRST_CUSTOM_ID);
+        return kryo;
+      }
+    };
+    final TransportableMetric metric = new TransportableMetric(
+        "name", ZonedDateTime.now(), ImmutableSet.of(new TransportableGauge<>(UUID.randomUUID())));
+    assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
+  }
+
+  private static TransportableSnapshot snapshot(long[] values) {
+    return new TransportableSnapshot(values, 10, 1.5d, -10, 2.5d, 3.5d, 4.5d, 5.5d, 6.5d, 7.5d, 8.5d);
+  }
+
+  /**
+   * Writes a {@link UUID} as its two longs.
+   */
+  private static class UuidSerializer extends com.esotericsoftware.kryo.Serializer<UUID> {
+    @Override
+    public void write(Kryo kryo, Output output, UUID uuid) {
+      output.writeLong(uuid.getMostSignificantBits());
+      output.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    @Override
+    public UUID read(Kryo kryo, Input input, Class<UUID> type) {
+      return new UUID(input.readLong(), input.readLong());
+    }
+  }
+}
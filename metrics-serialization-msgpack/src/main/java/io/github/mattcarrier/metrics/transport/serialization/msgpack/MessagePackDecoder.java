@@ -0,0 +1,235 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization.msgpack;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.msgpack.core.ExtensionTypeHeader;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.ArrayBufferInput;
+import org.msgpack.core.buffer.ByteBufferInput;
+import org.msgpack.value.ValueType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * Reads {@link TransportableMetric}s in the {@link MessagePackFormat} layout
+ * with a reused {@link MessageUnpacker}. Instances are not thread safe.
+ *
+ * <p>Integer gauge and meta values written as int 8, 16 or 32 are read back as
+ * bytes, shorts and integers. Any other integer format, as written by packers
+ * that pick the smallest encoding, is read as a long or as a
+ * {@link BigInteger} when it does not fit.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class MessagePackDecoder {
+  private final ArrayBufferInput array    = new ArrayBufferInput(new byte[0]);
+  private final ByteBufferInput  buffer   = new ByteBufferInput(ByteBuffer.allocate(0));
+  private final MessageUnpacker  unpacker = MessagePack.newDefaultUnpacker(array);
+
+  /**
+   * Reads the metric from the serialized bytes.
+   *
+   * @param serialized
+   *     the serialized bytes
+   * @return the metric
+   * @throws IOException
+   *     if the bytes are not a metric
+   */
+  TransportableMetric decode(byte[] serialized) throws IOException {
+    array.reset(serialized);
+    unpacker.reset(array);
+    return decode();
+  }
+
+  /**
+   * Reads the metric at the buffer's position and advances the position past
+   * it.
+   *
+   * @param in
+   *     the buffer
+   * @return the metric
+   * @throws IOException
+   *     if the bytes are not a metric
+   */
+  TransportableMetric decode(ByteBuffer in) throws IOException {
+    buffer.reset(in);
+    unpacker.reset(buffer);
+    final TransportableMetric metric = decode();
+    in.position(in.position() + (int) unpacker.getTotalReadBytes());
+    return metric;
+  }
+
+  private TransportableMetric decode() throws IOException {
+    final int fields = unpacker.unpackArrayHeader();
+    if (fields < MessagePackFormat.METRIC_FIELDS) {
+      throw new IOException("Expected a metric of [" + MessagePackFormat.METRIC_FIELDS + "] fields but found ["
+                            + fields + "].");
+    }
+
+    final String name = unpacker.unpackString();
+    final Instant instant = unpacker.unpackTimestamp();
+    final ZoneId zone = ZoneId.of(unpacker.unpackString());
+
+    final ImmutableMap.Builder<String, Object> meta = ImmutableMap.builder();
+    for (int remaining = unpacker.unpackMapHeader(); remaining > 0; remaining--) {
+      meta.put(unpacker.unpackString(), unpackValue());
+    }
+
+    final ImmutableSet.Builder<Transportable> transportables = ImmutableSet.builder();
+    for (int remaining = unpacker.unpackArrayHeader(); remaining > 0; remaining--) {
+      final Transportable transportable = unpackTransportable();
+      if (null != transportable) {
+        transportables.add(transportable);
+      }
+    }
+
+    unpacker.skipValue(fields - MessagePackFormat.METRIC_FIELDS);
+    return new TransportableMetric(name, ZonedDateTime.ofInstant(instant, zone), meta.build(),
+                                   transportables.build());
+  }
+
+  private Transportable unpackTransportable() throws IOException {
+    final int fields = unpacker.unpackArrayHeader();
+    if (0 == fields) {
+      return null;
+    }
+
+    final int tag = unpacker.unpackInt();
+    final Transportable transportable;
+    final int read;
+    switch (tag) {
+      case MessagePackFormat.COUNTER:
+        read = require(tag, fields, MessagePackFormat.COUNTER_FIELDS);
+        transportable = new TransportableCounter(unpacker.unpackLong());
+        break;
+      case MessagePackFormat.METER:
+        read = require(tag, fields, MessagePackFormat.METER_FIELDS);
+        transportable = new TransportableMeter(unpacker.unpackLong(), unpacker.unpackDouble(),
+                                               unpacker.unpackDouble(), unpacker.unpackDouble(),
+                                               unpacker.unpackDouble());
+        break;
+      case MessagePackFormat.GAUGE:
+        read = require(tag, fields, MessagePackFormat.GAUGE_FIELDS);
+        transportable = new TransportableGauge<>(unpackValue());
+        break;
+      case MessagePackFormat.SNAPSHOT:
+        read = require(tag, fields, MessagePackFormat.SNAPSHOT_FIELDS);
+        final long[] values = new long[unpacker.unpackArrayHeader()];
+        for (int index = 0; index < values.length; index++) {
+          values[index] = unpacker.unpackLong();
+        }
+
+        final long max = unpacker.unpackLong();
+        final long min = unpacker.unpackLong();
+        final double mean = unpacker.unpackDouble();
+        transportable = new TransportableSnapshot(values, max, mean, min, unpacker.unpackDouble(),
+                                                  unpacker.unpackDouble(), unpacker.unpackDouble(),
+                                                  unpacker.unpackDouble(), unpacker.unpackDouble(),
+                                                  unpacker.unpackDouble(), unpacker.unpackDouble());
+        break;
+      default:
+        read = 1;
+        transportable = null;
+        break;
+    }
+
+    unpacker.skipValue(fields - read);
+    return transportable;
+  }
+
+  private static int require(int tag, int fields, int required) throws IOException {
+    if (fields < required) {
+      throw new IOException("Expected a transportable [" + tag + "] of [" + required + "] fields but found ["
+                            + fields + "].");
+    }
+
+    return required;
+  }
+
+  private Object unpackValue() throws IOException {
+    final MessageFormat format = unpacker.getNextFormat();
+    final ValueType type = format.getValueType();
+    switch (type) {
+      case NIL:
+        unpacker.unpackNil();
+        return null;
+      case BOOLEAN:
+        return unpacker.unpackBoolean();
+      case INTEGER:
+        return unpackInteger(format);
+      case FLOAT:
+        return MessageFormat.FLOAT32 == format ? (Object) unpacker.unpackFloat() : (Object) unpacker.unpackDouble();
+      case STRING:
+        return unpacker.unpackString();
+      case EXTENSION:
+        return unpackExtension();
+      default:
+        throw new IOException("Unsupported value format [" + format + "].");
+    }
+  }
+
+  private Object unpackInteger(MessageFormat format) throws IOException {
+    switch (format) {
+      case INT8:
+        return unpacker.unpackByte();
+      case INT16:
+        return unpacker.unpackShort();
+      case INT32:
+        return unpacker.unpackInt();
+      case UINT64:
+        final BigInteger value = unpacker.unpackBigInteger();
+        return value.bitLength() < Long.SIZE ? (Object) value.longValue() : (Object) value;
+      default:
+        return unpacker.unpackLong();
+    }
+  }
+
+  private Object unpackExtension() throws IOException {
+    final ExtensionTypeHeader header = unpacker.unpackExtensionTypeHeader();
+    final byte type = header.getType();
+    final byte[] payload = unpacker.readPayload(header.getLength());
+    if (MessagePackFormat.BIG_INTEGER == type && payload.length > 0) {
+      return new BigInteger(payload);
+    } else if (MessagePackFormat.BIG_DECIMAL == type && payload.length > Integer.BYTES) {
+      final int scale = (payload[0] & 0xff) << 24 | (payload[1] & 0xff) << 16 | (payload[2] & 0xff) << 8
+                        | payload[3] & 0xff;
+      return new BigDecimal(new BigInteger(Arrays.copyOfRange(payload, Integer.BYTES, payload.length)), scale);
+    }
+
+    throw new IOException("Unsupported extension type [" + type + "] of [" + payload.length + "] bytes.");
+  }
+}
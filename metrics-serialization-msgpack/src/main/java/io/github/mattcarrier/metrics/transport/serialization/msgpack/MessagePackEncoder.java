@@ -0,0 +1,233 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization.msgpack;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Writes {@link TransportableMetric}s in the {@link MessagePackFormat} layout
+ * with a streaming {@link MessagePacker} over a {@link ReusableBufferOutput}.
+ * Instances are not thread safe. Transportables of unknown types are left out.
+ *
+ * <p>Bytes, shorts, integers and longs are always written as int 8, 16, 32 and
+ * 64 respectively instead of the smallest fitting integer so that their Java
+ * types survive the round trip. Snapshot values use the smallest encoding.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class MessagePackEncoder {
+  private final ReusableBufferOutput output;
+  private final MessagePacker        packer;
+  private final byte[]               scratch = new byte[Long.BYTES + 1];
+
+  MessagePackEncoder(int initialCapacity) {
+    this.output = new ReusableBufferOutput(initialCapacity);
+    this.packer = MessagePack.newDefaultPacker(output);
+  }
+
+  /**
+   * The buffer written by {@link #encode(TransportableMetric)}, replaced
+   * whenever encoding grows it.
+   *
+   * @return the buffer
+   */
+  byte[] buffer() {
+    return output.array();
+  }
+
+  /**
+   * Writes the metric from the start of the encoder's buffer, growing it as
+   * needed.
+   *
+   * @param metric
+   *     the metric
+   * @return the number of bytes written
+   * @throws IOException
+   *     if the packer fails
+   * @throws IllegalArgumentException
+   *     if a meta or gauge value is of an unsupported type
+   */
+  int encode(TransportableMetric metric) throws IOException {
+    // drops anything left behind by an encoding that failed part way
+    packer.flush();
+    output.clear();
+
+    final ZonedDateTime timestamp = metric.getTimestamp();
+    packer.packArrayHeader(MessagePackFormat.METRIC_FIELDS);
+    packer.packString(metric.getName());
+    packer.packTimestamp(timestamp.toEpochSecond(), timestamp.getNano());
+    packer.packString(timestamp.getZone().getId());
+
+    packer.packMapHeader(metric.getMeta().size());
+    for (Map.Entry<String, Object> entry : metric.getMeta().entrySet()) {
+      packer.packString(entry.getKey());
+      packValue(entry.getValue());
+    }
+
+    int known = 0;
+    for (Transportable transportable : metric.getTransportables()) {
+      if (transportable instanceof TransportableCounter || transportable instanceof TransportableGauge
+          || transportable instanceof TransportableSnapshot) {
+        known++;
+      }
+    }
+
+    packer.packArrayHeader(known);
+    for (Transportable transportable : metric.getTransportables()) {
+      packTransportable(transportable);
+    }
+
+    packer.flush();
+    return output.size();
+  }
+
+  /**
+   * Writes the metric into the buffer at its position.
+   *
+   * @param metric
+   *     the metric
+   * @param buffer
+   *     the buffer
+   * @return the number of bytes written
+   * @throws IOException
+   *     if the packer fails
+   * @throws BufferOverflowException
+   *     if the metric does not fit in the remaining bytes, leaving the position
+   *     unchanged
+   */
+  int encode(TransportableMetric metric, ByteBuffer buffer) throws IOException {
+    final int length = encode(metric);
+    if (length > buffer.remaining()) {
+      throw new BufferOverflowException();
+    }
+
+    buffer.put(output.array(), 0, length);
+    return length;
+  }
+
+  private void packTransportable(Transportable transportable) throws IOException {
+    if (transportable instanceof TransportableMeter) {
+      final TransportableMeter meter = (TransportableMeter) transportable;
+      packer.packArrayHeader(MessagePackFormat.METER_FIELDS);
+      packer.packInt(MessagePackFormat.METER);
+      packer.packLong(meter.getCount());
+      packer.packDouble(meter.getFifteenMinuteRate());
+      packer.packDouble(meter.getFiveMinuteRate());
+      packer.packDouble(meter.getMeanRate());
+      packer.packDouble(meter.getOneMinuteRate());
+    } else if (transportable instanceof TransportableCounter) {
+      packer.packArrayHeader(MessagePackFormat.COUNTER_FIELDS);
+      packer.packInt(MessagePackFormat.COUNTER);
+      packer.packLong(((TransportableCounter) transportable).getCount());
+    } else if (transportable instanceof TransportableGauge) {
+      packer.packArrayHeader(MessagePackFormat.GAUGE_FIELDS);
+      packer.packInt(MessagePackFormat.GAUGE);
+      packValue(((TransportableGauge<?>) transportable).getValue());
+    } else if (transportable instanceof TransportableSnapshot) {
+      final TransportableSnapshot snapshot = (TransportableSnapshot) transportable;
+      packer.packArrayHeader(MessagePackFormat.SNAPSHOT_FIELDS);
+      packer.packInt(MessagePackFormat.SNAPSHOT);
+      final long[] values = snapshot.getValues();
+      packer.packArrayHeader(values.length);
+      for (long value : values) {
+        packer.packLong(value);
+      }
+      packer.packLong(snapshot.getMax());
+      packer.packLong(snapshot.getMin());
+      packer.packDouble(snapshot.getMean());
+      packer.packDouble(snapshot.getStdDev());
+      packer.packDouble(snapshot.getMedian());
+      packer.packDouble(snapshot.get75thPercentile());
+      packer.packDouble(snapshot.get95thPercentile());
+      packer.packDouble(snapshot.get98thPercentile());
+      packer.packDouble(snapshot.get99thPercentile());
+      packer.packDouble(snapshot.get999thPercentile());
+    }
+  }
+
+  private void packValue(Object value) throws IOException {
+    if (null == value) {
+      packer.packNil();
+    } else if (value instanceof String) {
+      packer.packString((String) value);
+    } else if (value instanceof Boolean) {
+      packer.packBoolean((Boolean) value);
+    } else if (value instanceof Byte) {
+      packFixed(MessagePack.Code.INT8, (Byte) value, Byte.BYTES);
+    } else if (value instanceof Short) {
+      packFixed(MessagePack.Code.INT16, (Short) value, Short.BYTES);
+    } else if (value instanceof Integer) {
+      packFixed(MessagePack.Code.INT32, (Integer) value, Integer.BYTES);
+    } else if (value instanceof Long) {
+      packFixed(MessagePack.Code.INT64, (Long) value, Long.BYTES);
+    } else if (value instanceof Float) {
+      packer.packFloat((Float) value);
+    } else if (value instanceof Double) {
+      packer.packDouble((Double) value);
+    } else if (value instanceof BigInteger) {
+      final byte[] bytes = ((BigInteger) value).toByteArray();
+      packer.packExtensionTypeHeader(MessagePackFormat.BIG_INTEGER, bytes.length);
+      packer.writePayload(bytes);
+    } else if (value instanceof BigDecimal) {
+      final BigDecimal decimal = (BigDecimal) value;
+      final byte[] bytes = decimal.unscaledValue().toByteArray();
+      packer.packExtensionTypeHeader(MessagePackFormat.BIG_DECIMAL, Integer.BYTES + bytes.length);
+      fill(decimal.scale(), Integer.BYTES);
+      packer.writePayload(scratch, 1, Integer.BYTES);
+      packer.writePayload(bytes);
+    } else {
+      throw new IllegalArgumentException("Unsupported value type [" + value.getClass() + "].");
+    }
+  }
+
+  /**
+   * Writes the value after the format code instead of letting the packer pick
+   * the smallest integer format.
+   */
+  private void packFixed(byte code, long value, int length) throws IOException {
+    scratch[0] = code;
+    fill(value, length);
+    packer.writePayload(scratch, 0, length + 1);
+  }
+
+  /**
+   * Fills the scratch from index one with the big endian bytes of the value.
+   */
+  private void fill(long value, int length) {
+    for (int index = length; index > 0; index--) {
+      scratch[index] = (byte) (value >>> ((length - index) * Byte.SIZE));
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization.msgpack;
+
+/**
+ * Tags and extension types of the MessagePack layout written by the
+ * {@link MessagePackSerializer}.
+ *
+ * <p>A metric is the array {@code [name, timestamp, zone, meta, transportables]}
+ * where the timestamp is the standard MessagePack timestamp extension, meta is
+ * a map of strings to values and every transportable is an array led by its
+ * tag:
+ *
+ * <pre>
+ * counter  [1, count]
+ * meter    [2, count, m15, m5, mean, m1]
+ * gauge    [3, value]
+ * snapshot [4, [values...], max, min, mean, stdDev, median, p75, p95, p98, p99, p999]
+ * </pre>
+ *
+ * <p>Readers skip transportables with unknown tags and any trailing array
+ * elements, so fields may be appended without breaking older consumers.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class MessagePackFormat {
+  static final int METRIC_FIELDS = 5;
+
+  static final int COUNTER  = 1;
+  static final int METER    = 2;
+  static final int GAUGE    = 3;
+  static final int SNAPSHOT = 4;
+
+  static final int COUNTER_FIELDS  = 2;
+  static final int METER_FIELDS    = 6;
+  static final int GAUGE_FIELDS    = 2;
+  static final int SNAPSHOT_FIELDS = 12;
+
+  /**
+   * Extension type of a {@link java.math.BigInteger} holding its two's
+   * complement bytes.
+   */
+  static final byte BIG_INTEGER = 1;
+
+  /**
+   * Extension type of a {@link java.math.BigDecimal} holding its four byte
+   * scale followed by the two's complement bytes of its unscaled value.
+   */
+  static final byte BIG_DECIMAL = 2;
+
+  private MessagePackFormat() {
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization.msgpack;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerImpl;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link Serializer} implementation utilizing <a href="https://msgpack.org/">MessagePack</a>.
+ * Metrics are schema-less nested arrays, described by {@link MessagePackFormat},
+ * so they can be read by any MessagePack library without generated code.
+ * Packing reuses a per-thread buffer.
+ *
+ * <p>Gauge and meta values must be {@code null}, strings, primitive wrappers
+ * other than {@link Character}, {@link java.math.BigInteger} or
+ * {@link java.math.BigDecimal}. Primitives use the native MessagePack types and
+ * big numbers are written as extension types.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@SerializerImpl
+public class MessagePackSerializer implements Serializer {
+  private final ThreadLocal<MessagePackEncoder> encoder = ThreadLocal.withInitial(() -> new MessagePackEncoder(512));
+  private final ThreadLocal<MessagePackDecoder> decoder = ThreadLocal.withInitial(MessagePackDecoder::new);
+
+  @Override
+  public String contentType() {
+    return "application/x-msgpack";
+  }
+
+  @Override
+  public byte[] serialize(TransportableMetric metric) throws Exception {
+    final MessagePackEncoder written = encoder.get();
+    final int length = written.encode(metric);
+    return Arrays.copyOf(written.buffer(), length);
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    final MessagePackEncoder written = encoder.get();
+    final int length = written.encode(metric);
+    out.write(written.buffer(), 0, length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The buffer's position is left unchanged if the metric does not fit.
+   */
+  @Override
+  public int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    return encoder.get().encode(metric, buffer);
+  }
+
+  @Override
+  public TransportableMetric deserialize(byte[] serialized) throws Exception {
+    return decoder.get().decode(serialized);
+  }
+
+  @Override
+  public TransportableMetric deserialize(ByteBuffer serialized) throws Exception {
+    return decoder.get().decode(serialized);
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.serialization.msgpack;
+
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.core.buffer.MessageBufferOutput;
+
+import java.util.Arrays;
+
+/**
+ * {@link MessageBufferOutput} collecting everything into a single array that
+ * is kept across {@link #clear()}s and only replaced when it has to grow, so
+ * packing into it does not allocate once it is large enough.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class ReusableBufferOutput implements MessageBufferOutput {
+  private byte[]        array;
+  private MessageBuffer whole;
+  private int           size = 0;
+
+  ReusableBufferOutput(int initialCapacity) {
+    this.array = new byte[initialCapacity];
+    this.whole = MessageBuffer.wrap(array);
+  }
+
+  /**
+   * The written bytes, replaced whenever the output grows.
+   *
+   * @return the array
+   */
+  byte[] array() {
+    return array;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  @Override
+  public MessageBuffer next(int minimumSize) {
+    ensureCapacity(minimumSize);
+    return 0 == size ? whole : MessageBuffer.wrap(array, size, array.length - size);
+  }
+
+  @Override
+  public void writeBuffer(int length) {
+    size += length;
+  }
+
+  @Override
+  public void write(byte[] buffer, int offset, int length) {
+    ensureCapacity(length);
+    System.arraycopy(buffer, offset, array, size, length);
+    size += length;
+  }
+
+  @Override
+  public void add(byte[] buffer, int offset, int length) {
+    write(buffer, offset, length);
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private void ensureCapacity(int length) {
+    if (array.length - size >= length) {
+      return;
+    }
+
+    array = Arrays.copyOf(array, Math.max(array.length * 2, size + length));
+    whole = MessageBuffer.wrap(array);
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.msgpack;
+
+import static org.junit.Assert.assertEquals;
+
+import io.github.mattcarrier.metrics.transport.serialization.AbstractSerializerTest;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ArrayValue;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Tests serialization for {@link TransportableMetric} objects using the
+ * {@link MessagePackSerializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class MessagePackSerializerTest extends AbstractSerializerTest {
+  @Override
+  protected Serializer serializer() {
+    return new MessagePackSerializer();
+  }
+
+  @Override
+  protected int overflowBufferSize() {
+    return 16;
+  }
+
+  @Test
+  public void serializeTransportables() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(), ImmutableSet.of(
+        new TransportableCounter(1), new TransportableCounter(-2), new TransportableMeter(3, 1d, 2d, 3d, 4d),
+        new TransportableSnapshot(new long[] { 3, -1, Long.MIN_VALUE }, 3, 2d, 1, 1d, 2d, 3d, 3d, 3d, 3d, 3d),
+        new TransportableSnapshot(new long[0], 0, 0d, 0, 0d, 0d, 0d, 0d, 0d, 0d, 0d)
+    ));
+    final Serializer serializer = serializer();
+    assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
+  }
+
+  @Test
+  public void readableWithoutSchema() throws Exception {
+    final ZonedDateTime timestamp = ZonedDateTime.now(ZoneOffset.UTC);
+    final byte[] serialized = serializer().serialize(new TransportableMetric(
+        "name", timestamp, ImmutableMap.of("host", "a"),
+        ImmutableSet.of(new TransportableCounter(7), new TransportableGauge<>(1.5d))));
+
+    try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(serialized)) {
+      final ArrayValue metric = unpacker.unpackValue().asArrayValue();
+      assertEquals("name", metric.get(0).asStringValue().asString());
+      assertEquals(timestamp.toInstant(), metric.get(1).asTimestampValue().toInstant());
+      assertEquals("Z", metric.get(2).asStringValue().asString());
+      assertEquals("a", metric.get(3).asMapValue().map().values().iterator().next().asStringValue().asString());
+      assertEquals("[[1,7],[3,1.5]]", metric.get(4).toJson());
+    }
+  }
+
+  @Test
+  public void skipsUnknownFields() throws Exception {
+    final Instant timestamp = Instant.now();
+    final MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+    packer.packArrayHeader(6).packString("name").packTimestamp(timestamp).packString("UTC").packMapHeader(1)
+        .packString("small").packInt(5).packArrayHeader(3);
+    packer.packArrayHeader(2).packInt(99).packString("unknown");
+    packer.packArrayHeader(3).packInt(MessagePackFormat.COUNTER).packLong(4).packBoolean(true);
+    packer.packArrayHeader(2).packInt(MessagePackFormat.GAUGE).packBigInteger(BigInteger.ONE.shiftLeft(63));
+    packer.packString("trailing").close();
+
+    assertEquals(new TransportableMetric("name", ZonedDateTime.ofInstant(timestamp, ZoneId.of("UTC")),
+                                         ImmutableMap.of("small", 5L),
+                                         ImmutableSet.of(new TransportableCounter(4),
+                                                         new TransportableGauge<>(BigInteger.ONE.shiftLeft(63)))),
+                 serializer().deserialize(packer.toByteArray()));
+  }
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.protobuf;
+
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Counter;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Decimal;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Gauge;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Meter;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Metric;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Snapshot;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Timestamp;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Value;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Converts between {@link TransportableMetric}s and the {@link Metric}
+ * messages of {@code metrics.proto}, which is packaged alongside the classes
+ * for generating readers in other languages.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class ProtobufConverter {
+  private ProtobufConverter() {
+
+  }
+
+  /**
+   * Converts the {@link TransportableMetric} to its message. Transportables of
+   * unknown types are left out.
+   *
+   * @param metric
+   *     the {@link TransportableMetric}
+   * @return the message
+   * @throws IllegalArgumentException
+   *     if a meta or gauge value is not {@code null}, a string, a primitive
+   *     wrapper other than {@link Character}, a {@link BigInteger} or a
+   *     {@link BigDecimal}
+   */
+  public static Metric toProto(TransportableMetric metric) {
+    final ZonedDateTime timestamp = metric.getTimestamp();
+    final Metric.Builder builder = Metric.newBuilder().setName(metric.getName())
+        .setTimestamp(Timestamp.newBuilder().setEpochSecond(timestamp.toEpochSecond()).setNano(timestamp.getNano())
+                          .setZone(timestamp.getZone().getId()));
+    for (Map.Entry<String, Object> entry : metric.getMeta().entrySet()) {
+      builder.putMeta(entry.getKey(), toProto(entry.getValue()));
+    }
+
+    for (Transportable transportable : metric.getTransportables()) {
+      final MetricsProto.Transportable proto = toProto(transportable);
+      if (null != proto) {
+        builder.addTransportables(proto);
+      }
+    }
+
+    return builder.build();
+  }
+
+  private static MetricsProto.Transportable toProto(Transportable transportable) {
+    final MetricsProto.Transportable.Builder builder = MetricsProto.Transportable.newBuilder();
+    if (transportable instanceof TransportableMeter) {
+      final TransportableMeter meter = (TransportableMeter) transportable;
+      return builder.setMeter(Meter.newBuilder().setCount(meter.getCount())
+                                  .setFifteenMinuteRate(meter.getFifteenMinuteRate())
+                                  .setFiveMinuteRate(meter.getFiveMinuteRate()).setMeanRate(meter.getMeanRate())
+                                  .setOneMinuteRate(meter.getOneMinuteRate())).build();
+    } else if (transportable instanceof TransportableCounter) {
+      return builder.setCounter(Counter.newBuilder().setCount(((TransportableCounter) transportable).getCount()))
+          .build();
+    } else if (transportable instanceof TransportableGauge) {
+      return builder.setGauge(Gauge.newBuilder().setValue(toProto(((TransportableGauge<?>) transportable).getValue())))
+          .build();
+    } else if (transportable instanceof TransportableSnapshot) {
+      final TransportableSnapshot snapshot = (TransportableSnapshot) transportable;
+      return builder.setSnapshot(Snapshot.newBuilder().addAllValues(Longs.asList(snapshot.getValues()))
+                                     .setMax(snapshot.getMax()).setMin(snapshot.getMin()).setMean(snapshot.getMean())
+                                     .setStdDev(snapshot.getStdDev()).setMedian(snapshot.getMedian())
+                                     .setP75(snapshot.get75thPercentile()).setP95(snapshot.get95thPercentile())
+                                     .setP98(snapshot.get98thPercentile()).setP99(snapshot.get99thPercentile())
+                                     .setP999(snapshot.get999thPercentile())).build();
+    }
+
+    return null;
+  }
+
+  private static Value toProto(Object value) {
+    final Value.Builder builder = Value.newBuilder();
+    if (null == value) {
+      return builder.build();
+    } else if (value instanceof String) {
+      return builder.setStringValue((String) value).build();
+    } else if (value instanceof Boolean) {
+      return builder.setBoolValue((Boolean) value).build();
+    } else if (value instanceof Byte) {
+      return builder.setByteValue((Byte) value).build();
+    } else if (value instanceof Short) {
+      return builder.setShortValue((Short) value).build();
+    } else if (value instanceof Integer) {
+      return builder.setIntValue((Integer) value).build();
+    } else if (value instanceof Long) {
+      return builder.setLongValue((Long) value).build();
+    } else if (value instanceof Float) {
+      return builder.setFloatValue((Float) value).build();
+    } else if (value instanceof Double) {
+      return builder.setDoubleValue((Double) value).build();
+    } else if (value instanceof BigInteger) {
+      return builder.setBigIntegerValue(ByteString.copyFrom(((BigInteger) value).toByteArray())).build();
+    } else if (value instanceof BigDecimal) {
+      final BigDecimal decimal = (BigDecimal) value;
+      return builder.setBigDecimalValue(Decimal.newBuilder().setScale(decimal.scale())
+                                            .setUnscaled(ByteString.copyFrom(decimal.unscaledValue().toByteArray())))
+          .build();
+    }
+
+    throw new IllegalArgumentException("Unsupported value type [" + value.getClass() + "].");
+  }
+
+  /**
+   * Converts the message to its {@link TransportableMetric}. Transportables,
+   * gauge values and meta values of kinds unknown to this version of the
+   * schema are left out, as are unset meta values.
+   *
+   * @param metric
+   *     the message
+   * @return the {@link TransportableMetric}
+   */
+  public static TransportableMetric fromProto(Metric metric) {
+    final Timestamp timestamp = metric.getTimestamp();
+    final ImmutableMap.Builder<String, Object> meta = ImmutableMap.builder();
+    for (Map.Entry<String, Value> entry : metric.getMetaMap().entrySet()) {
+      if (Value.KindCase.KIND_NOT_SET != entry.getValue().getKindCase()) {
+        meta.put(entry.getKey(), fromProto(entry.getValue()));
+      }
+    }
+
+    final ImmutableSet.Builder<Transportable> transportables = ImmutableSet.builder();
+    for (MetricsProto.Transportable transportable : metric.getTransportablesList()) {
+      final Transportable converted = fromProto(transportable);
+      if (null != converted) {
+        transportables.add(converted);
+      }
+    }
+
+    return new TransportableMetric(
+        metric.getName(), ZonedDateTime.ofInstant(Instant.ofEpochSecond(timestamp.getEpochSecond(),
+                                                                        timestamp.getNano()),
+                                                  ZoneId.of(timestamp.getZone())),
+        meta.build(), transportables.build()
+    );
+  }
+
+  private static Transportable fromProto(MetricsProto.Transportable transportable) {
+    switch (transportable.getKindCase()) {
+      case COUNTER:
+        return new TransportableCounter(transportable.getCounter().getCount());
+      case METER:
+        final Meter meter = transportable.getMeter();
+        return new TransportableMeter(meter.getCount(), meter.getFifteenMinuteRate(), meter.getFiveMinuteRate(),
+                                      meter.getMeanRate(), meter.getOneMinuteRate()
+        );
+      case GAUGE:
+        final Value value = transportable.getGauge().getValue();
+        return isUnknown(value) ? null : new TransportableGauge<>(fromProto(value));
+      case SNAPSHOT:
+        final Snapshot snapshot = transportable.getSnapshot();
+        return new TransportableSnapshot(Longs.toArray(snapshot.getValuesList()), snapshot.getMax(),
+                                         snapshot.getMean(), snapshot.getMin(), snapshot.getStdDev(),
+                                         snapshot.getMedian(), snapshot.getP75(), snapshot.getP95(),
+                                         snapshot.getP98(), snapshot.getP99(), snapshot.getP999()
+        );
+      default:
+        return null;
+    }
+  }
+
+  private static Object fromProto(Value value) {
+    switch (value.getKindCase()) {
+      case STRING_VALUE:
+        return value.getStringValue();
+      case BOOL_VALUE:
+        return value.getBoolValue();
+      case BYTE_VALUE:
+        return (byte) value.getByteValue();
+      case SHORT_VALUE:
+        return (short) value.getShortValue();
+      case INT_VALUE:
+        return value.getIntValue();
+      case LONG_VALUE:
+        return value.getLongValue();
+      case FLOAT_VALUE:
+        return value.getFloatValue();
+      case DOUBLE_VALUE:
+        return value.getDoubleValue();
+      case BIG_INTEGER_VALUE:
+        return new BigInteger(value.getBigIntegerValue().toByteArray());
+      case BIG_DECIMAL_VALUE:
+        final Decimal decimal = value.getBigDecimalValue();
+        return new BigDecimal(new BigInteger(decimal.getUnscaled().toByteArray()), decimal.getScale());
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Whether the value is of a kind unknown to this version of the schema,
+   * which the parser keeps as an unknown field rather than setting the kind.
+   */
+  private static boolean isUnknown(Value value) {
+    return Value.KindCase.KIND_NOT_SET == value.getKindCase() && !value.getUnknownFields().asMap().isEmpty();
+  }
+}
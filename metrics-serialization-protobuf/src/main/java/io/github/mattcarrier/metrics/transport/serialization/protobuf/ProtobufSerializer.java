@@ -0,0 +1,93 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.protobuf;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerImpl;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Metric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link Serializer} implementation utilizing
+ * <a href="https://protobuf.dev/">Protocol Buffers</a> through the schema in
+ * {@code metrics.proto}, so that consumers in other languages can generate
+ * their own readers. Snapshot values are written as a packed repeated field.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ * @see ProtobufConverter
+ */
+@SerializerImpl
+public class ProtobufSerializer implements Serializer {
+  @Override
+  public String contentType() {
+    return "application/x-protobuf";
+  }
+
+  @Override
+  public byte[] serialize(TransportableMetric metric) throws Exception {
+    return ProtobufConverter.toProto(metric).toByteArray();
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    ProtobufConverter.toProto(metric).writeTo(out);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The buffer's position is left unchanged if the metric does not fit.
+   */
+  @Override
+  public int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    final Metric proto = ProtobufConverter.toProto(metric);
+    final int size = proto.getSerializedSize();
+    if (buffer.remaining() < size) {
+      throw new BufferOverflowException();
+    }
+
+    final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+    proto.writeTo(out);
+    out.flush();
+    return size;
+  }
+
+  @Override
+  public TransportableMetric deserialize(byte[] serialized) throws Exception {
+    return ProtobufConverter.fromProto(Metric.parseFrom(serialized));
+  }
+
+  @Override
+  public TransportableMetric deserialize(InputStream in) throws Exception {
+    return ProtobufConverter.fromProto(Metric.parseFrom(in));
+  }
+
+  @Override
+  public TransportableMetric deserialize(ByteBuffer serialized) throws Exception {
+    final TransportableMetric metric = ProtobufConverter.fromProto(Metric.parseFrom(serialized.duplicate()));
+    serialized.position(serialized.limit());
+    return metric;
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.protobuf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.serialization.AbstractSerializerTest;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Gauge;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Metric;
+import io.github.mattcarrier.metrics.transport.serialization.protobuf.MetricsProto.Value;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.stream.LongStream;
+
+/**
+ * Tests serialization for {@link TransportableMetric} objects using the
+ * {@link ProtobufSerializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ProtobufSerializerTest extends AbstractSerializerTest {
+  @Override
+  protected Serializer serializer() {
+    return new ProtobufSerializer();
+  }
+
+  @Test
+  public void packedSnapshotValues() throws Exception {
+    final long[] values = LongStream.range(0, 1000).map(value -> value % 60).toArray();
+    final TransportableSnapshot snapshot = new TransportableSnapshot(values, 59, 29.5, 0, 17.3, 29, 44, 57, 58, 59, 59);
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
+                                                               ImmutableSet.of(snapshot, new TransportableCounter(-1))
+    );
+    final Serializer serializer = serializer();
+    final byte[] serialized = serializer.serialize(metric);
+    assertTrue(String.valueOf(serialized.length), serialized.length < values.length + 200);
+
+    final TransportableSnapshot deserialized = (TransportableSnapshot) serializer.deserialize(serialized)
+        .getTransportables().iterator().next();
+    assertArrayEquals(values, deserialized.getValues());
+    assertEquals(17.3, deserialized.getStdDev(), 0d);
+    assertEquals(57d, deserialized.get95thPercentile(), 0d);
+  }
+
+  @Test
+  public void skipsUnknownTransportables() throws Exception {
+    final Metric proto = ProtobufConverter.toProto(new TransportableMetric(
+        "name", ZonedDateTime.now(), ImmutableSet.of(new TransportableCounter(3))))
+        .toBuilder().addTransportables(MetricsProto.Transportable.getDefaultInstance()).build();
+    assertEquals(ImmutableSet.of(new TransportableCounter(3)),
+                 serializer().deserialize(proto.toByteArray()).getTransportables()
+    );
+  }
+
+  @Test
+  public void skipsUnknownValues() throws Exception {
+    final Value unknown = Value.newBuilder().setUnknownFields(UnknownFieldSet.newBuilder().addField(
+        99, UnknownFieldSet.Field.newBuilder().addVarint(1).build()).build()).build();
+    final Metric proto = ProtobufConverter.toProto(new TransportableMetric(
+        "name", ZonedDateTime.now(), ImmutableMap.of("host", "a"), ImmutableSet.of(new TransportableCounter(3))))
+        .toBuilder().putMeta("future", unknown).putMeta("unset", Value.getDefaultInstance())
+        .addTransportables(MetricsProto.Transportable.newBuilder().setGauge(Gauge.newBuilder().setValue(unknown)))
+        .addTransportables(MetricsProto.Transportable.newBuilder().setGauge(Gauge.getDefaultInstance())).build();
+
+    final TransportableMetric deserialized = serializer().deserialize(proto.toByteArray());
+    assertEquals(ImmutableMap.of("host", "a"), deserialized.getMeta());
+    assertEquals(ImmutableSet.of(new TransportableCounter(3), new TransportableGauge<>(null)),
+                 deserialized.getTransportables()
+    );
+  }
+
+  @Test
+  public void schemaPackaged() {
+    assertNotNull(getClass().getClassLoader().getResource("metrics.proto"));
+  }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.sbe;
+
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MessageHeaderDecoder;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MetricDecoder;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Reads {@link TransportableMetric}s with the generated flyweight codecs.
+ * Instances are not thread safe and reuse their codecs, so decoding only
+ * allocates the metric itself.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class SbeDecoder {
+  private final MessageHeaderDecoder header  = new MessageHeaderDecoder();
+  private final MetricDecoder        decoder = new MetricDecoder();
+  private final UnsafeBuffer         source  = new UnsafeBuffer(SbeValues.EMPTY);
+
+  /**
+   * Reads a metric from the start of the bytes.
+   *
+   * @param serialized
+   *     the bytes to read from
+   * @return the metric
+   * @throws IOException
+   *     if the bytes do not hold a metric of this schema
+   * @throws IndexOutOfBoundsException
+   *     if the metric is truncated
+   */
+  TransportableMetric decode(byte[] serialized) throws IOException {
+    source.wrap(serialized);
+    try {
+      return decode();
+    } finally {
+      source.wrap(SbeValues.EMPTY);
+    }
+  }
+
+  /**
+   * Reads a metric from the position of the buffer, advancing the position
+   * past the metric.
+   *
+   * @param in
+   *     the buffer to read from
+   * @return the metric
+   * @throws IOException
+   *     if the buffer does not hold a metric of this schema
+   * @throws IndexOutOfBoundsException
+   *     if the metric is truncated
+   */
+  TransportableMetric decode(ByteBuffer in) throws IOException {
+    source.wrap(in, in.position(), in.remaining());
+    try {
+      final TransportableMetric metric = decode();
+      in.position(in.position() + MessageHeaderDecoder.ENCODED_LENGTH + decoder.encodedLength());
+      return metric;
+    } finally {
+      source.wrap(SbeValues.EMPTY);
+    }
+  }
+
+  private TransportableMetric decode() throws IOException {
+    header.wrap(source, 0);
+    if (MetricDecoder.SCHEMA_ID != header.schemaId() || MetricDecoder.TEMPLATE_ID != header.templateId()) {
+      throw new IOException("Unsupported schema [" + header.schemaId() + "] or template [" + header.templateId()
+                            + "].");
+    }
+
+    decoder.wrapAndApplyHeader(source, 0, header);
+    final long epochSecond = decoder.epochSecond();
+    final int nano = decoder.nano();
+
+    final ImmutableSet.Builder<Transportable> transportables = ImmutableSet.builder();
+    for (MetricDecoder.CountersDecoder counter : decoder.counters()) {
+      transportables.add(new TransportableCounter(counter.total()));
+    }
+    for (MetricDecoder.MetersDecoder meter : decoder.meters()) {
+      transportables.add(new TransportableMeter(meter.total(), meter.fifteenMinute(), meter.fiveMinute(),
+                                                meter.mean(), meter.oneMinute()));
+    }
+    for (MetricDecoder.SnapshotsDecoder snapshot : decoder.snapshots()) {
+      transportables.add(decode(snapshot));
+    }
+    for (MetricDecoder.GaugesDecoder gauge : decoder.gauges()) {
+      final byte[] data = 0 == gauge.dataLength() ? SbeValues.EMPTY : new byte[checkLength(gauge.dataLength(), 1)];
+      gauge.getData(data, 0, data.length);
+      transportables.add(new TransportableGauge<>(SbeValues.value(gauge.kind(), gauge.value(), data)));
+    }
+
+    final ImmutableMap.Builder<String, Object> meta = ImmutableMap.builder();
+    for (MetricDecoder.MetaDecoder entry : decoder.meta()) {
+      final String key = entry.key();
+      final byte[] data = 0 == entry.dataLength() ? SbeValues.EMPTY : new byte[checkLength(entry.dataLength(), 1)];
+      entry.getData(data, 0, data.length);
+      meta.put(key, SbeValues.value(entry.kind(), entry.value(), data));
+    }
+
+    final String name = decoder.name();
+    final ZonedDateTime timestamp = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano),
+                                                            ZoneId.of(decoder.zone()));
+    return new TransportableMetric(name, timestamp, meta.build(), transportables.build());
+  }
+
+  private TransportableSnapshot decode(MetricDecoder.SnapshotsDecoder snapshot) throws IOException {
+    final long max = snapshot.max();
+    final long min = snapshot.min();
+    final double mean = snapshot.mean();
+    final double stdDev = snapshot.stdDev();
+    final double median = snapshot.median();
+    final double seventyFifth = snapshot.seventyFifth();
+    final double ninetyFifth = snapshot.ninetyFifth();
+    final double ninetyEighth = snapshot.ninetyEighth();
+    final double ninetyNinth = snapshot.ninetyNinth();
+    final double nineHundredNinetyNinth = snapshot.nineHundredNinetyNinth();
+
+    final MetricDecoder.SnapshotsDecoder.ValuesDecoder value = snapshot.values();
+    final long[] values = new long[checkLength(value.count(), Long.BYTES)];
+    for (int index = 0; index < values.length; index++) {
+      values[index] = value.next().value();
+    }
+
+    return new TransportableSnapshot(values, max, mean, min, stdDev, median, seventyFifth, ninetyFifth, ninetyEighth,
+                                     ninetyNinth, nineHundredNinetyNinth);
+  }
+
+  /**
+   * Checks a count read from the message against the bytes left after the
+   * decoder's limit, so a corrupt count cannot allocate more than the message
+   * could hold.
+   */
+  private int checkLength(int count, int size) throws IOException {
+    final int remaining = source.capacity() - decoder.limit();
+    if (0 > count || (long) count * size > remaining) {
+      throw new IOException("Length [" + count + "] exceeds the remaining [" + remaining + "] bytes.");
+    }
+
+    return count;
+  }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.sbe;
+
+import io.github.mattcarrier.metrics.transport.serialization.Utf8;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MessageHeaderEncoder;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MetricEncoder;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.ValueKind;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Writes {@link TransportableMetric}s with the generated flyweight codecs.
+ * Instances are not thread safe and reuse their codecs and buffers, so
+ * encoding allocates nothing beyond the bytes of big numbers.
+ * Transportables of unknown types are left out.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class SbeEncoder {
+  private final MessageHeaderEncoder  header  = new MessageHeaderEncoder();
+  private final MetricEncoder         encoder = new MetricEncoder();
+  private final ExpandableArrayBuffer buffer;
+
+  private byte[] scratch = new byte[256];
+
+  SbeEncoder(int initialCapacity) {
+    this.buffer = new ExpandableArrayBuffer(initialCapacity);
+  }
+
+  /**
+   * The buffer written by {@link #encode(TransportableMetric)}, replaced
+   * whenever encoding grows it.
+   *
+   * @return the buffer
+   */
+  byte[] buffer() {
+    return buffer.byteArray();
+  }
+
+  /**
+   * Writes the metric from the start of the encoder's buffer, growing it as
+   * needed.
+   *
+   * @param metric
+   *     the metric
+   * @return the number of bytes written
+   * @throws IllegalArgumentException
+   *     if a meta or gauge value is of an unsupported type
+   */
+  int encode(TransportableMetric metric) {
+    return encode(metric, buffer);
+  }
+
+  /**
+   * Writes the metric into the buffer from its position, advancing the
+   * position past the metric. The metric is encoded into the encoder's own
+   * buffer and copied, as the flyweights must not rely on bounds checks to
+   * detect that it does not fit.
+   *
+   * @param metric
+   *     the metric
+   * @param out
+   *     the buffer to write to
+   * @return the number of bytes written
+   * @throws BufferOverflowException
+   *     if the metric does not fit, leaving the position unchanged
+   * @throws IllegalArgumentException
+   *     if a meta or gauge value is of an unsupported type
+   */
+  int encode(TransportableMetric metric, ByteBuffer out) {
+    final int length = encode(metric, buffer);
+    if (length > out.remaining()) {
+      throw new BufferOverflowException();
+    }
+
+    out.put(buffer.byteArray(), 0, length);
+    return length;
+  }
+
+  private int encode(TransportableMetric metric, MutableDirectBuffer out) {
+    final ZonedDateTime timestamp = metric.getTimestamp();
+    encoder.wrapAndApplyHeader(out, 0, header).epochSecond(timestamp.toEpochSecond()).nano(timestamp.getNano());
+
+    int counters = 0;
+    int meters = 0;
+    int snapshots = 0;
+    int gauges = 0;
+    for (Transportable transportable : metric.getTransportables()) {
+      if (transportable instanceof TransportableMeter) {
+        meters++;
+      } else if (transportable instanceof TransportableCounter) {
+        counters++;
+      } else if (transportable instanceof TransportableSnapshot) {
+        snapshots++;
+      } else if (transportable instanceof TransportableGauge) {
+        gauges++;
+      }
+    }
+
+    final MetricEncoder.CountersEncoder counter = encoder.countersCount(counters);
+    if (0 < counters) {
+      for (Transportable transportable : metric.getTransportables()) {
+        if (transportable instanceof TransportableCounter && !(transportable instanceof TransportableMeter)) {
+          counter.next().total(((TransportableCounter) transportable).getCount());
+        }
+      }
+    }
+
+    final MetricEncoder.MetersEncoder meter = encoder.metersCount(meters);
+    if (0 < meters) {
+      for (Transportable transportable : metric.getTransportables()) {
+        if (transportable instanceof TransportableMeter) {
+          final TransportableMeter value = (TransportableMeter) transportable;
+          meter.next().total(value.getCount()).fifteenMinute(value.getFifteenMinuteRate())
+               .fiveMinute(value.getFiveMinuteRate()).mean(value.getMeanRate()).oneMinute(value.getOneMinuteRate());
+        }
+      }
+    }
+
+    final MetricEncoder.SnapshotsEncoder snapshot = encoder.snapshotsCount(snapshots);
+    if (0 < snapshots) {
+      for (Transportable transportable : metric.getTransportables()) {
+        if (transportable instanceof TransportableSnapshot) {
+          encode((TransportableSnapshot) transportable, snapshot.next());
+        }
+      }
+    }
+
+    final MetricEncoder.GaugesEncoder gauge = encoder.gaugesCount(gauges);
+    if (0 < gauges) {
+      for (Transportable transportable : metric.getTransportables()) {
+        if (transportable instanceof TransportableGauge) {
+          final Object value = ((TransportableGauge<?>) transportable).getValue();
+          final ValueKind kind = SbeValues.kind(value);
+          final int length = data(kind, value);
+          gauge.next().kind(kind).value(SbeValues.bits(kind, value)).putData(scratch, 0, length);
+        }
+      }
+    }
+
+    final MetricEncoder.MetaEncoder meta = encoder.metaCount(metric.getMeta().size());
+    for (Map.Entry<String, Object> entry : metric.getMeta().entrySet()) {
+      final ValueKind kind = SbeValues.kind(entry.getValue());
+      final int keyLength = utf8(entry.getKey());
+      meta.next().kind(kind).value(SbeValues.bits(kind, entry.getValue())).putKey(scratch, 0, keyLength);
+      final int length = data(kind, entry.getValue());
+      meta.putData(scratch, 0, length);
+    }
+
+    final int nameLength = utf8(metric.getName());
+    encoder.putName(scratch, 0, nameLength);
+    final int zoneLength = utf8(timestamp.getZone().getId());
+    encoder.putZone(scratch, 0, zoneLength);
+    return MessageHeaderEncoder.ENCODED_LENGTH + encoder.encodedLength();
+  }
+
+  private static void encode(TransportableSnapshot snapshot, MetricEncoder.SnapshotsEncoder out) {
+    out.max(snapshot.getMax()).min(snapshot.getMin()).mean(snapshot.getMean()).stdDev(snapshot.getStdDev())
+       .median(snapshot.getMedian()).seventyFifth(snapshot.get75thPercentile())
+       .ninetyFifth(snapshot.get95thPercentile()).ninetyEighth(snapshot.get98thPercentile())
+       .ninetyNinth(snapshot.get99thPercentile()).nineHundredNinetyNinth(snapshot.get999thPercentile());
+
+    final long[] values = snapshot.getValues();
+    final MetricEncoder.SnapshotsEncoder.ValuesEncoder value = out.valuesCount(values.length);
+    for (long each : values) {
+      value.next().value(each);
+    }
+  }
+
+  private int data(ValueKind kind, Object value) {
+    switch (kind) {
+      case STRING:
+        return utf8((String) value);
+      case BIG_INTEGER:
+        return copy(((BigInteger) value).toByteArray());
+      case BIG_DECIMAL:
+        return copy(((BigDecimal) value).unscaledValue().toByteArray());
+      default:
+        return 0;
+    }
+  }
+
+  private int copy(byte[] bytes) {
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, scratch, 0, bytes.length);
+    return bytes.length;
+  }
+
+  /**
+   * Encodes the string as UTF-8 into the scratch buffer without the
+   * allocations of {@link String#getBytes}.
+   */
+  private int utf8(String value) {
+    ensure(Utf8.maxEncodedLength(value));
+    return Utf8.encode(value, scratch, 0);
+  }
+
+  private void ensure(int length) {
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, 2 * scratch.length)];
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.sbe;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerImpl;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MetricEncoder;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link Serializer} implementation utilizing
+ * <a href="https://github.com/real-logic/simple-binary-encoding">Simple Binary
+ * Encoding</a> through the codecs generated from {@code metrics-sbe.xml}.
+ * Counters, meters, snapshots and gauges are repeating groups of fixed layout
+ * records and names and meta are variable length sections, so metrics are
+ * written straight into the target buffer by reused flyweights.
+ *
+ * <p>Gauge and meta values must be {@code null}, strings, primitive wrappers
+ * other than {@link Character}, {@link java.math.BigInteger} or
+ * {@link java.math.BigDecimal}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@SerializerImpl
+public class SbeSerializer implements Serializer {
+  private final ThreadLocal<SbeEncoder> encoder = ThreadLocal.withInitial(() -> new SbeEncoder(512));
+  private final ThreadLocal<SbeDecoder> decoder = ThreadLocal.withInitial(SbeDecoder::new);
+
+  @Override
+  public String contentType() {
+    return "application/x-sbe";
+  }
+
+  @Override
+  public int formatVersion() {
+    return MetricEncoder.SCHEMA_VERSION;
+  }
+
+  @Override
+  public byte[] serialize(TransportableMetric metric) throws Exception {
+    final SbeEncoder written = encoder.get();
+    final int length = written.encode(metric);
+    return Arrays.copyOf(written.buffer(), length);
+  }
+
+  @Override
+  public void serialize(TransportableMetric metric, OutputStream out) throws Exception {
+    final SbeEncoder written = encoder.get();
+    final int length = written.encode(metric);
+    out.write(written.buffer(), 0, length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The metric is encoded into a reused buffer and copied, and the
+   * buffer's position is left unchanged if it does not fit.
+   */
+  @Override
+  public int serialize(TransportableMetric metric, ByteBuffer buffer) throws Exception {
+    return encoder.get().encode(metric, buffer);
+  }
+
+  @Override
+  public TransportableMetric deserialize(byte[] serialized) throws Exception {
+    return decoder.get().decode(serialized);
+  }
+
+  @Override
+  public TransportableMetric deserialize(ByteBuffer serialized) throws Exception {
+    return decoder.get().decode(serialized);
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.sbe;
+
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.ValueKind;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps gauge and meta values to the kind, 64 bit value and variable length
+ * data of the schema's value fields. The data holds UTF-8 strings and the
+ * two's complement bytes of big integers and unscaled big decimals.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class SbeValues {
+  static final byte[] EMPTY = new byte[0];
+
+  private SbeValues() {
+
+  }
+
+  /**
+   * The kind of the value.
+   *
+   * @param value
+   *     the value
+   * @return the kind
+   * @throws IllegalArgumentException
+   *     if the value is of an unsupported type
+   */
+  static ValueKind kind(Object value) {
+    if (null == value) {
+      return ValueKind.NULL;
+    } else if (value instanceof String) {
+      return ValueKind.STRING;
+    } else if (value instanceof Boolean) {
+      return ValueKind.BOOLEAN;
+    } else if (value instanceof Byte) {
+      return ValueKind.BYTE;
+    } else if (value instanceof Short) {
+      return ValueKind.SHORT;
+    } else if (value instanceof Integer) {
+      return ValueKind.INT;
+    } else if (value instanceof Long) {
+      return ValueKind.LONG;
+    } else if (value instanceof Float) {
+      return ValueKind.FLOAT;
+    } else if (value instanceof Double) {
+      return ValueKind.DOUBLE;
+    } else if (value instanceof BigInteger) {
+      return ValueKind.BIG_INTEGER;
+    } else if (value instanceof BigDecimal) {
+      return ValueKind.BIG_DECIMAL;
+    }
+
+    throw new IllegalArgumentException("Unsupported value type [" + value.getClass() + "].");
+  }
+
+  /**
+   * The 64 bit value of the value: integral values and booleans as is, the
+   * raw IEEE bits of floats and doubles and the scale of big decimals.
+   *
+   * @param kind
+   *     the kind of the value
+   * @param value
+   *     the value
+   * @return the 64 bit value
+   */
+  static long bits(ValueKind kind, Object value) {
+    switch (kind) {
+      case BOOLEAN:
+        return (Boolean) value ? 1 : 0;
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        return ((Number) value).longValue();
+      case FLOAT:
+        return Float.floatToRawIntBits((Float) value);
+      case DOUBLE:
+        return Double.doubleToRawLongBits((Double) value);
+      case BIG_DECIMAL:
+        return ((BigDecimal) value).scale();
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Reads the value back from its fields.
+   *
+   * @param kind
+   *     the kind of the value
+   * @param bits
+   *     the 64 bit value
+   * @param data
+   *     the variable length data
+   * @return the value
+   * @throws IllegalArgumentException
+   *     if the kind is unknown
+   */
+  static Object value(ValueKind kind, long bits, byte[] data) {
+    switch (kind) {
+      case NULL:
+        return null;
+      case STRING:
+        return new String(data, StandardCharsets.UTF_8);
+      case BOOLEAN:
+        return 0 != bits;
+      case BYTE:
+        return (byte) bits;
+      case SHORT:
+        return (short) bits;
+      case INT:
+        return (int) bits;
+      case LONG:
+        return bits;
+      case FLOAT:
+        return Float.intBitsToFloat((int) bits);
+      case DOUBLE:
+        return Double.longBitsToDouble(bits);
+      case BIG_INTEGER:
+        return new BigInteger(data);
+      case BIG_DECIMAL:
+        return new BigDecimal(new BigInteger(data), (int) bits);
+      default:
+        throw new IllegalArgumentException("Unknown value kind [" + kind + "].");
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.sbe;
+
+import static org.junit.Assert.assertEquals;
+
+import io.github.mattcarrier.metrics.transport.serialization.AbstractSerializerTest;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MessageHeaderEncoder;
+import io.github.mattcarrier.metrics.transport.serialization.sbe.codec.MetricEncoder;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.ZonedDateTime;
+
+/**
+ * Tests serialization for {@link TransportableMetric} objects using the
+ * {@link SbeSerializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class SbeSerializerTest extends AbstractSerializerTest {
+  @Override
+  protected Serializer serializer() {
+    return new SbeSerializer();
+  }
+
+  @Override
+  protected int overflowBufferSize() {
+    return 32;
+  }
+
+  @Test
+  public void serializeGroups() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(), ImmutableSet.of(
+        new TransportableCounter(1), new TransportableCounter(-2), new TransportableMeter(3, 1d, 2d, 3d, 4d),
+        new TransportableMeter(4, 5d, 6d, 7d, 8d),
+        new TransportableSnapshot(new long[] { 3, 1, 2 }, 3, 2d, 1, 1d, 2d, 3d, 3d, 3d, 3d, 3d),
+        new TransportableSnapshot(new long[0], 0, 0d, 0, 0d, 0d, 0d, 0d, 0d, 0d, 0d)
+    ));
+    final Serializer serializer = serializer();
+    assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
+  }
+
+  @Test(expected = IOException.class)
+  public void unsupportedSchema() throws Exception {
+    final byte[] serialized = serializer().serialize(new TransportableMetric("name", ZonedDateTime.now(),
+                                                                             ImmutableSet.of()));
+    serialized[4] = 2;
+    serializer().deserialize(serialized);
+  }
+
+  @Test(expected = IOException.class)
+  public void corruptValuesCount() throws Exception {
+    final byte[] serialized = serializer().serialize(new TransportableMetric("name", ZonedDateTime.now(),
+        ImmutableSet.of(new TransportableSnapshot(new long[] { 1 }, 1, 1d, 1, 0d, 1d, 1d, 1d, 1d, 1d, 1d))));
+    final int count = MessageHeaderEncoder.ENCODED_LENGTH + MetricEncoder.BLOCK_LENGTH
+                      + MetricEncoder.CountersEncoder.HEADER_SIZE + MetricEncoder.MetersEncoder.HEADER_SIZE
+                      + MetricEncoder.SnapshotsEncoder.HEADER_SIZE + MetricEncoder.SnapshotsEncoder.sbeBlockLength() + 2;
+    ByteBuffer.wrap(serialized).order(ByteOrder.LITTLE_ENDIAN).putInt(count, Integer.MAX_VALUE);
+    serializer().deserialize(serialized);
+  }
+}
@@ -16,18 +16,41 @@
 
 package io.github.mattcarrier.metrics.transport.serialization;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
 
+import io.github.mattcarrier.metrics.transport.serialization.transportable.Transportable;
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableCounter;
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableGauge;
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMeter;
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
 import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 
 /**
  * Tests serialization for {@link TransportableMetric} objects using a
@@ -46,6 +69,27 @@ public abstract class AbstractSerializerTest {
    */
   protected abstract Serializer serializer();
 
+  /**
+   * Whether the {@link Serializer} only accepts the supported gauge and meta
+   * value types, rejecting any other with an
+   * {@link IllegalArgumentException}.
+   *
+   * @return true if other value types are rejected
+   */
+  protected boolean rejectsUnsupportedValues() {
+    return true;
+  }
+
+  /**
+   * The size of a buffer too small to hold an empty metric, chosen so that
+   * the {@link Serializer} runs out of room part way through.
+   *
+   * @return the buffer size
+   */
+  protected int overflowBufferSize() {
+    return 4;
+  }
+
   @Test
   public void serializeTransportableCounter() throws Exception {
     final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(), ImmutableSet.of(counter()));
@@ -72,6 +116,25 @@ public abstract class AbstractSerializerTest {
     assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
   }
 
+  @Test
+  public void serializeSnapshotValues() throws Exception {
+    for (long[] values : new long[][] {
+        {}, { 42 }, { -5, -5, 0, 7, Long.MAX_VALUE }, { 9, Long.MIN_VALUE, 3, Long.MAX_VALUE, -1 },
+        LongStream.range(0, 100_000).map(value -> value * value).toArray()
+    }) {
+      final TransportableSnapshot snapshot = new TransportableSnapshot(values, 1, 2d, 3, 4d, 5d, 6d, 7d, 8d, 9d, 10d);
+      final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
+                                                                 ImmutableSet.of(snapshot)
+      );
+      final TransportableSnapshot deserialized = (TransportableSnapshot) serializer
+          .deserialize(serializer.serialize(metric)).getTransportables().iterator().next();
+      assertArrayEquals(values, deserialized.getValues());
+      assertEquals(1, deserialized.getMax());
+      assertEquals(3, deserialized.getMin());
+      assertEquals(10d, deserialized.get999thPercentile(), 0d);
+    }
+  }
+
   @Test
   public void serializeComposite() throws Exception {
     final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
@@ -86,6 +149,136 @@ public abstract class AbstractSerializerTest {
     assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
   }
 
+  @Test
+  public void serializeValues() throws Exception {
+    final Map<String, Object> values = ImmutableMap.<String, Object>builder().put("string", "héllo € 😀")
+        .put("boolean", true).put("byte", (byte) -3).put("short", (short) 300).put("int", Integer.MIN_VALUE)
+        .put("smallLong", 1L).put("long", Long.MAX_VALUE).put("float", 1.5f).put("double", -2.25d)
+        .put("bigInteger", new BigInteger("-123456789012345678901234567890"))
+        .put("bigDecimal", new BigDecimal("3.14159265358979323846")).build();
+    final ImmutableSet.Builder<Transportable> gauges = ImmutableSet.builder();
+    values.values().forEach(value -> gauges.add(new TransportableGauge<>(value)));
+    gauges.add(new TransportableGauge<>(null));
+
+    final TransportableMetric metric = new TransportableMetric(
+        Strings.repeat("ü", 1000), ZonedDateTime.now(ZoneId.of("Europe/Paris")), values, gauges.build());
+    assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedValue() throws Exception {
+    assumeTrue(rejectsUnsupportedValues());
+    serializer.serialize(new TransportableMetric("name", ZonedDateTime.now(),
+                                                 ImmutableSet.of(new TransportableGauge<>(new Object()))
+    ));
+  }
+
+  @Test
+  public void serializeStream() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
+                                                               ImmutableSet.of(counter(), gauge(), meter(), snapshot())
+    );
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.serialize(metric, out);
+    assertEquals(metric, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+    assertEquals(metric, serializer.deserialize(out.toByteArray()));
+  }
+
+  @Test
+  public void serializeByteBuffer() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
+                                                               ImmutableSet.of(counter(), gauge(), meter(), snapshot())
+    );
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(8192);
+    buffer.position(16);
+    final int length = serializer.serialize(metric, buffer);
+    assertEquals(16 + length, buffer.position());
+
+    buffer.flip().position(16);
+    assertEquals(metric, serializer.deserialize(buffer.slice()));
+    assertEquals(metric, serializer.deserialize(buffer));
+  }
+
+  @Test
+  public void serializeHeapByteBuffer() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(), ImmutableMap.of("a", 1),
+                                                               ImmutableSet.of(counter())
+    );
+    final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    buffer.position(3);
+    final ByteBuffer slice = buffer.slice();
+    final int length = serializer.serialize(metric, slice);
+    assertEquals(length, slice.position());
+    assertArrayEquals(serializer.serialize(metric), Arrays.copyOfRange(buffer.array(), 3, 3 + length));
+
+    slice.flip();
+    assertEquals(metric, serializer.deserialize(slice));
+    assertEquals(length, slice.position());
+  }
+
+  @Test(expected = BufferOverflowException.class)
+  public void serializeByteBufferOverflow() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(), ImmutableSet.of(counter()));
+    serializer.serialize(metric, ByteBuffer.allocate(4));
+  }
+
+  @Test
+  public void overflowLeavesPosition() throws Exception {
+    final ByteBuffer buffer = ByteBuffer.allocate(overflowBufferSize());
+    buffer.position(1);
+    try {
+      serializer.serialize(new TransportableMetric("name", ZonedDateTime.now(), ImmutableSet.of()), buffer);
+    } catch (BufferOverflowException ex) {
+      assertEquals(1, buffer.position());
+      return;
+    }
+
+    throw new AssertionError("Expected a BufferOverflowException.");
+  }
+
+  @Test
+  public void frameLargeMetric() throws Exception {
+    final TransportableSnapshot snapshot = new TransportableSnapshot(LongStream.range(0, 1028).toArray(), 1027, 0.1,
+                                                                     0, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8
+    );
+    final TransportableMetric metric = new TransportableMetric("name", ZonedDateTime.now(),
+                                                               ImmutableMap.of("meta", Strings.repeat("m", 6144)),
+                                                               ImmutableSet.of(counter(), snapshot)
+    );
+    final List<TransportableMetric> decoded = new ArrayList<>();
+    LengthPrefixedFrames.decode(LengthPrefixedFrames.encode(serializer, ImmutableList.of(metric, metric)),
+                                Integer.MAX_VALUE, frame -> decoded.add(serializer.deserialize(frame))
+    );
+    assertEquals(ImmutableList.of(metric, metric), decoded);
+  }
+
+  @Test
+  public void concurrentUse() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        final String name = "thread." + thread;
+        futures.add(executor.submit(() -> roundTrips(name, 500)));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Void roundTrips(String name, int count) throws Exception {
+    for (int i = 0; i < count; i++) {
+      final TransportableMetric metric = new TransportableMetric(name + "." + i, ZonedDateTime.now(),
+                                                                 ImmutableSet.of(new TransportableCounter(i), meter())
+      );
+      assertEquals(metric, serializer.deserialize(serializer.serialize(metric)));
+    }
+    return null;
+  }
+
   private TransportableCounter counter() {
     return new TransportableCounter(1);
   }
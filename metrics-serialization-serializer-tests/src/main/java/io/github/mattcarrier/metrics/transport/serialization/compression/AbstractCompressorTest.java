@@ -0,0 +1,72 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.serialization.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableSnapshot;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.stream.LongStream;
+
+/**
+ * Tests compression of serialized {@link TransportableMetric} objects using a
+ * {@link Compressor}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public abstract class AbstractCompressorTest {
+  private final Compressor compressor = compressor();
+
+  /**
+   * Returns the {@link Compressor} for testing.
+   *
+   * @return the {@link Compressor} to test
+   */
+  protected abstract Compressor compressor();
+
+  @Test
+  public void compressSnapshot() throws Exception {
+    final byte[] serialized = serialize(LongStream.range(0, 1024).toArray());
+    final byte[] compressed = compressor.compress(serialized);
+    assertTrue(compressed.length < serialized.length);
+    assertArrayEquals(serialized, compressor.decompress(compressed));
+  }
+
+  @Test
+  public void compressSmall() throws Exception {
+    final byte[] serialized = serialize(new long[]{1});
+    assertArrayEquals(serialized, compressor.decompress(compressor.compress(serialized)));
+  }
+
+  @Test
+  public void compressEmpty() throws Exception {
+    assertArrayEquals(new byte[0], compressor.decompress(compressor.compress(new byte[0])));
+  }
+
+  private byte[] serialize(long[] values) throws Exception {
+    return new JavaSerializer().serialize(new TransportableMetric("name", ZonedDateTime.now(), ImmutableSet.of(
+        new TransportableSnapshot(values, 2, 0.1, 3, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8))));
+  }
+}
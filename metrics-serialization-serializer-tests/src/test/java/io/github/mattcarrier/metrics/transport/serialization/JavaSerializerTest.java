@@ -30,4 +30,9 @@ public class JavaSerializerTest extends AbstractSerializerTest {
   protected Serializer serializer() {
     return new JavaSerializer();
   }
+
+  @Override
+  protected boolean rejectsUnsupportedValues() {
+    return false;
+  }
 }
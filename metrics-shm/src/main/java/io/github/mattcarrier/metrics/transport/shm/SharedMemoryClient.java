@@ -0,0 +1,326 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.shm;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.FrameConsumer;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import org.agrona.IoUtil;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client for publishing {@link TransportableMetric}s to a same-host process,
+ * such as a sidecar agent, through a memory-mapped
+ * <a href="https://github.com/real-logic/agrona">Agrona</a> ring buffer file.
+ * Producers claim space by advancing the ring's tail sequence, with a
+ * compare-and-swap when there are many producers, and copy the metric in,
+ * serialized into a reusable per-thread buffer, without any system calls.
+ * The reader decodes metrics in place from the mapped file.  A single reader
+ * per file advances the head sequence as it consumes.
+ *
+ * <p>Metrics published to a full ring, or larger than an eighth of its
+ * capacity, are dropped and counted.  Producers and the reader must use the
+ * same {@link Serializer}, capacity and producer mode.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class SharedMemoryClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(SharedMemoryClient.class);
+
+  private static final int METRIC_MSG_TYPE = 1;
+
+  private final MappedByteBuffer        mapped;
+  private final RingBuffer              ring;
+  private final Serializer              serializer;
+  private final ThreadLocal<ByteBuffer> scratch;
+  private final AtomicLong              dropped = new AtomicLong();
+
+  private final List<FrameConsumer> subscribers = new CopyOnWriteArrayList<>();
+
+  private Thread           reader;
+  private volatile boolean isRunning = true;
+
+  protected SharedMemoryClient(MappedByteBuffer mapped, Builder bldr, Serializer serializer) {
+    this.mapped = mapped;
+    final UnsafeBuffer buffer = new UnsafeBuffer(mapped);
+    this.ring = bldr.isMultiProducer ? new ManyToOneRingBuffer(buffer) : new OneToOneRingBuffer(buffer);
+    this.serializer = serializer;
+    this.scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(ring.maxMsgLength()));
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric} to the ring, dropping it if it
+   * does not fit.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    final ByteBuffer body = scratch.get();
+    body.clear();
+    try {
+      serializer.serialize(metric, body);
+    } catch (BufferOverflowException e) {
+      dropped.incrementAndGet();
+      log.warn("Metric [{}] exceeds the ring's maximum message length.", metric.getName());
+      return;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+
+    final int index = ring.tryClaim(METRIC_MSG_TYPE, body.position());
+    if (0 > index) {
+      dropped.incrementAndGet();
+      return;
+    }
+
+    ring.buffer().putBytes(index, body, 0, body.position());
+    ring.commit(index);
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) {
+    subscribe(body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) {
+    subscribe(body -> pipeline.submit(decoder(body)));
+  }
+
+  @Override
+  public synchronized void subscribe(FrameConsumer consumer) {
+    subscribers.add(consumer);
+    if (null != reader) {
+      return;
+    }
+
+    reader = new Thread(this::read, "metrics-shm-reader");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  private void read() {
+    final MessageHandler handler = this::deliver;
+    final IdleStrategy idle = new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                                                      TimeUnit.MILLISECONDS.toNanos(1)
+    );
+    while (isRunning) {
+      idle.idle(ring.read(handler));
+    }
+  }
+
+  private void deliver(int msgTypeId, MutableDirectBuffer buffer, int index, int length) {
+    final ByteBuffer body = buffer.byteBuffer().duplicate();
+    body.limit(buffer.wrapAdjustment() + index + length);
+    body.position(buffer.wrapAdjustment() + index);
+    for (FrameConsumer subscriber : subscribers) {
+      try {
+        subscriber.consume(body.duplicate());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        isRunning = false;
+        return;
+      } catch (Exception e) {
+        log.error("Unable to consume metric.", e);
+      }
+    }
+  }
+
+  /**
+   * The number of bytes waiting to be read.
+   *
+   * @return the number of unread bytes
+   */
+  public int getDepth() {
+    return ring.size();
+  }
+
+  /**
+   * The number of metrics dropped because the ring was full.
+   *
+   * @return the number of dropped metrics
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops the reader and unmaps the ring buffer file.
+   *
+   * @throws InterruptedException
+   *     if interrupted while waiting for the reader to stop
+   */
+  @Override
+  public synchronized void close() throws InterruptedException {
+    isRunning = false;
+    if (null != reader) {
+      reader.join();
+    }
+    IoUtil.unmap(mapped);
+  }
+
+  /**
+   * Copies the body, which is only valid while it is being delivered, for the
+   * pipeline to decode later.
+   */
+  private Callable<TransportableMetric> decoder(ByteBuffer body) {
+    final byte[] copy = new byte[body.remaining()];
+    body.get(copy);
+    return () -> serializer.deserialize(copy);
+  }
+
+  /**
+   * {@link SharedMemoryClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private Path    path            = Paths.get(System.getProperty("java.io.tmpdir"), "metrics-shm");
+    private int     capacity        = 1 << 20;
+    private boolean isMultiProducer = true;
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    /**
+     * The ring buffer file, ideally on a memory backed file system such as
+     * {@code /dev/shm}.  Created if it does not exist.
+     *
+     * @param path
+     *     the ring buffer file
+     * @return the builder
+     */
+    public Builder path(Path path) {
+      this.path = path;
+      return this;
+    }
+
+    /**
+     * The capacity in bytes of the ring, must be a power of two.
+     *
+     * @param capacity
+     *     the ring capacity
+     * @return the builder
+     */
+    public Builder capacity(int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * Whether many producers, in this or other processes, publish to the
+     * ring.  A single producer avoids the compare-and-swap when claiming.
+     *
+     * @param isMultiProducer
+     *     whether there are many producers
+     * @return the builder
+     */
+    public Builder multiProducer(boolean isMultiProducer) {
+      this.isMultiProducer = isMultiProducer;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link SharedMemoryClient}, mapping the ring buffer file.
+     *
+     * @return the {@link SharedMemoryClient}
+     * @throws IOException
+     *     if the file can not be mapped or the serializers found
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public SharedMemoryClient build() throws IOException, InstantiationException, IllegalAccessException {
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+      return new SharedMemoryClient(map(), this, selected);
+    }
+
+    private MappedByteBuffer map() throws IOException {
+      final long length = capacity + RingBufferDescriptor.TRAILER_LENGTH;
+      try (final RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+        if (0 == file.length()) {
+          file.setLength(length);
+        } else if (length != file.length()) {
+          throw new IOException("Ring buffer file [" + path + "] is " + file.length() + " bytes, expected " + length);
+        }
+
+        return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+      }
+    }
+  }
+}
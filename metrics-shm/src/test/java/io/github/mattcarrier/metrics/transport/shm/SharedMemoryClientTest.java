@@ -0,0 +1,98 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.shm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link SharedMemoryClient}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class SharedMemoryClientTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<TransportableMetric> published = IntStream.range(0, 1000)
+      .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+      .collect(Collectors.toList());
+
+  @Test
+  public void multiProducer() throws Exception {
+    roundTrip(true);
+  }
+
+  @Test
+  public void singleProducer() throws Exception {
+    roundTrip(false);
+  }
+
+  @Test
+  public void full() throws Exception {
+    final Path path = folder.getRoot().toPath().resolve("ring");
+    final SharedMemoryClient producer = new SharedMemoryClient.Builder().path(path).capacity(8192).build();
+    published.subList(0, 20).forEach(producer::publish);
+    assertTrue(0L < producer.getDropped());
+    producer.close();
+  }
+
+  private void roundTrip(boolean isMultiProducer) throws Exception {
+    final Path path = folder.getRoot().toPath().resolve("ring");
+    final SharedMemoryClient reader = new SharedMemoryClient.Builder().path(path).multiProducer(isMultiProducer)
+        .build();
+    final SharedMemoryClient producer = new SharedMemoryClient.Builder().path(path).multiProducer(isMultiProducer)
+        .build();
+
+    final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+    final CountDownLatch latch = new CountDownLatch(published.size());
+    reader.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.add(metric);
+        latch.countDown();
+        return metric;
+      }
+    });
+
+    published.forEach(producer::publish);
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    producer.close();
+    reader.close();
+
+    assertEquals(published, consumed);
+    assertEquals(0L, producer.getDropped());
+  }
+}
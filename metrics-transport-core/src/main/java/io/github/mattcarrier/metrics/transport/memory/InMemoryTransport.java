@@ -0,0 +1,235 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.memory;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.base.Preconditions;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Transport} within a single JVM.  Published metrics are offered to
+ * a bounded lock-free queue and delivered to every subscriber in publish
+ * order by a single dispatch thread, which backs off to parking while the
+ * queue is empty.  When a {@link Serializer} is configured metrics are
+ * serialized on publish and deserialized on delivery so that the
+ * serialization cost of a brokered transport is preserved, otherwise the
+ * metrics themselves are delivered.
+ *
+ * <p>The queue is bounded by its capacity, rounded up to a power of two,
+ * metrics published to a full queue are dropped and counted.  Metrics
+ * published once the transport is closed are rejected.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class InMemoryTransport implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(InMemoryTransport.class);
+
+  private final Serializer                            serializer;
+  private final ManyToOneConcurrentArrayQueue<Object> queue;
+  private final AtomicInteger                         publishing  = new AtomicInteger();
+  private final AtomicLong                            dropped     = new AtomicLong();
+  private final List<Subscriber>                      subscribers = new CopyOnWriteArrayList<>();
+  private final Thread                                dispatcher;
+
+  private volatile boolean isClosed = false;
+
+  protected InMemoryTransport(Builder bldr) {
+    Preconditions.checkArgument(0 < bldr.capacity, "capacity must be positive");
+    this.serializer = bldr.serializer;
+    this.queue = new ManyToOneConcurrentArrayQueue<>(bldr.capacity);
+    this.dispatcher = new Thread(this::dispatch, bldr.name + "-dispatch");
+    this.dispatcher.setDaemon(true);
+    this.dispatcher.start();
+  }
+
+  /**
+   * Queues the metric for delivery, dropping it if the queue is full.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   * @throws IllegalStateException
+   *     if the transport has been closed
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    final Object message;
+    try {
+      message = null == serializer ? metric : serializer.serialize(metric);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+
+    // the dispatcher only stops once no publish is in progress so none can land behind close()
+    publishing.incrementAndGet();
+    try {
+      if (isClosed) {
+        throw new IllegalStateException("Transport is closed");
+      }
+
+      if (!queue.offer(message)) {
+        dropped.incrementAndGet();
+      }
+    } finally {
+      publishing.decrementAndGet();
+    }
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) {
+    subscribers.add(message -> consumer.consume(decode(message)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) {
+    subscribers.add(message -> pipeline.submit(() -> decode(message)));
+  }
+
+  private TransportableMetric decode(Object message) throws Exception {
+    return null == serializer ? (TransportableMetric) message : serializer.deserialize((byte[]) message);
+  }
+
+  private void dispatch() {
+    final Consumer<Object> handler = this::deliver;
+    final IdleStrategy idle = new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                                                      TimeUnit.MILLISECONDS.toNanos(1)
+    );
+    while (!Thread.currentThread().isInterrupted()) {
+      final int drained = queue.drain(handler);
+      if (0 == drained && isClosed && 0 == publishing.get() && queue.isEmpty()) {
+        return;
+      }
+
+      idle.idle(drained);
+    }
+  }
+
+  private void deliver(Object message) {
+    for (Subscriber subscriber : subscribers) {
+      try {
+        subscriber.deliver(message);
+      } catch (Exception e) {
+        log.error("Unable to deliver metric.", e);
+      }
+    }
+  }
+
+  /**
+   * The number of metrics waiting to be delivered.
+   *
+   * @return the queue depth
+   */
+  public int getDepth() {
+    return queue.size();
+  }
+
+  /**
+   * The number of metrics dropped because the queue was full.
+   *
+   * @return the number of dropped metrics
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops accepting metrics and waits for every queued metric to be
+   * delivered.
+   *
+   * @throws InterruptedException
+   *     if interrupted while waiting for delivery
+   */
+  @Override
+  public void close() throws InterruptedException {
+    isClosed = true;
+    dispatcher.join();
+  }
+
+  @FunctionalInterface
+  private interface Subscriber {
+    void deliver(Object message) throws Exception;
+  }
+
+  /**
+   * Builder for {@link InMemoryTransport}.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private String     name       = "in-memory-transport";
+    private Serializer serializer = null;
+    private int        capacity   = 65536;
+
+    /**
+     * The name of the dispatch thread.
+     *
+     * @param name
+     *     the transport name
+     * @return the builder
+     */
+    public Builder name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    /**
+     * Serializes metrics through the queue.  Defaults to passing the metrics
+     * themselves.
+     *
+     * @param serializer
+     *     the {@link Serializer}
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The maximum number of queued metrics, rounded up to a power of two.
+     *
+     * @param capacity
+     *     the queue capacity
+     * @return the builder
+     */
+    public Builder capacity(int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    public InMemoryTransport build() {
+      return new InMemoryTransport(this);
+    }
+  }
+}
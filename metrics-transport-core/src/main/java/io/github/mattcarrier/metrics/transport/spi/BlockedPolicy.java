@@ -0,0 +1,50 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+/**
+ * How the {@link TransportReporter} handles reports while the
+ * {@link Transport} is blocked, e.g. by a broker memory or disk alarm.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public enum BlockedPolicy {
+  /**
+   * Publish regardless, blocking the reporter thread until the transport
+   * is unblocked.
+   */
+  BLOCK,
+
+  /**
+   * Drop reports while blocked.
+   */
+  SKIP,
+
+  /**
+   * Keep only the latest report of each metric while blocked and publish
+   * them once unblocked.
+   */
+  CONFLATE,
+
+  /**
+   * Keep every report, up to the spool capacity, while blocked and publish
+   * them in order once unblocked.  The oldest reports are dropped once the
+   * capacity is reached.
+   */
+  SPOOL
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+/**
+ * Forwards consumed metrics to another {@link Transport}, e.g. for a local
+ * agent draining a same-host transport into a broker.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class ForwardingMetricConsumer extends MetricConsumer<TransportableMetric> {
+  private final Transport transport;
+
+  public ForwardingMetricConsumer(Transport transport) {
+    this.transport = transport;
+  }
+
+  @Override
+  protected TransportableMetric convert(TransportableMetric metric) {
+    return metric;
+  }
+
+  @Override
+  protected TransportableMetric postConvert(TransportableMetric metric) {
+    transport.publish(metric);
+    return metric;
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives each metric as the bytes its publisher's serializer wrote, before
+ * anything is decoded, so that messages can be dropped or routed without
+ * paying for deserialization, e.g. with a view over a zero-copy format.
+ *
+ * <p>The frame spans its position to its limit and is only valid for the
+ * duration of the call, transports reuse the memory behind it.  It must not
+ * be modified, consumers that keep a frame must copy it.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@FunctionalInterface
+public interface FrameConsumer {
+  /**
+   * Consumes a serialized metric.
+   *
+   * @param frame
+   *     the serialized metric from its position to its limit
+   * @throws Exception
+   *     if the frame can not be consumed, which is logged and does not stop
+   *     the transport
+   */
+  void consume(ByteBuffer frame) throws Exception;
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * Length prefixed framing for stream transports.  Each serialized metric is
+ * written as a 4 byte big-endian length followed by the serialized bytes.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public final class LengthPrefixedFrames {
+  /**
+   * The size in bytes of the length prefix.
+   */
+  public static final int LENGTH_SIZE = 4;
+
+  private static final int ESTIMATED_FRAME_SIZE = 512;
+
+  private LengthPrefixedFrames() {
+  }
+
+  /**
+   * Serializes a batch of metrics into a single buffer of frames, serializing
+   * each metric straight into the buffer.
+   *
+   * @param serializer
+   *     the {@link Serializer}
+   * @param metrics
+   *     the metrics to frame
+   * @return the frames, ready to be read
+   * @throws Exception
+   *     if a metric can not be serialized
+   */
+  public static ByteBuffer encode(Serializer serializer, Collection<TransportableMetric> metrics) throws Exception {
+    ByteBuffer frames = ByteBuffer.allocate(Math.max(1, metrics.size()) * ESTIMATED_FRAME_SIZE);
+    for (TransportableMetric metric : metrics) {
+      while (!encode(serializer, metric, frames)) {
+        final ByteBuffer grown = ByteBuffer.allocate(frames.capacity() * 2);
+        frames.flip();
+        frames = grown.put(frames);
+      }
+    }
+    frames.flip();
+    return frames;
+  }
+
+  /**
+   * Serializes a metric as a frame into the buffer from its position.
+   *
+   * @param serializer
+   *     the {@link Serializer}
+   * @param metric
+   *     the metric to frame
+   * @param frames
+   *     the buffer to write to
+   * @return true if the frame was written, false if it did not fit in
+   *     which case the buffer's position is unchanged
+   * @throws Exception
+   *     if the metric can not be serialized
+   */
+  public static boolean encode(Serializer serializer, TransportableMetric metric, ByteBuffer frames)
+      throws Exception {
+    final int start = frames.position();
+    if (LENGTH_SIZE > frames.remaining()) {
+      return false;
+    }
+
+    frames.position(start + LENGTH_SIZE);
+    try {
+      frames.putInt(start, serializer.serialize(metric, frames));
+      return true;
+    } catch (BufferOverflowException e) {
+      frames.position(start);
+      return false;
+    }
+  }
+
+  /**
+   * Reads every complete frame from the buffer, leaving the buffer positioned
+   * at the start of any partial frame.
+   *
+   * @param frames
+   *     the buffer of frames, ready to be read
+   * @param maxFrameLength
+   *     the largest accepted frame length
+   * @param handler
+   *     receives each frame
+   * @throws IOException
+   *     if a frame exceeds the maximum frame length
+   * @throws Exception
+   *     if the handler fails
+   */
+  public static void decode(ByteBuffer frames, int maxFrameLength, FrameHandler handler) throws Exception {
+    while (LENGTH_SIZE <= frames.remaining()) {
+      final int length = frames.getInt(frames.position());
+      if (0 > length || maxFrameLength < length) {
+        throw new IOException("Frame length [" + length + "] exceeds the maximum of " + maxFrameLength);
+      }
+
+      if (LENGTH_SIZE + length > frames.remaining()) {
+        return;
+      }
+
+      frames.position(frames.position() + LENGTH_SIZE);
+      final ByteBuffer frame = frames.slice();
+      frame.limit(length);
+      frames.position(frames.position() + length);
+      handler.handle(frame);
+    }
+  }
+
+  /**
+   * Receives decoded frames.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  @FunctionalInterface
+  public interface FrameHandler {
+    /**
+     * Handles a frame.  The frame shares the content of the decoded buffer
+     * and is only valid until the handler returns.
+     *
+     * @param frame
+     *     the frame, positioned at its first byte
+     * @throws Exception
+     *     if the frame can not be handled
+     */
+    void handle(ByteBuffer frame) throws Exception;
+  }
+}
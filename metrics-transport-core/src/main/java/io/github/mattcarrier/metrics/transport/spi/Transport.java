@@ -0,0 +1,96 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Moves {@link TransportableMetric}s from a publisher to its subscribers.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public interface Transport extends AutoCloseable {
+  /**
+   * Publishes a {@link TransportableMetric}.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  public void publish(TransportableMetric metric);
+
+  /**
+   * Publishes a batch of {@link TransportableMetric}s in order.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  public default void publish(Collection<TransportableMetric> metrics) {
+    metrics.forEach(this::publish);
+  }
+
+  /**
+   * Subscribes a {@link MetricConsumer} to the published metrics.
+   *
+   * @param consumer
+   *     the consumer
+   * @throws IOException
+   *     if the subscription can not be registered
+   */
+  public <T> void subscribe(MetricConsumer<T> consumer) throws IOException;
+
+  /**
+   * Subscribes a {@link MetricPipeline} to the published metrics so that
+   * decoding and consumption happen off of the transport's threads.
+   *
+   * @param pipeline
+   *     the pipeline
+   * @throws IOException
+   *     if the subscription can not be registered
+   */
+  public <T> void subscribe(MetricPipeline<T> pipeline) throws IOException;
+
+  /**
+   * Subscribes a {@link FrameConsumer} to the published metrics before they
+   * are decoded.  Only transports that receive each metric as a frame of its
+   * serialized bytes support this.
+   *
+   * @param consumer
+   *     the consumer
+   * @throws IOException
+   *     if the subscription can not be registered
+   * @throws UnsupportedOperationException
+   *     if the transport does not deliver frames
+   */
+  public default void subscribe(FrameConsumer consumer) throws IOException {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not deliver frames.");
+  }
+
+  /**
+   * Whether publishing is currently blocked by the transport.
+   *
+   * @return true if publishing would block
+   */
+  public default boolean isBlocked() {
+    return false;
+  }
+}
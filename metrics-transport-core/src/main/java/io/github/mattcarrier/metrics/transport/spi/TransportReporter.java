@@ -0,0 +1,285 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableMap;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes all metrics to a {@link Transport} in a single batch per report.
+ * While the transport is blocked, or when publishing fails, reports are
+ * handled according to the {@link BlockedPolicy}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class TransportReporter extends ScheduledReporter {
+  private final Transport                    transport;
+  private final Clock                        clock;
+  private final TransportableFactory         factory;
+  private final ImmutableMap<String, Object> metricMeta;
+  private final BlockedPolicy                blockedPolicy;
+  private final int                          spoolCapacity;
+
+  private final Map<String, TransportableMetric> conflated = new LinkedHashMap<>();
+  private final Deque<TransportableMetric>       spooled   = new ArrayDeque<>();
+  private final Counter                          dropped   = new Counter();
+
+  /**
+   * Creates a {@link TransportReporter} configured by the given
+   * {@link Builder}.
+   *
+   * @param name
+   *     the reporter name
+   * @param bldr
+   *     the builder
+   * @param transport
+   *     the {@link Transport}
+   */
+  protected TransportReporter(String name, Builder bldr, Transport transport) {
+    super(bldr.registry, name, bldr.filter, bldr.rateUnit, bldr.durationUnit);
+    this.transport = transport;
+    this.clock = bldr.clock;
+    this.factory = bldr.factory;
+    this.metricMeta = ImmutableMap.copyOf(bldr.metricMeta);
+    this.blockedPolicy = bldr.blockedPolicy;
+    this.spoolCapacity = bldr.spoolCapacity;
+
+    if (bldr.isBlockedMetricsRegistered) {
+      bldr.registry.register(name(getClass(), "blocked"), (Gauge<Boolean>) transport::isBlocked);
+      bldr.registry.register(name(getClass(), "pending"), (Gauge<Integer>) this::getPending);
+      bldr.registry.register(name(getClass(), "dropped"), dropped);
+    }
+  }
+
+  @Override
+  public void report(@SuppressWarnings("rawtypes") SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
+                     SortedMap<String, Histogram> histograms, SortedMap<String, Meter> meters,
+                     SortedMap<String, Timer> timers) {
+    final ZonedDateTime timestamp = ZonedDateTime.now(clock);
+    final List<TransportableMetric> metrics = new ArrayList<>();
+
+    gauges.forEach((key, metric) -> metrics.add(factory.convert(key, timestamp, metricMeta, metric)));
+    counters.forEach((key, metric) -> metrics.add(factory.convert(key, timestamp, metricMeta, metric)));
+    histograms.forEach((key, metric) -> metrics.add(factory.convert(key, timestamp, metricMeta, metric)));
+    meters.forEach((key, metric) -> metrics.add(factory.convert(key, timestamp, metricMeta, metric)));
+    timers.forEach((key, metric) -> metrics.add(factory.convert(key, timestamp, metricMeta, metric)));
+
+    if (BlockedPolicy.BLOCK != blockedPolicy && transport.isBlocked()) {
+      hold(metrics);
+      return;
+    }
+
+    final List<TransportableMetric> batch;
+    if (0 == getPending()) {
+      batch = metrics;
+    } else {
+      batch = new ArrayList<>(getPending() + metrics.size());
+      batch.addAll(conflated.values());
+      batch.addAll(spooled);
+      batch.addAll(metrics);
+    }
+
+    try {
+      publish(batch);
+    } catch (RuntimeException e) {
+      // keep the held metrics and hold this report as if the transport were blocked
+      hold(metrics);
+      throw e;
+    }
+
+    conflated.clear();
+    spooled.clear();
+  }
+
+  private void hold(List<TransportableMetric> metrics) {
+    switch (blockedPolicy) {
+      case CONFLATE:
+        metrics.forEach(metric -> conflated.put(metric.getName(), metric));
+        break;
+      case SPOOL:
+        spooled.addAll(metrics);
+        while (spoolCapacity < spooled.size()) {
+          spooled.pollFirst();
+          dropped.inc();
+        }
+        break;
+      default:
+        dropped.inc(metrics.size());
+        break;
+    }
+  }
+
+  /**
+   * Publishes a batch of metrics to the {@link Transport}.
+   *
+   * @param metrics
+   *     the metrics to publish
+   */
+  protected void publish(List<TransportableMetric> metrics) {
+    transport.publish(metrics);
+  }
+
+  /**
+   * The number of metrics held back while the transport is blocked.
+   *
+   * @return the number of pending metrics
+   */
+  public synchronized int getPending() {
+    return conflated.size() + spooled.size();
+  }
+
+  /**
+   * The number of metrics dropped while the transport is blocked.
+   *
+   * @return the number of dropped metrics
+   */
+  public long getDropped() {
+    return dropped.getCount();
+  }
+
+  /**
+   * Builder for {@link TransportReporter}.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private final MetricRegistry registry;
+
+    private MetricFilter         filter       = MetricFilter.ALL;
+    private TimeUnit             rateUnit     = TimeUnit.SECONDS;
+    private TimeUnit             durationUnit = TimeUnit.MILLISECONDS;
+    private Clock                clock        = Clock.systemUTC();
+    private TransportableFactory factory      = new TransportableFactory();
+    private Map<String, Object>  metricMeta   = ImmutableMap.of();
+
+    private BlockedPolicy blockedPolicy              = BlockedPolicy.CONFLATE;
+    private int           spoolCapacity              = 10000;
+    private boolean       isBlockedMetricsRegistered = false;
+
+    public Builder(MetricRegistry registry) {
+      this.registry = registry;
+    }
+
+    public MetricRegistry getRegistry() {
+      return registry;
+    }
+
+    public Builder filter(MetricFilter filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    public Builder rateUnit(TimeUnit rateUnit) {
+      this.rateUnit = rateUnit;
+      return this;
+    }
+
+    public Builder durationUnit(TimeUnit durationUnit) {
+      this.durationUnit = durationUnit;
+      return this;
+    }
+
+    public Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public Builder factory(TransportableFactory factory) {
+      this.factory = factory;
+      return this;
+    }
+
+    public Builder metricMeta(Map<String, Object> metricMeta) {
+      this.metricMeta = metricMeta;
+      return this;
+    }
+
+    /**
+     * How reports are handled while the transport is blocked.  Defaults to
+     * {@link BlockedPolicy#CONFLATE}.
+     *
+     * @param blockedPolicy
+     *     the {@link BlockedPolicy}
+     * @return the builder
+     */
+    public Builder blockedPolicy(BlockedPolicy blockedPolicy) {
+      this.blockedPolicy = blockedPolicy;
+      return this;
+    }
+
+    /**
+     * The maximum number of metrics spooled by {@link BlockedPolicy#SPOOL}.
+     *
+     * @param spoolCapacity
+     *     the spool capacity
+     * @return the builder
+     */
+    public Builder spoolCapacity(int spoolCapacity) {
+      this.spoolCapacity = spoolCapacity;
+      return this;
+    }
+
+    /**
+     * Registers the blocked state, pending and dropped metric counts with the
+     * reported registry.
+     *
+     * @param isBlockedMetricsRegistered
+     *     whether to register the metrics
+     * @return the builder
+     */
+    public Builder blockedMetrics(boolean isBlockedMetricsRegistered) {
+      this.isBlockedMetricsRegistered = isBlockedMetricsRegistered;
+      return this;
+    }
+
+    /**
+     * Builds the {@link TransportReporter}.
+     *
+     * @param transport
+     *     the {@link Transport}
+     * @return the {@link TransportReporter}
+     */
+    public TransportReporter build(Transport transport) {
+      return new TransportReporter("transport-reporter", this, transport);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link InMemoryTransport}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class InMemoryTransportTest {
+  private final List<TransportableMetric> published = IntStream.range(0, 100)
+      .mapToObj(i -> new TransportableMetric(String.valueOf(i), ZonedDateTime.now(), ImmutableSet.of()))
+      .collect(Collectors.toList());
+
+  private final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+
+  private final DefaultMetricConsumer consumer = new DefaultMetricConsumer() {
+    @Override
+    protected TransportableMetric postConvert(TransportableMetric metric) {
+      consumed.add(metric);
+      return metric;
+    }
+  };
+
+  @Test
+  public void passThrough() throws Exception {
+    final InMemoryTransport transport = new InMemoryTransport.Builder().build();
+    transport.subscribe(consumer);
+    transport.publish(published);
+    transport.close();
+
+    assertEquals(published, consumed);
+    assertEquals(0, transport.getDepth());
+  }
+
+  @Test
+  public void serialized() throws Exception {
+    final InMemoryTransport transport = new InMemoryTransport.Builder().serializer(new JavaSerializer()).build();
+    try (final MetricPipeline<TransportableMetric> pipeline = new MetricPipeline.Builder<>(consumer).build()) {
+      transport.subscribe(pipeline);
+      transport.publish(published);
+      transport.close();
+    }
+
+    assertEquals(published, consumed);
+  }
+
+  @Test
+  public void full() throws Exception {
+    final CountDownLatch delivering = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final InMemoryTransport transport = new InMemoryTransport.Builder().capacity(1).build();
+    transport.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        delivering.countDown();
+        Uninterruptibles.awaitUninterruptibly(release);
+        consumed.add(metric);
+        return metric;
+      }
+    });
+
+    transport.publish(published.get(0));
+    assertTrue(delivering.await(5, TimeUnit.SECONDS));
+    transport.publish(ImmutableList.of(published.get(1), published.get(2)));
+    assertEquals(1L, transport.getDropped());
+
+    release.countDown();
+    transport.close();
+    assertEquals(published.subList(0, 2), consumed);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noCapacity() {
+    new InMemoryTransport.Builder().capacity(0).build();
+  }
+
+  @Test
+  public void idleDispatcherParks() throws Exception {
+    final InMemoryTransport transport = new InMemoryTransport.Builder().name("idle").build();
+    final Thread dispatcher = Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> "idle-dispatch".equals(thread.getName())).findFirst().get();
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (Thread.State.TIMED_WAITING != dispatcher.getState() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(Thread.State.TIMED_WAITING, dispatcher.getState());
+    transport.close();
+    assertFalse(dispatcher.isAlive());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void publishAfterClose() throws Exception {
+    final InMemoryTransport transport = new InMemoryTransport.Builder().build();
+    transport.close();
+    transport.close();
+    transport.publish(published.get(0));
+  }
+}
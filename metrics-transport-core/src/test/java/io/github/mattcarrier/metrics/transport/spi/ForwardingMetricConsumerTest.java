@@ -0,0 +1,48 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import static org.mockito.Mockito.verify;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Unit tests for {@link ForwardingMetricConsumer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ForwardingMetricConsumerTest {
+  @Mock
+  private Transport transport;
+
+  @Test
+  public void forward() {
+    final TransportableMetric metric = new TransportableMetric("metric", ZonedDateTime.now(), ImmutableSet.of());
+    new ForwardingMetricConsumer(transport).consume(metric);
+    verify(transport).publish(metric);
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import static org.junit.Assert.assertEquals;
+
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link LengthPrefixedFrames}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class LengthPrefixedFramesTest {
+  private final Serializer                serializer = new JavaSerializer();
+  private final List<TransportableMetric> metrics    = ImmutableList.of(
+      new TransportableMetric("first", ZonedDateTime.now(), ImmutableSet.of()),
+      new TransportableMetric("second", ZonedDateTime.now(), ImmutableSet.of())
+  );
+
+  @Test
+  public void partialFrames() throws Exception {
+    final ByteBuffer encoded = LengthPrefixedFrames.encode(serializer, metrics);
+    final List<TransportableMetric> decoded = new ArrayList<>();
+    final ByteBuffer received = ByteBuffer.allocate(encoded.remaining());
+
+    while (encoded.hasRemaining()) {
+      final int chunk = Math.min(100, encoded.remaining());
+      final ByteBuffer slice = encoded.duplicate();
+      slice.limit(slice.position() + chunk);
+      received.put(slice);
+      encoded.position(encoded.position() + chunk);
+
+      received.flip();
+      LengthPrefixedFrames.decode(received, 1024, frame -> decoded.add(serializer.deserialize(frame)));
+      received.compact();
+    }
+
+    assertEquals(metrics, decoded);
+    assertEquals(0, received.position());
+  }
+
+  @Test(expected = IOException.class)
+  public void tooLong() throws Exception {
+    LengthPrefixedFrames.decode(LengthPrefixedFrames.encode(serializer, metrics), 16, frame -> { });
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link TransportReporter}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransportReporterTest {
+  private final MetricRegistry registry = new MetricRegistry();
+
+  @Mock
+  private Transport transport;
+
+  @Before
+  public void setup() {
+    registry.counter("requests").inc();
+    registry.counter("errors");
+  }
+
+  @Test
+  public void block() {
+    reporter(BlockedPolicy.BLOCK, 10).report();
+    assertEquals(2, published().size());
+  }
+
+  @Test
+  public void skip() {
+    when(transport.isBlocked()).thenReturn(true, false);
+    final TransportReporter reporter = reporter(BlockedPolicy.SKIP, 10);
+
+    reporter.report();
+    verify(transport, never()).publish(anyList());
+    assertEquals(0, reporter.getPending());
+    assertEquals(2L, reporter.getDropped());
+
+    reporter.report();
+    assertEquals(2, published().size());
+  }
+
+  @Test
+  public void conflate() {
+    when(transport.isBlocked()).thenReturn(true, true, false);
+    final TransportReporter reporter = reporter(BlockedPolicy.CONFLATE, 10);
+
+    reporter.report();
+    registry.counter("requests").inc();
+    reporter.report();
+    verify(transport, never()).publish(anyList());
+    assertEquals(2, reporter.getPending());
+
+    reporter.report();
+    assertEquals(4, published().size());
+    assertEquals(0, reporter.getPending());
+    assertEquals(0L, reporter.getDropped());
+  }
+
+  @Test
+  public void spool() {
+    when(transport.isBlocked()).thenReturn(true, true, false);
+    final TransportReporter reporter = reporter(BlockedPolicy.SPOOL, 3);
+
+    reporter.report();
+    reporter.report();
+    verify(transport, never()).publish(anyList());
+    assertEquals(3, reporter.getPending());
+    assertEquals(1L, reporter.getDropped());
+
+    reporter.report();
+    final List<TransportableMetric> published = published();
+    assertEquals(5, published.size());
+    assertEquals("requests", published.get(0).getName());
+    assertEquals(0, reporter.getPending());
+  }
+
+  @Test
+  public void publishFailureKeepsHeld() {
+    when(transport.isBlocked()).thenReturn(true, false, false);
+    final TransportReporter reporter = reporter(BlockedPolicy.SPOOL, 10);
+
+    reporter.report();
+    assertEquals(2, reporter.getPending());
+
+    doThrow(new IllegalStateException("connection lost")).doNothing().when(transport).publish(anyList());
+    try {
+      reporter.report();
+      fail("Expected the publish failure to propagate.");
+    } catch (IllegalStateException e) {
+      assertEquals(4, reporter.getPending());
+    }
+
+    reporter.report();
+    final ArgumentCaptor<Collection<TransportableMetric>> metrics = captor();
+    verify(transport, times(2)).publish(metrics.capture());
+    assertEquals(6, metrics.getValue().size());
+    assertEquals(0, reporter.getPending());
+    assertEquals(0L, reporter.getDropped());
+  }
+
+  @Test
+  public void blockedMetrics() {
+    when(transport.isBlocked()).thenReturn(true);
+    new TransportReporter.Builder(registry).blockedMetrics(true).build(transport);
+    assertEquals(true, registry.getGauges().get(MetricRegistry.name(TransportReporter.class, "blocked")).getValue());
+
+    @SuppressWarnings("unchecked")
+    final Gauge<Integer> pending = registry.getGauges().get(MetricRegistry.name(TransportReporter.class, "pending"));
+    assertEquals(Integer.valueOf(0), pending.getValue());
+  }
+
+  private TransportReporter reporter(BlockedPolicy policy, int spoolCapacity) {
+    return new TransportReporter.Builder(registry).blockedPolicy(policy).spoolCapacity(spoolCapacity)
+        .build(transport);
+  }
+
+  private List<TransportableMetric> published() {
+    final ArgumentCaptor<Collection<TransportableMetric>> metrics = captor();
+    verify(transport).publish(metrics.capture());
+    return metrics.getValue().stream().collect(Collectors.toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<Collection<TransportableMetric>> captor() {
+    return ArgumentCaptor.forClass(Collection.class);
+  }
+}
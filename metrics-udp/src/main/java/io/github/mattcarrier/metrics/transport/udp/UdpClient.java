@@ -0,0 +1,505 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.udp;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.FrameConsumer;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client for publishing and consuming {@link TransportableMetric}s over UDP.
+ * Published metrics are packed into frames of at most the MTU, each frame
+ * carrying a header of the producer id, the producer's frame sequence number
+ * and the number of metrics:
+ *
+ * <pre>
+ * | producer id (8) | sequence (8) | count (2) | length (4) | metric | length (4) | metric | ...
+ * </pre>
+ *
+ * <p>Delivery is not guaranteed, receivers count the frames lost from the
+ * gaps in each producer's sequence.  Only the most recently heard from
+ * producers are tracked, a producer forgotten after the others crowd it out
+ * is treated as new when it is next heard from.  Producers and consumers
+ * must use the same {@link Serializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class UdpClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(UdpClient.class);
+
+  /**
+   * The size in bytes of the frame header.
+   */
+  public static final int HEADER_SIZE = 8 + 8 + 2;
+
+  private static final int MAX_DATAGRAM_SIZE = 65507;
+
+  private final DatagramChannel sender;
+  private final SocketAddress   target;
+  private final SocketAddress   bindAddress;
+  private final Serializer      serializer;
+  private final long            producerId;
+  private final ByteBuffer      frame;
+
+  private long sequence = 0L;
+  private int  count    = 0;
+
+  private final List<FrameConsumer> subscribers = new CopyOnWriteArrayList<>();
+  private final Map<Long, Long>  sequences;
+
+  private final AtomicLong sentFrames     = new AtomicLong();
+  private final AtomicLong oversized      = new AtomicLong();
+  private final AtomicLong receivedFrames = new AtomicLong();
+  private final AtomicLong lostFrames     = new AtomicLong();
+  private final AtomicLong outOfOrder     = new AtomicLong();
+  private final AtomicLong malformed      = new AtomicLong();
+
+  private DatagramChannel  receiver;
+  private Thread           receiveThread;
+  private volatile boolean isRunning = true;
+
+  protected UdpClient(DatagramChannel sender, Builder bldr, Serializer serializer) {
+    this.sender = sender;
+    this.target = new InetSocketAddress(bldr.host, bldr.port);
+    this.bindAddress = new InetSocketAddress(bldr.bindHost, null == bldr.bindPort ? bldr.port : bldr.bindPort);
+    this.serializer = serializer;
+    this.producerId = bldr.producerId;
+    this.frame = ByteBuffer.allocate(bldr.mtu);
+    this.frame.position(HEADER_SIZE);
+
+    final int maxProducers = bldr.maxProducers;
+    this.sequences = new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+        return maxProducers < size();
+      }
+    };
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric} in a frame of its own.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    publish(ImmutableList.of(metric));
+  }
+
+  /**
+   * Publishes a batch of {@link TransportableMetric}s packed into as few
+   * frames as possible, serializing each metric straight into the frame.
+   * Metrics which do not fit into a single frame are dropped.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  @Override
+  public synchronized void publish(Collection<TransportableMetric> metrics) {
+    try {
+      for (TransportableMetric metric : metrics) {
+        if (Short.MAX_VALUE == count) {
+          flush();
+        }
+
+        boolean isFramed = LengthPrefixedFrames.encode(serializer, metric, frame);
+        if (!isFramed && 0 < count) {
+          flush();
+          isFramed = LengthPrefixedFrames.encode(serializer, metric, frame);
+        }
+
+        if (!isFramed) {
+          oversized.incrementAndGet();
+          log.warn("Metric [{}] does not fit into a frame.", metric.getName());
+          continue;
+        }
+        count++;
+      }
+
+      flush();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void flush() throws IOException {
+    if (0 == count) {
+      return;
+    }
+
+    frame.putLong(0, producerId).putLong(8, sequence++).putShort(16, (short) count);
+    frame.flip();
+    sender.send(frame, target);
+    sentFrames.incrementAndGet();
+
+    frame.clear();
+    frame.position(HEADER_SIZE);
+    count = 0;
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) throws IOException {
+    subscribe(body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) throws IOException {
+    subscribe(body -> pipeline.submit(decoder(body)));
+  }
+
+  @Override
+  public synchronized void subscribe(FrameConsumer consumer) throws IOException {
+    subscribers.add(consumer);
+    if (null != receiver) {
+      return;
+    }
+
+    receiver = DatagramChannel.open();
+    receiver.configureBlocking(false);
+    receiver.bind(bindAddress);
+
+    final Selector selector = Selector.open();
+    receiver.register(selector, SelectionKey.OP_READ);
+    receiveThread = new Thread(() -> receive(selector), "metrics-udp-receiver");
+    receiveThread.setDaemon(true);
+    receiveThread.start();
+  }
+
+  private void receive(Selector selector) {
+    final ByteBuffer datagram = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+    try (final Selector ignored = selector) {
+      while (isRunning) {
+        if (0 == selector.select(100)) {
+          continue;
+        }
+
+        selector.selectedKeys().clear();
+        while (null != receiver.receive(datagram)) {
+          datagram.flip();
+          try {
+            handle(datagram);
+          } catch (RuntimeException e) {
+            // a single bad datagram must not stop the receiver
+            malformed.incrementAndGet();
+            log.warn("Dropping malformed datagram.", e);
+          }
+          datagram.clear();
+        }
+      }
+    } catch (IOException e) {
+      log.error("UDP receiver failed.", e);
+    }
+  }
+
+  private void handle(ByteBuffer datagram) {
+    if (HEADER_SIZE > datagram.remaining()) {
+      malformed.incrementAndGet();
+      return;
+    }
+
+    final long producer = datagram.getLong();
+    final long frameSequence = datagram.getLong();
+    final int metrics = datagram.getShort();
+    receivedFrames.incrementAndGet();
+
+    final Long last = sequences.get(producer);
+    if (null == last || frameSequence > last) {
+      if (null != last && frameSequence > last + 1) {
+        lostFrames.addAndGet(frameSequence - last - 1);
+      }
+      sequences.put(producer, frameSequence);
+    } else {
+      outOfOrder.incrementAndGet();
+    }
+
+    for (int i = 0; i < metrics; i++) {
+      final int length = LengthPrefixedFrames.LENGTH_SIZE > datagram.remaining() ? -1
+          : datagram.getInt(datagram.position());
+      if (0 > length || length > datagram.remaining() - LengthPrefixedFrames.LENGTH_SIZE) {
+        malformed.incrementAndGet();
+        return;
+      }
+
+      datagram.position(datagram.position() + LengthPrefixedFrames.LENGTH_SIZE);
+      final ByteBuffer body = datagram.slice();
+      body.limit(length);
+      datagram.position(datagram.position() + length);
+      for (FrameConsumer subscriber : subscribers) {
+        try {
+          subscriber.consume(body.duplicate());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          isRunning = false;
+          return;
+        } catch (Exception e) {
+          log.error("Unable to consume metric.", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the body, which is only valid while it is being delivered, for the
+   * pipeline to decode later.
+   */
+  private Callable<TransportableMetric> decoder(ByteBuffer body) {
+    final byte[] copy = new byte[body.remaining()];
+    body.get(copy);
+    return () -> serializer.deserialize(copy);
+  }
+
+  /**
+   * The local address the receiver is bound to.
+   *
+   * @return the bound address or null if nothing has subscribed
+   * @throws IOException
+   *     if the address can not be determined
+   */
+  public synchronized SocketAddress getLocalAddress() throws IOException {
+    return null == receiver ? null : receiver.getLocalAddress();
+  }
+
+  /**
+   * The number of frames sent.
+   *
+   * @return the number of sent frames
+   */
+  public long getSentFrames() {
+    return sentFrames.get();
+  }
+
+  /**
+   * The number of metrics dropped because they do not fit into a frame.
+   *
+   * @return the number of oversized metrics
+   */
+  public long getOversized() {
+    return oversized.get();
+  }
+
+  /**
+   * The number of frames received.
+   *
+   * @return the number of received frames
+   */
+  public long getReceivedFrames() {
+    return receivedFrames.get();
+  }
+
+  /**
+   * The number of frames lost, derived from the gaps in each producer's
+   * sequence numbers.  Frames arriving after a later frame are counted as
+   * lost and as out of order.
+   *
+   * @return the number of lost frames
+   */
+  public long getLostFrames() {
+    return lostFrames.get();
+  }
+
+  /**
+   * The number of frames received after a later frame of the same producer.
+   *
+   * @return the number of out of order frames
+   */
+  public long getOutOfOrderFrames() {
+    return outOfOrder.get();
+  }
+
+  /**
+   * The number of datagrams or metrics which could not be parsed.
+   *
+   * @return the number of malformed datagrams
+   */
+  public long getMalformed() {
+    return malformed.get();
+  }
+
+  @Override
+  public void close() throws IOException, InterruptedException {
+    isRunning = false;
+    if (null != receiveThread) {
+      receiveThread.join();
+      receiver.close();
+    }
+    sender.close();
+  }
+
+  /**
+   * {@link UdpClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private String  host         = "localhost";
+    private int     port         = 9125;
+    private String  bindHost     = "0.0.0.0";
+    private Integer bindPort     = null;
+    private int     mtu          = 1472;
+    private long    producerId   = ThreadLocalRandom.current().nextLong();
+    private int     maxProducers = 1024;
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    public Builder host(String host) {
+      this.host = host;
+      return this;
+    }
+
+    public Builder port(int port) {
+      this.port = port;
+      return this;
+    }
+
+    public Builder bindHost(String bindHost) {
+      this.bindHost = bindHost;
+      return this;
+    }
+
+    /**
+     * The port the receiver binds to.  Defaults to the port published to.
+     *
+     * @param bindPort
+     *     the port to bind to
+     * @return the builder
+     */
+    public Builder bindPort(int bindPort) {
+      this.bindPort = bindPort;
+      return this;
+    }
+
+    /**
+     * The maximum size in bytes of a frame.  Defaults to 1472, the UDP payload
+     * of a 1500 byte Ethernet MTU.
+     *
+     * @param mtu
+     *     the maximum frame size
+     * @return the builder
+     */
+    public Builder mtu(int mtu) {
+      this.mtu = mtu;
+      return this;
+    }
+
+    /**
+     * Identifies the producer in each frame header.  Defaults to a random id.
+     *
+     * @param producerId
+     *     the producer id
+     * @return the builder
+     */
+    public Builder producerId(long producerId) {
+      this.producerId = producerId;
+      return this;
+    }
+
+    /**
+     * The maximum number of producers whose sequence numbers are tracked by
+     * the receiver, the least recently heard from is forgotten first.
+     * Defaults to 1024.
+     *
+     * @param maxProducers
+     *     the maximum number of tracked producers
+     * @return the builder
+     */
+    public Builder maxProducers(int maxProducers) {
+      this.maxProducers = maxProducers;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link UdpClient}.
+     *
+     * @return the {@link UdpClient}
+     * @throws IOException
+     *     if the channel can not be opened or the serializers found
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     */
+    public UdpClient build() throws IOException, InstantiationException, IllegalAccessException {
+      if (HEADER_SIZE >= mtu || MAX_DATAGRAM_SIZE < mtu) {
+        throw new IllegalArgumentException("mtu must be between " + HEADER_SIZE + " and " + MAX_DATAGRAM_SIZE);
+      }
+      if (1 > maxProducers) {
+        throw new IllegalArgumentException("maxProducers must be positive");
+      }
+
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+      return new UdpClient(DatagramChannel.open(), this, selected);
+    }
+  }
+}
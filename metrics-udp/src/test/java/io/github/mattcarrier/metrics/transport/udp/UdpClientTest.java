@@ -0,0 +1,203 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.udp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.JavaSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.FlatBuffersSerializer;
+import io.github.mattcarrier.metrics.transport.serialization.flatbuffers.MetricView;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link UdpClient}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class UdpClientTest {
+  private final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+
+  private UdpClient      receiver;
+  private CountDownLatch latch;
+
+  @Before
+  public void subscribe() throws Exception {
+    receiver = new UdpClient.Builder().bindHost("127.0.0.1").bindPort(0).serializer(new JavaSerializer()).build();
+  }
+
+  @After
+  public void close() throws Exception {
+    receiver.close();
+  }
+
+  @Test
+  public void packedRoundTrip() throws Exception {
+    final List<TransportableMetric> published = IntStream.range(0, 50)
+        .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+        .collect(Collectors.toList());
+    expect(published.size());
+
+    try (final UdpClient publisher = publisher(8192)) {
+      publisher.publish(published);
+      assertTrue(1 < publisher.getSentFrames());
+      assertTrue(published.size() > publisher.getSentFrames());
+    }
+
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertEquals(published, consumed);
+    assertEquals(0L, receiver.getLostFrames());
+  }
+
+  @Test
+  public void lostFrames() throws Exception {
+    expect(0);
+    try (final DatagramChannel channel = DatagramChannel.open()) {
+      channel.send(frame(7L, 0L), receiver.getLocalAddress());
+      channel.send(frame(7L, 3L), receiver.getLocalAddress());
+      channel.send(frame(7L, 2L), receiver.getLocalAddress());
+      channel.send(frame(9L, 5L), receiver.getLocalAddress());
+    }
+
+    final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (4L > receiver.getReceivedFrames() && System.nanoTime() < timeout) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(4L, receiver.getReceivedFrames());
+    assertEquals(2L, receiver.getLostFrames());
+    assertEquals(1L, receiver.getOutOfOrderFrames());
+  }
+
+  @Test
+  public void forgetsLeastRecentProducers() throws Exception {
+    receiver.close();
+    receiver = new UdpClient.Builder().bindHost("127.0.0.1").bindPort(0).maxProducers(2)
+        .serializer(new JavaSerializer()).build();
+    expect(0);
+    try (final DatagramChannel channel = DatagramChannel.open()) {
+      channel.send(frame(1L, 0L), receiver.getLocalAddress());
+      channel.send(frame(2L, 0L), receiver.getLocalAddress());
+      channel.send(frame(3L, 0L), receiver.getLocalAddress());
+      channel.send(frame(1L, 5L), receiver.getLocalAddress());
+      channel.send(frame(3L, 2L), receiver.getLocalAddress());
+    }
+
+    final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (5L > receiver.getReceivedFrames() && System.nanoTime() < timeout) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(5L, receiver.getReceivedFrames());
+    assertEquals(1L, receiver.getLostFrames());
+  }
+
+  @Test
+  public void malformedLength() throws Exception {
+    final TransportableMetric metric = new TransportableMetric("metric", ZonedDateTime.now(), ImmutableSet.of());
+    expect(1);
+    try (final DatagramChannel channel = DatagramChannel.open()) {
+      final ByteBuffer frame = ByteBuffer.allocate(UdpClient.HEADER_SIZE + 4);
+      frame.putLong(7L).putLong(0L).putShort((short) 1).putInt(-1);
+      frame.flip();
+      channel.send(frame, receiver.getLocalAddress());
+    }
+
+    try (final UdpClient publisher = publisher(8192)) {
+      publisher.publish(metric);
+    }
+
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertEquals(ImmutableList.of(metric), consumed);
+    assertEquals(1L, receiver.getMalformed());
+  }
+
+  @Test
+  public void routesFramesBeforeDecoding() throws Exception {
+    final MetricView view = new MetricView();
+    final List<String> routed = new CopyOnWriteArrayList<>();
+    final CountDownLatch frames = new CountDownLatch(4);
+    receiver.subscribe(frame -> {
+      if (view.reset(frame).nameStartsWith("jvm.")) {
+        routed.add(view.getName());
+      }
+      frames.countDown();
+    });
+
+    try (final UdpClient publisher = new UdpClient.Builder().host("127.0.0.1").port(
+        ((InetSocketAddress) receiver.getLocalAddress()).getPort()).serializer(new FlatBuffersSerializer()).build()) {
+      for (String name : ImmutableList.of("jvm.heap", "http.requests", "jvm.threads", "http.errors")) {
+        publisher.publish(new TransportableMetric(name, ZonedDateTime.now(), ImmutableSet.of()));
+      }
+    }
+
+    assertTrue(frames.await(10, TimeUnit.SECONDS));
+    assertEquals(ImmutableList.of("jvm.heap", "jvm.threads"), routed);
+  }
+
+  @Test
+  public void oversized() throws Exception {
+    try (final UdpClient publisher = new UdpClient.Builder().mtu(32).serializer(new JavaSerializer()).build()) {
+      publisher.publish(new TransportableMetric("metric", ZonedDateTime.now(), ImmutableSet.of()));
+      assertEquals(1L, publisher.getOversized());
+      assertEquals(0L, publisher.getSentFrames());
+    }
+  }
+
+  private void expect(int metrics) throws Exception {
+    latch = new CountDownLatch(metrics);
+    receiver.subscribe(new DefaultMetricConsumer() {
+      @Override
+      protected TransportableMetric postConvert(TransportableMetric metric) {
+        consumed.add(metric);
+        latch.countDown();
+        return metric;
+      }
+    });
+  }
+
+  private UdpClient publisher(int mtu) throws Exception {
+    return new UdpClient.Builder().host("127.0.0.1").port(((InetSocketAddress) receiver.getLocalAddress()).getPort())
+        .mtu(mtu).serializer(new JavaSerializer()).build();
+  }
+
+  private static ByteBuffer frame(long producerId, long sequence) {
+    final ByteBuffer frame = ByteBuffer.allocate(UdpClient.HEADER_SIZE);
+    frame.putLong(producerId).putLong(sequence).putShort((short) 0);
+    frame.flip();
+    return frame;
+  }
+}
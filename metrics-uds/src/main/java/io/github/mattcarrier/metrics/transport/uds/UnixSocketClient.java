@@ -0,0 +1,333 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.uds;
+
+import io.github.mattcarrier.metrics.transport.consumption.MetricConsumer;
+import io.github.mattcarrier.metrics.transport.consumption.MetricPipeline;
+import io.github.mattcarrier.metrics.transport.serialization.Serializer;
+import io.github.mattcarrier.metrics.transport.serialization.SerializerFactory;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+import io.github.mattcarrier.metrics.transport.spi.FrameConsumer;
+import io.github.mattcarrier.metrics.transport.spi.LengthPrefixedFrames;
+import io.github.mattcarrier.metrics.transport.spi.Transport;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client for streaming {@link TransportableMetric}s to a local agent over a
+ * Unix domain socket.  Each published batch is written as
+ * {@link LengthPrefixedFrames} over a persistent, lazily (re)connected
+ * connection.  Subscribing binds the socket file and reads every accepted
+ * connection on its own thread.
+ *
+ * <p>Unix domain sockets require Java 16 or later, see
+ * {@link #isSupported()}.  Producers and consumers must use the same
+ * {@link Serializer}.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class UnixSocketClient implements Transport {
+  private static final Logger log = LoggerFactory.getLogger(UnixSocketClient.class);
+
+  private final Path       path;
+  private final int        maxFrameLength;
+  private final Serializer serializer;
+
+  private final List<FrameConsumer> subscribers = new CopyOnWriteArrayList<>();
+  private final List<SocketChannel> connections = new CopyOnWriteArrayList<>();
+  private final AtomicInteger       readers     = new AtomicInteger();
+
+  private SocketChannel       channel;
+  private ServerSocketChannel server;
+
+  protected UnixSocketClient(Builder bldr, Serializer serializer) {
+    this.path = bldr.path;
+    this.maxFrameLength = bldr.maxFrameLength;
+    this.serializer = serializer;
+  }
+
+  /**
+   * Whether Unix domain sockets are supported by the running JVM.
+   *
+   * @return true if running on Java 16 or later
+   */
+  public static boolean isSupported() {
+    return UnixSockets.isSupported();
+  }
+
+  /**
+   * Publishes a {@link TransportableMetric}.
+   *
+   * @param metric
+   *     the {@link TransportableMetric} to publish
+   */
+  @Override
+  public void publish(TransportableMetric metric) {
+    publish(ImmutableList.of(metric));
+  }
+
+  /**
+   * Publishes a batch of {@link TransportableMetric}s in a single write.  The
+   * connection is (re-)established if needed.
+   *
+   * @param metrics
+   *     the {@link TransportableMetric}s to publish
+   */
+  @Override
+  public synchronized void publish(Collection<TransportableMetric> metrics) {
+    try {
+      final ByteBuffer frames = LengthPrefixedFrames.encode(serializer, metrics);
+      if (null == channel) {
+        channel = UnixSockets.connect(path);
+      }
+
+      while (frames.hasRemaining()) {
+        channel.write(frames);
+      }
+    } catch (IOException e) {
+      disconnect();
+      throw new RuntimeException(e);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void disconnect() {
+    if (null == channel) {
+      return;
+    }
+
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.debug("Unable to close connection.", e);
+    }
+    channel = null;
+  }
+
+  @Override
+  public <T> void subscribe(MetricConsumer<T> consumer) throws IOException {
+    subscribe(body -> consumer.consume(serializer.deserialize(body)));
+  }
+
+  @Override
+  public <T> void subscribe(MetricPipeline<T> pipeline) throws IOException {
+    subscribe(body -> pipeline.submit(decoder(body)));
+  }
+
+  @Override
+  public synchronized void subscribe(FrameConsumer consumer) throws IOException {
+    subscribers.add(consumer);
+    if (null != server) {
+      return;
+    }
+
+    server = UnixSockets.bind(path);
+    final Thread acceptor = new Thread(this::accept, "metrics-uds-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  private void accept() {
+    try {
+      while (true) {
+        final SocketChannel connection = server.accept();
+        connections.add(connection);
+        final Thread reader = new Thread(() -> read(connection), "metrics-uds-reader-" + readers.incrementAndGet());
+        reader.setDaemon(true);
+        reader.start();
+      }
+    } catch (ClosedChannelException e) {
+      log.debug("Unix domain socket [{}] closed.", path);
+    } catch (IOException e) {
+      log.error("Unable to accept connections on [{}].", path, e);
+    }
+  }
+
+  private void read(SocketChannel connection) {
+    ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    try (final SocketChannel ignored = connection) {
+      while (0 <= connection.read(buffer)) {
+        buffer.flip();
+        LengthPrefixedFrames.decode(buffer, maxFrameLength, this::deliver);
+        buffer.compact();
+
+        if (!buffer.hasRemaining()) {
+          final ByteBuffer larger = ByteBuffer.allocate(Math.min(buffer.capacity() * 2,
+                                                                 maxFrameLength + LengthPrefixedFrames.LENGTH_SIZE
+          ));
+          buffer.flip();
+          buffer = larger.put(buffer);
+        }
+      }
+    } catch (ClosedChannelException e) {
+      log.debug("Unix domain socket connection closed.");
+    } catch (Exception e) {
+      log.error("Closing metric stream on [{}].", path, e);
+    } finally {
+      connections.remove(connection);
+    }
+  }
+
+  private void deliver(ByteBuffer body) throws InterruptedException {
+    for (FrameConsumer subscriber : subscribers) {
+      try {
+        subscriber.consume(body.duplicate());
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Exception e) {
+        log.error("Unable to consume metric.", e);
+      }
+    }
+  }
+
+  /**
+   * Closes the connection and, when subscribed, the server and its socket
+   * file.
+   *
+   * @throws IOException
+   *     if the socket file can not be removed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    disconnect();
+    if (null == server) {
+      return;
+    }
+
+    server.close();
+    for (SocketChannel connection : connections) {
+      connection.close();
+    }
+    Files.deleteIfExists(path);
+  }
+
+  /**
+   * Copies the body, which is only valid while it is being delivered, for the
+   * pipeline to decode later.
+   */
+  private Callable<TransportableMetric> decoder(ByteBuffer body) {
+    final byte[] copy = new byte[body.remaining()];
+    body.get(copy);
+    return () -> serializer.deserialize(copy);
+  }
+
+  /**
+   * {@link UnixSocketClient} builder.
+   *
+   * @author mattcarrier
+   * @since Oct 19, 2026
+   */
+  public static class Builder {
+    private Path path           = Paths.get(System.getProperty("java.io.tmpdir"), "metrics-uds.sock");
+    private int  maxFrameLength = 1024 * 1024;
+
+    private Serializer serializer            = null;
+    private String     serializerBasePackage = null;
+
+    /**
+     * The socket file.
+     *
+     * @param path
+     *     the socket file
+     * @return the builder
+     */
+    public Builder path(Path path) {
+      this.path = path;
+      return this;
+    }
+
+    /**
+     * The largest serialized metric accepted by the server.
+     *
+     * @param maxFrameLength
+     *     the maximum frame length in bytes
+     * @return the builder
+     */
+    public Builder maxFrameLength(int maxFrameLength) {
+      this.maxFrameLength = maxFrameLength;
+      return this;
+    }
+
+    /**
+     * The {@link Serializer} to publish and consume with, such as an opt-in
+     * format the {@link SerializerFactory} never selects by itself.  Defaults
+     * to the serializer selected by the factory.
+     *
+     * @param serializer
+     *     the serializer
+     * @return the builder
+     */
+    public Builder serializer(Serializer serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    /**
+     * The base package to scan for serializers.
+     *
+     * @param serializerBasePackage
+     *     the base package
+     * @return the builder
+     */
+    public Builder serializerBasePackage(String serializerBasePackage) {
+      this.serializerBasePackage = serializerBasePackage;
+      return this;
+    }
+
+    /**
+     * Builds the {@link UnixSocketClient}.
+     *
+     * @return the {@link UnixSocketClient}
+     * @throws IOException
+     *     if there is an issue finding the serializers
+     * @throws InstantiationException
+     *     if there is an issue creating the serializer
+     * @throws IllegalAccessException
+     *     if there is an issue creating the serializer
+     * @throws UnsupportedOperationException
+     *     if the runtime is older than Java 16
+     */
+    public UnixSocketClient build() throws IOException, InstantiationException, IllegalAccessException {
+      if (!UnixSockets.isSupported()) {
+        throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later, running on ["
+                                                + System.getProperty("java.version") + "]");
+      }
+
+      final Serializer selected = null != serializer ? serializer : null == serializerBasePackage
+          ? new SerializerFactory().serializer() : new SerializerFactory(serializerBasePackage).serializer();
+      return new UnixSocketClient(this, selected);
+    }
+  }
+}
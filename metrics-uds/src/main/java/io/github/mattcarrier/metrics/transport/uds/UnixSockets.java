@@ -0,0 +1,47 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.uds;
+
+import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Opens Unix domain socket channels.  Unix domain sockets require Java 16,
+ * this version is used on earlier runtimes and the Java 16 version is
+ * packaged in the multi-release jar.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+final class UnixSockets {
+  private UnixSockets() {
+  }
+
+  static boolean isSupported() {
+    return false;
+  }
+
+  static SocketChannel connect(Path path) throws IOException {
+    throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+  }
+
+  static ServerSocketChannel bind(Path path) throws IOException {
+    throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2017 Matt Carrier mcarrieruri@gmail.com
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.mattcarrier.metrics.transport.uds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import io.github.mattcarrier.metrics.transport.consumption.DefaultMetricConsumer;
+import io.github.mattcarrier.metrics.transport.serialization.transportable.TransportableMetric;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link UnixSocketClient}, streaming on Java 16 or later.
+ *
+ * @author mattcarrier
+ * @since Oct 19, 2026
+ */
+public class UnixSocketClientTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<TransportableMetric> published = IntStream.range(0, 500)
+      .mapToObj(i -> new TransportableMetric("metric." + i, ZonedDateTime.now(), ImmutableSet.of()))
+      .collect(Collectors.toList());
+
+  @Test
+  public void streamed() throws Exception {
+    assumeTrue(UnixSocketClient.isSupported());
+    final Path path = folder.getRoot().toPath().resolve("metrics.sock");
+    final List<TransportableMetric> consumed = new CopyOnWriteArrayList<>();
+    final CountDownLatch latch = new CountDownLatch(published.size());
+
+    try (final UnixSocketClient server = new UnixSocketClient.Builder().path(path).build();
+         final UnixSocketClient client = new UnixSocketClient.Builder().path(path).build()) {
+      server.subscribe(new DefaultMetricConsumer() {
+        @Override
+        protected TransportableMetric postConvert(TransportableMetric metric) {
+          consumed.add(metric);
+          latch.countDown();
+          return metric;
+        }
+      });
+
+      client.publish(published.subList(0, 250));
+      published.subList(250, published.size()).forEach(client::publish);
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    assertEquals(published, consumed);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void unsupported() throws Exception {
+    assumeFalse(UnixSocketClient.isSupported());
+    new UnixSocketClient.Builder().path(folder.getRoot().toPath().resolve("metrics.sock")).build();
+  }
+}